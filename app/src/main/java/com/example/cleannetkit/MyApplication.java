@@ -2,10 +2,22 @@ package com.example.cleannetkit;
 
 import android.app.Application;
 
+import com.example.cleannetkit.data.remote.dto.PostDto;
+import com.example.cleannetkit.data.remote.dto.TodoDto;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
 import java.util.Arrays;
+import java.util.List;
 
 import lib.net.NetworkManager;
+import lib.net.breaker.CircuitBreakerRegistry;
+import lib.net.cache.DiskResponseCache;
+import lib.net.cache.MemoryResponseCache;
+import lib.net.cache.ParsedObjectCache;
+import lib.net.cache.TieredResponseCache;
 import lib.net.connection.OkHttpConnectionFactory;
+import lib.net.dispatch.VegasLimit;
 import lib.net.parser.GsonResponseParser;
 import okhttp3.ConnectionSpec;
 import okhttp3.OkHttpClient;
@@ -40,7 +52,26 @@ public class MyApplication extends Application {
                 .factory(new OkHttpConnectionFactory(ok))
                 .parser(new GsonResponseParser())
                 .addInterceptor(new lib.net.interceptor.LoggingInterceptor())
-                .threadPoolSize(4)
+                // Tekrar yüklemeler (örn. /todos) ETag ile doğrulanır; 304'te gövde indirilmez
+                .responseCache(new TieredResponseCache(
+                        new MemoryResponseCache(2 * 1024 * 1024),
+                        new DiskResponseCache(new File(getCacheDir(), "http"), 10 * 1024 * 1024)))
+                // Aynı gövde (aynı ETag) ikinci kez parse edilmez; DTO listeleri yalnızca domain'e map edilir,
+                // değiştirilmez (önbellekten gelen örnekler paylaşılır)
+                .parsedObjectCache(new ParsedObjectCache(1024 * 1024, 60_000).cacheTypes(
+                        new TypeToken<List<TodoDto>>() {}.getType(),
+                        new TypeToken<List<PostDto>>() {}.getType()))
+                // Aynı anda açılan ekranların özdeş GET'leri tek istekte birleşir (sonuçlar salt-okunur kullanılır)
+                .coalesceRequests(true)
+                // Backend çökünce istekler worker/bağlantı harcamadan hemen 503 ile döner
+                .circuitBreakers(new CircuitBreakerRegistry())
+                // Kesinti sırasında retry'lar yükü katlamasın
+                .retryBudget()
+                // Takılan bağlantı p99'u belirlemesin: p95'i aşan GET'ler en fazla %5 ek yükle ikinci kez gönderilir
+                .hedgeIdempotentGets(0.05)
+                // Eşzamanlılık elle ayarlanmaz: RTT'ye göre 2..16 arasında uyarlanır
+                .concurrencyLimit(new VegasLimit(2, 4, 16))
+                .maxRequestsPerHost(8)
                 .queueCapacity(8)
                 .build();
 
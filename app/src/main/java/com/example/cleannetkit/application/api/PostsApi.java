@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import lib.concurrent.CancellableFuture;
 import lib.net.ABaseApi;
@@ -62,6 +63,13 @@ public class PostsApi extends ABaseApi {
         return send(cmd, t);
     }
 
+    public CancellableFuture<Integer> streamCommentsForPostDtoF(int postId, Consumer<List<CommentDto>> onBatch) {
+        HashMap<String,String> q = new HashMap<>();
+        q.put("postId", String.valueOf(postId));
+        ACommand cmd = new GetCommand("/comments", q, null);
+        return stream(cmd, CommentDto.class, onBatch);
+    }
+
     /* CREATE */
     public CancellableFuture<PostDto> createPostDtoF(PostDto dto) {
         Type t = new TypeToken<PostDto>() {}.getType();
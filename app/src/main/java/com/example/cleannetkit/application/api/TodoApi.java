@@ -9,6 +9,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import lib.concurrent.CancellableFuture;
 import lib.net.ABaseApi;
@@ -38,12 +39,24 @@ public class TodoApi extends ABaseApi {
         return send(cmd, t);
     }
 
+    /** Büyük listeler için: elemanlar indirme sürerken batch'ler halinde gelir. userId null ise tüm liste. */
+    public CancellableFuture<Integer> streamTodosDtoF(Integer userId, Consumer<List<TodoDto>> onBatch) {
+        return stream(todosCommand(userId), TodoDto.class, onBatch);
+    }
+
     public CancellableFuture<List<TodoDto>> getTodosByUserDtoF(int userId) {
         Type t = new TypeToken<List<TodoDto>>() {}.getType();
-        HashMap<String,String> q = new HashMap<>();
-        q.put("userId", String.valueOf(userId));
-        ACommand cmd = new GetCommand("/todos", q, null);
-        return send(cmd, t);
+        return send(todosCommand(userId), t);
+    }
+
+    /** Liste isteği; akış ve tek parça okuma aynı URL'ye gitsin diye ortak. */
+    private static ACommand todosCommand(Integer userId) {
+        HashMap<String,String> q = null;
+        if (userId != null) {
+            q = new HashMap<>();
+            q.put("userId", String.valueOf(userId));
+        }
+        return new GetCommand("/todos", q, null);
     }
 
     /* CREATE */
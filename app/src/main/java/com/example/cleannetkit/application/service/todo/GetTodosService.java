@@ -7,6 +7,8 @@ import com.example.cleannetkit.domain.model.Todo;
 import com.example.cleannetkit.domain.todo.GetTodosUseCase;
 
 import java.util.List;
+import java.util.function.Consumer;
+
 import lib.concurrent.CancellableFuture;
 import lib.net.NetworkManager;
 public class GetTodosService implements GetTodosUseCase {
@@ -15,11 +17,17 @@ public class GetTodosService implements GetTodosUseCase {
 
     @Override
     public CancellableFuture<List<Todo>> handle(Command command) {
-//        if (command != null && command.getUserId() != null) {
-//            return api.getTodosByUserDtoF(command.getUserId())
-//                    .thenApplyC(TodoMapper::toDomainList);
-//        }
+        if (command != null && command.getUserId() != null) {
+            return api.getTodosByUserDtoF(command.getUserId())
+                    .thenApplyC(TodoMapper::toDomainList);
+        }
         return api.getTodosDtoF()
                 .thenApplyC(TodoMapper::toDomainList);
     }
+
+    @Override
+    public CancellableFuture<Integer> stream(Command command, Consumer<List<Todo>> onBatch) {
+        Integer userId = command != null ? command.getUserId() : null;
+        return api.streamTodosDtoF(userId, batch -> onBatch.accept(TodoMapper.toDomainList(batch)));
+    }
 }
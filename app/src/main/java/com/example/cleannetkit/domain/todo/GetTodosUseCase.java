@@ -3,6 +3,7 @@ package com.example.cleannetkit.domain.todo;
 import com.example.cleannetkit.domain.model.Todo;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import lib.concurrent.CancellableFuture;
 
@@ -10,6 +11,11 @@ public interface GetTodosUseCase {
 
     CancellableFuture<List<Todo>> handle(Command command);
 
+    /**
+     * Liste indirme sürerken batch'ler halinde teslim eder; future toplam eleman sayısını döner.
+     */
+    CancellableFuture<Integer> stream(Command command, Consumer<List<Todo>> onBatch);
+
     class Command {
         private Integer userId;
         public static Command all() {
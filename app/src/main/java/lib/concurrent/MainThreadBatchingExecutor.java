@@ -0,0 +1,92 @@
+package lib.concurrent;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ana thread'e iş taşıyan, ardışık işleri tek looper mesajında toplayan Executor.
+ * - Bekleyen bir boşaltma mesajı varken gelen işler ona eklenir (yeni mesaj post edilmez).
+ * - windowMs > 0 ise ilk iş bu kadar bekletilir; aynı pencerede (örn. 16 ms = bir kare) gelenler birlikte çalışır.
+ * - Tek boşaltma en fazla frameBudgetMs sürer; kalan işler bir sonraki mesaja bırakılır (kare kaçırılmasın).
+ */
+public final class MainThreadBatchingExecutor implements Executor {
+
+    public static final long DEFAULT_FRAME_BUDGET_MS = 8;
+
+    private final Handler handler;
+    private final long windowMs;
+    private final long frameBudgetNs;
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Runnable drain = this::drain;
+
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+
+    /** Pencere yok: yalnızca bekleyen mesaj sürerken gelenler birleştirilir (ek gecikme eklemez). */
+    public MainThreadBatchingExecutor() {
+        this(0);
+    }
+
+    public MainThreadBatchingExecutor(long windowMs) {
+        this(new Handler(Looper.getMainLooper()), windowMs, DEFAULT_FRAME_BUDGET_MS);
+    }
+
+    public MainThreadBatchingExecutor(Handler handler, long windowMs, long frameBudgetMs) {
+        this.handler = handler;
+        this.windowMs = Math.max(0, windowMs);
+        this.frameBudgetNs = Math.max(1, frameBudgetMs) * 1_000_000L;
+    }
+
+    @Override
+    public void execute(Runnable r) {
+        pending.add(r);
+        if (scheduled.compareAndSet(false, true)) schedule(windowMs);
+    }
+
+    /** Post edilen looper mesajı sayısı. */
+    public long messageCount() {
+        return messages.get();
+    }
+
+    /** Çalıştırılan iş sayısı (messageCount ile oranı birleştirme etkisini gösterir). */
+    public long executedCount() {
+        return executed.get();
+    }
+
+    private void schedule(long delayMs) {
+        messages.incrementAndGet();
+        if (delayMs > 0) handler.postDelayed(drain, delayMs);
+        else handler.post(drain);
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + frameBudgetNs;
+        boolean yielded = false;
+        try {
+            Runnable r;
+            while ((r = pending.poll()) != null) {
+                executed.incrementAndGet();
+                r.run();
+                if (System.nanoTime() > deadline && !pending.isEmpty()) {
+                    yielded = true;
+                    return;
+                }
+            }
+        } finally {
+            if (yielded || !pending.isEmpty()) {
+                // Bütçe doldu veya bir iş hata fırlattı: kalanlar sıradaki mesajda
+                schedule(0);
+            } else {
+                scheduled.set(false);
+                // set(false) ile poll arasındaki yarışta eklenen iş sahipsiz kalmasın
+                if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) schedule(0);
+            }
+        }
+    }
+}
@@ -4,11 +4,14 @@ package lib.net;
 import java.io.File;
 import java.lang.reflect.Type;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import lib.concurrent.CancellableFuture;
 import lib.net.command.ACommand;
 import lib.net.command.DeleteCommand;
+import lib.net.command.DownloadCommand;
 import lib.net.command.GetCommand;
 import lib.net.command.MultipartCommand;
 import lib.net.command.PatchCommand;
@@ -47,6 +50,14 @@ public abstract class ABaseApi {
         return networkManager.enqueueFutureResult(baseUrl, cmd, t);
     }
 
+    /**
+     * JSON dizisi akışı (elemanlar batch'ler halinde main thread'de gelir; future toplam sayıyı döner)
+     */
+    protected <T> CancellableFuture<Integer> stream(ACommand cmd, Type elementType, Consumer<List<T>> onBatch) {
+        if (defaultRc != null) cmd.withRequestConfigurator(defaultRc);
+        return networkManager.enqueueStream(baseUrl, cmd, elementType, onBatch);
+    }
+
     /* ------------------- Future kısayolları ------------------- */
 
     protected <T> CancellableFuture<T> getF(String rel, Map<String, String> q, Map<String, String> h, Type t) {
@@ -81,6 +92,16 @@ public abstract class ABaseApi {
         return send(new MultipartCommand(rel, toHash(h), toHash(fields), toHash(files)), t);
     }
 
+    /**
+     * Dosyaya indirme; retry'lar kaldığı bayttan devam eder. Future hedef dosyayla tamamlanır.
+     */
+    protected CancellableFuture<File> downloadF(String rel,
+                                                Map<String, String> h,
+                                                File target,
+                                                DownloadCommand.ProgressListener progress) {
+        return send(new DownloadCommand(rel, null, toHash(h), target, progress), File.class);
+    }
+
     /* ------------------- yardımcı ------------------- */
     private static <K, V> HashMap<K, V> toHash(Map<K, V> m) {
         return (m == null || m instanceof HashMap) ? (HashMap<K, V>) m : new HashMap<>(m);
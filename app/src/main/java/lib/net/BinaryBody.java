@@ -0,0 +1,95 @@
+package lib.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import lib.net.util.BufferPool;
+
+/**
+ * Charset çözümü yapılmadan alınan ikili yanıt gövdesi (responseType = BinaryBody.class).
+ * Gövde spillThreshold'a kadar bellekte tutulur; aşarsa geçici dosyaya yazılır (büyük indirmeler heap'e sığmasa da).
+ * Dosyaya taşan gövdenin dosyası release() ile silinir; silinmezse JVM kapanırken silinir.
+ */
+public final class BinaryBody {
+
+    private final byte[] bytes;
+    private final File file;
+    private final long length;
+
+    private BinaryBody(byte[] bytes, File file, long length) {
+        this.bytes = bytes;
+        this.file = file;
+        this.length = length;
+    }
+
+    /**
+     * Akışın tamamını okur. sizeHint (Content-Length) eşiği aşıyorsa doğrudan dosyaya yazılır.
+     * dir null ise sistemin geçici dizini kullanılır.
+     */
+    public static BinaryBody read(InputStream in, long sizeHint, long spillThreshold, File dir) throws IOException {
+        if (sizeHint >= 0 && sizeHint <= spillThreshold) {
+            byte[] head = BufferPool.readAll(in, sizeHint, spillThreshold + 1);
+            if (head.length <= spillThreshold) return new BinaryBody(head, null, head.length);
+            return spill(head, in, dir); // ipucu yanlıştı (ör. gzip), gövde eşiği aştı
+        }
+        if (sizeHint > spillThreshold) return spill(new byte[0], in, dir);
+        byte[] head = BufferPool.readAll(in, -1, spillThreshold + 1);
+        if (head.length <= spillThreshold) return new BinaryBody(head, null, head.length);
+        return spill(head, in, dir);
+    }
+
+    private static BinaryBody spill(byte[] head, InputStream in, File dir) throws IOException {
+        File f = File.createTempFile("net-body", ".bin", dir);
+        f.deleteOnExit();
+        long total = head.length;
+        byte[] buf = BufferPool.SHARED.acquireBytes();
+        try (OutputStream out = new FileOutputStream(f)) {
+            out.write(head);
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+                total += n;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(f.toPath());
+            throw e;
+        } finally {
+            BufferPool.SHARED.release(buf);
+        }
+        return new BinaryBody(null, f, total);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public boolean inMemory() {
+        return file == null;
+    }
+
+    /** Gövdenin yazıldığı geçici dosya; bellekteyse null. */
+    public File file() {
+        return file;
+    }
+
+    /** Gövdeyi okumak için yeni bir akış (her çağrıda baştan). */
+    public InputStream open() throws IOException {
+        return (file == null) ? new ByteArrayInputStream(bytes) : new FileInputStream(file);
+    }
+
+    /** Gövde baytları; dosyadaysa dosya okunur. Bellekteki dizi kopyalanmadan verilir (değiştirilmemeli). */
+    public byte[] bytes() throws IOException {
+        return (file == null) ? bytes : Files.readAllBytes(file.toPath());
+    }
+
+    /** Geçici dosyayı siler (bellekteki gövdede etkisiz). */
+    public void release() {
+        if (file != null && !file.delete()) file.deleteOnExit();
+    }
+}
@@ -1,59 +1,146 @@
 // lib/net/NetworkManager.java
 package lib.net;
 
-import android.os.Handler;
-import android.os.Looper;
-
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import lib.concurrent.Cancelable;
 import lib.concurrent.CancellableFuture;
+import lib.concurrent.MainThreadBatchingExecutor;
+import lib.net.breaker.CircuitBreaker;
+import lib.net.breaker.CircuitBreakerRegistry;
+import lib.net.breaker.RetryBudget;
+import lib.net.cache.CachingConnectionFactory;
+import lib.net.cache.ParsedObjectCache;
+import lib.net.cache.ResponseCache;
 import lib.net.command.ACommand;
+import lib.net.command.Execution;
+import lib.net.command.RetryScheduler;
 import lib.net.connection.HttpUrlConnectionFactory;
 import lib.net.connection.IHttpConnection;
 import lib.net.connection.IHttpConnectionFactory;
+import lib.net.dispatch.ConcurrencyLimit;
+import lib.net.dispatch.DispatchEngine;
+import lib.net.dispatch.DispatchJob;
+import lib.net.dispatch.HostLimitingDispatchEngine;
+import lib.net.dispatch.Priority;
+import lib.net.dispatch.ThreadPoolDispatchEngine;
+import lib.net.dispatch.VegasLimit;
+import lib.net.event.CallEventListener;
+import lib.net.event.CallEventListener.Phase;
+import lib.net.event.CallEvents;
 import lib.net.interceptor.Interceptor;
+import lib.net.metrics.LatencyHistogram;
+import lib.net.metrics.NetMetrics;
+import lib.net.metrics.RollingWindow;
 import lib.net.parser.GsonResponseParser;
 import lib.net.parser.IResponseParser;
+import lib.net.strategy.ResponseDecoder;
+import lib.net.util.CircuitOpenException;
+import lib.net.util.DeadlineExceededException;
 import lib.net.util.NetworkConfig;
+import lib.net.util.RequestCancelledException;
 import lib.net.util.UrlBuilder;
 
 /**
  * Future-only NetworkManager
  * - enqueueFuture(...): CancellableFuture<T>
  * - enqueueFutureResult(...): CancellableFuture<NetResult<T>>
- * Sonuçlar main thread'de tamamlanır.
+ * - enqueueStream(...): JSON dizisi elemanlarını indirme sürerken batch'ler halinde verir
+ * Sonuçlar varsayılan olarak main thread'de tamamlanır; ardışık tamamlanmalar tek looper mesajında toplanır.
+ * Builder.resultExecutor(...) ile teslim yeri değiştirilebilir, completeOnWorker() ile Looper gerekmez (JVM/test).
+ * İsteklerin nasıl koşturulacağı DispatchEngine ile seçilir (varsayılan: sabit worker havuzu).
+ * Aynı anda gelen özdeş GET'ler tek uçuşta birleştirilir (coalesceRequests).
+ * Retry backoff'u worker tutmaz: istek süre dolana kadar "park" edilir, sonra motora yeniden girer.
+ * Kuyruk doluysa istek hemen 429 ile reddedilir ya da (maxQueueWaitMs verildiyse) thread tutmadan yer açılmasını bekler.
+ * Builder.metrics(...) verilirse kuyruk bekleme, bağlantı, TTFB, indirme, parse ve teslim süreleri metrics() ile okunur
+ * (yöntem/host/rota başına).
+ * Builder.eventListener(...) ile her isteğin aşama olayları (zaman damgalı) alınır.
+ * hedgeIdempotentGets(...) ile uç noktasının p95'ini aşan GET'ler için ikinci bir istek gönderilir; ilk yanıt kazanır.
  */
 public class NetworkManager {
 
-    private final ExecutorService executor;
-    private final BlockingQueue<RequestTask<?>> requestQueue;
-    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final DispatchEngine engine;
+    private final ScheduledExecutorService retryScheduler;
+    private final Set<ParkedAttempt> parked = ConcurrentHashMap.newKeySet();
+    private final Executor delivery;
     private final IHttpConnectionFactory connectionFactory;
     private final ResponseHandler responseHandler;
+    private final ParsedObjectCache parsedCache;
+    private final CircuitBreakerRegistry breakers;
+    private final RollingWindow outcomes =
+            new RollingWindow(NetworkConfig.OUTCOME_WINDOW_MS, NetworkConfig.OUTCOME_WINDOW_BUCKETS);
+    private final RetryBudget retryBudget; // global bütçe; perHost modda host bütçelerinin şablonu
+    private final boolean retryBudgetPerHost;
+    private final ConcurrentHashMap<String, RetryBudget> hostRetryBudgets = new ConcurrentHashMap<>();
+    private final RetryBudget hedgeBudget; // null: hedge kapalı
+    private final NetMetrics metrics; // null: ölçüm kapalı
+    private final CallEventListener eventListener; // null: olay yok
+    private final ConcurrentHashMap<String, LatencyHistogram> endpointLatency = new ConcurrentHashMap<>();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
     private final ConcurrentHashMap<ACommand, RequestTask<?>> activeTasks = new ConcurrentHashMap<>();
     private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+    private final boolean coalesceRequests;
+    private final HashMap<FlightKey, Flight> flights = new HashMap<>();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final ArrayDeque<RequestTask<?>> awaitingAdmission = new ArrayDeque<>();
     private final List<Interceptor> globalInterceptors;
 
     private NetworkManager(IHttpConnectionFactory factory,
                            ResponseHandler handler,
-                           int threadPoolSize,
-                           int queueCapacity,
+                           DispatchEngine engine,
+                           ParsedObjectCache parsedCache,
+                           boolean coalesceRequests,
+                           CircuitBreakerRegistry breakers,
+                           RetryBudget retryBudget,
+                           boolean retryBudgetPerHost,
+                           RetryBudget hedgeBudget,
+                           NetMetrics metrics,
+                           CallEventListener eventListener,
+                           Executor delivery,
                            List<Interceptor> interceptors) {
         this.connectionFactory = (factory != null) ? factory : new HttpUrlConnectionFactory();
         this.responseHandler = (handler != null) ? handler : new ResponseHandler(new GsonResponseParser());
-        this.executor = Executors.newFixedThreadPool(threadPoolSize);
-        this.requestQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.engine = engine;
+        this.parsedCache = parsedCache;
+        this.coalesceRequests = coalesceRequests;
+        this.breakers = breakers;
+        this.retryBudget = retryBudget;
+        this.retryBudgetPerHost = retryBudgetPerHost;
+        this.hedgeBudget = hedgeBudget;
+        this.metrics = metrics;
+        this.eventListener = eventListener;
+        this.delivery = delivery;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "net-retry");
+            t.setDaemon(true);
+            return t;
+        });
         this.globalInterceptors = (interceptors != null) ? new ArrayList<>(interceptors) : new ArrayList<>();
-        startWorkers(threadPoolSize);
     }
 
     /* ======================= PUBLIC API (FUTURE) ======================= */
@@ -61,98 +148,890 @@ public class NetworkManager {
     public <T> CancellableFuture<NetResult<T>> enqueueFutureResult(String baseUrl,
                                                                    ACommand command,
                                                                    Type responseType) {
+        return enqueueFutureResult(baseUrl, command, responseType, 0);
+    }
+
+    /**
+     * Kuyruk doluysa en fazla maxQueueWaitMs yer açılmasını bekler (thread tutmadan); açılmazsa 429.
+     * Yer açıldığında da bu süre aşılmışsa istek bağlantı açılmadan düşürülür.
+     */
+    public <T> CancellableFuture<NetResult<T>> enqueueFutureResult(String baseUrl,
+                                                                   ACommand command,
+                                                                   Type responseType,
+                                                                   long maxQueueWaitMs) {
         CancellableFuture<NetResult<T>> f = new CancellableFuture<>();
-        f.attachCancelable(command::cancel); // cancel() -> command.cancel()
-        // Global interceptor'ları komuta tak
-        if (globalInterceptors != null) {
-            for (Interceptor it : globalInterceptors) {
-                if (it != null) command.addInterceptor(it);
-            }
-        }
-        RequestTask<T> task = RequestTask.forResult(baseUrl, command, responseType, f);
-        if (!requestQueue.offer(task)) {
-            completeOnMain(f, new NetResult.Error<T>(
-                    new IOException("Queue is full"), 429, "Too Many Requests"));
-            return f;
-        }
-        activeTasks.put(command, task);
+        start(RequestTask.forResult(baseUrl, command, responseType, f).admitWithin(maxQueueWaitMs), f);
         return f;
     }
 
     public <T> CancellableFuture<T> enqueueFuture(String baseUrl,
                                                   ACommand command,
                                                   Type responseType) {
+        return enqueueFuture(baseUrl, command, responseType, 0);
+    }
+
+    /** Kuyruk doluysa en fazla maxQueueWaitMs bekler; bkz. enqueueFutureResult(..., maxQueueWaitMs). */
+    public <T> CancellableFuture<T> enqueueFuture(String baseUrl,
+                                                  ACommand command,
+                                                  Type responseType,
+                                                  long maxQueueWaitMs) {
         CancellableFuture<T> f = new CancellableFuture<>();
-        f.attachCancelable(command::cancel);
-        if (globalInterceptors != null) {
-            for (Interceptor it : globalInterceptors) {
-                if (it != null) command.addInterceptor(it);
+        start(RequestTask.forValue(baseUrl, command, responseType, f).admitWithin(maxQueueWaitMs), f);
+        return f;
+    }
+
+    /**
+     * Üst seviye JSON dizisi dönen uçlar için akış: elemanlar indirme sürerken çözülür ve
+     * batchSize'lık gruplar halinde sonuç executor'ında (varsayılan: main thread) onBatch'e verilir. Future, toplam eleman sayısıyla tamamlanır.
+     * İptal (future.cancel) okumayı yarıda keser; sonrasında onBatch çağrılmaz.
+     */
+    public <T> CancellableFuture<Integer> enqueueStream(String baseUrl,
+                                                        ACommand command,
+                                                        Type elementType,
+                                                        int batchSize,
+                                                        Consumer<List<T>> onBatch) {
+        return enqueueStream(baseUrl, command, elementType, batchSize, onBatch, 0);
+    }
+
+    /** Kuyruk doluysa en fazla maxQueueWaitMs bekler; bkz. enqueueFutureResult(..., maxQueueWaitMs). */
+    public <T> CancellableFuture<Integer> enqueueStream(String baseUrl,
+                                                        ACommand command,
+                                                        Type elementType,
+                                                        int batchSize,
+                                                        Consumer<List<T>> onBatch,
+                                                        long maxQueueWaitMs) {
+        CancellableFuture<Integer> f = new CancellableFuture<>();
+        RequestTask<Integer> task = RequestTask.forStream(baseUrl, command, elementType,
+                new StreamSpec<>(Math.max(1, batchSize), onBatch), f);
+        start(task.admitWithin(maxQueueWaitMs), f);
+        return f;
+    }
+
+    public <T> CancellableFuture<Integer> enqueueStream(String baseUrl,
+                                                        ACommand command,
+                                                        Type elementType,
+                                                        Consumer<List<T>> onBatch) {
+        return enqueueStream(baseUrl, command, elementType, NetworkConfig.STREAM_BATCH_SIZE, onBatch);
+    }
+
+    /** Motor kuyruğundaki/in-flight iş sayıları (gözlem için). */
+    public int queuedCount() {
+        return engine.queued();
+    }
+
+    /** Belirli öncelik şeridinde bekleyen iş sayısı. */
+    public int queuedCount(Priority lane) {
+        return engine.queued(lane);
+    }
+
+    public int inFlightCount() {
+        return engine.inFlight();
+    }
+
+    /** Host (scheme + authority) kuyruğunda bekleyen iş sayısı; host sınırlaması kapalıysa 0. */
+    public int queuedCount(String host) {
+        return engine instanceof HostLimitingDispatchEngine
+                ? ((HostLimitingDispatchEngine) engine).queued(host) : 0;
+    }
+
+    /** Host'a verilmiş (motor kuyruğunda veya çalışan) iş sayısı; host sınırlaması kapalıysa 0. */
+    public int inFlightCount(String host) {
+        return engine instanceof HostLimitingDispatchEngine
+                ? ((HostLimitingDispatchEngine) engine).inFlight(host) : 0;
+    }
+
+    /**
+     * Toplam eşzamanlılık sınırı (VegasLimit ise güncel sınır ve RTT tahminleri buradan okunur);
+     * sınırlayıcı yoksa null.
+     */
+    public ConcurrencyLimit concurrencyLimit() {
+        return engine instanceof HostLimitingDispatchEngine
+                ? ((HostLimitingDispatchEngine) engine).concurrencyLimit() : null;
+    }
+
+    /** Uçuştaki aynı GET'e abone edilerek ağa hiç çıkmayan istek sayısı. */
+    public long deduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    /**
+     * Tüm isteklerin son OUTCOME_WINDOW_MS'deki sonuçları (hata oranı, istek hızı).
+     * Komutlar arasında paylaşılan uyarlanabilir retry için: new AdaptiveErrorRateRetryPolicy(nm.outcomes(), 0.5).
+     */
+    public RollingWindow outcomes() {
+        return outcomes;
+    }
+
+    /** Retry bütçesi tükendiği için yapılmayan retry sayısı (tüm host'lar). */
+    public long retryBudgetExhaustedCount() {
+        if (!retryBudgetPerHost) return retryBudget != null ? retryBudget.exhaustedCount() : 0;
+        long n = 0;
+        for (RetryBudget b : hostRetryBudgets.values()) n += b.exhaustedCount();
+        return n;
+    }
+
+    /** İsteğin tabi olduğu retry bütçesi (per-host modda host'unki); bütçe kapalıysa null. */
+    public RetryBudget retryBudget(String host) {
+        if (retryBudget == null) return null;
+        return retryBudgetPerHost ? retryBudgetFor(host) : retryBudget;
+    }
+
+    /**
+     * Yöntem + host + rota şablonu başına gecikme (p50/p95/p99) ve verim ölçümleri; Builder.metrics(...) verilmediyse null.
+     * Dışa aktarım için: for (NetMetrics.Snapshot s : nm.metrics().snapshot().values()) ...
+     */
+    public NetMetrics metrics() {
+        return metrics;
+    }
+
+    /** Uç noktanın p95'ini aştığı için ikinci kez gönderilen (hedge) istek sayısı. */
+    public long hedgedCount() {
+        return hedged.get();
+    }
+
+    /** Sonucu hedge isteğinden gelen (asıl isteği geçen) istek sayısı. */
+    public long hedgeWinCount() {
+        return hedgeWins.get();
+    }
+
+    /** Host/uç nokta devre kesicileri; Builder.circuitBreakers verilmediyse null. */
+    public CircuitBreakerRegistry circuitBreakers() {
+        return breakers;
+    }
+
+    /** Kuyrukta yer açılmasını bekleyen (maxQueueWaitMs ile verilmiş) istek sayısı. */
+    public int awaitingAdmissionCount() {
+        synchronized (awaitingAdmission) {
+            return awaitingAdmission.size();
+        }
+    }
+
+    /** Backoff süresinin dolmasını bekleyen (hiçbir thread tutmayan) istek sayısı. */
+    public int parkedInBackoffCount() {
+        return parked.size();
+    }
+
+    public void shutdown() {
+        if (shuttingDown.compareAndSet(false, true)) {
+            for (ACommand c : activeTasks.keySet()) c.cancel();
+            engine.shutdown();
+            retryScheduler.shutdownNow();
+            // Backoff'ta bekleyenler thread tutmadığı için kendiliğinden bitmez: iptal sonucunu şimdi teslim et
+            for (ParkedAttempt p : parked) {
+                if (parked.remove(p)) p.attempt.run();
             }
+            RequestTask<?> waiting;
+            while ((waiting = pollAwaiting()) != null) reject(waiting);
         }
-        RequestTask<T> task = RequestTask.forValue(baseUrl, command, responseType, f);
-        if (!requestQueue.offer(task)) {
-            completeExceptionOnMain(f, new HttpException(
-                    new IOException("Queue is full"), 429, "Too Many Requests"));
-            return f;
+    }
+
+    /* ======================= DISPATCH ======================= */
+
+    /**
+     * İstekleri başlatır. Birleştirme açıksa (Builder.coalesceRequests) ve aynı GET (method + URL + başlıklar +
+     * Type + öncelik) zaten uçuştaysa yeni bağlantı açılmaz: istek o uçuşa abone olur ve liderin sonucunu alır.
+     * Abonelerden biri iptal ederse yalnızca kendi future'ı düşer; komut, tüm aboneler iptal edince iptal edilir.
+     */
+    private void start(RequestTask<?> task, CancellableFuture<?> f) {
+        // Anahtar global interceptor'lar takılmadan alınır: yalnızca komutun kendi interceptor'ları birleştirmeyi engeller
+        FlightKey key = coalesceRequests ? FlightKey.of(task) : null;
+        for (Interceptor it : globalInterceptors) {
+            if (it != null) task.command.addInterceptor(it);
         }
-        activeTasks.put(command, task);
-        return f;
+        if (key == null) {
+            f.attachCancelable(task.command::cancel); // cancel() -> command.cancel()
+            submitOrAwait(task);
+            return;
+        }
+        Flight flight;
+        synchronized (flights) {
+            flight = flights.get(key);
+            if (flight != null && flight.join(task)) {
+                deduplicated.incrementAndGet();
+                f.attachCancelable(new Release(flight));
+                return;
+            }
+            flight = new Flight(key, task);
+            flights.put(key, flight);
+            task.flight = flight;
+        }
+        f.attachCancelable(new Release(flight));
+        submitOrAwait(task);
     }
 
-    /* ======================= WORKERS ======================= */
+    /* ======================= ADMISSION ======================= */
 
-    private void startWorkers(int workerCount) {
-        for (int i = 0; i < workerCount; i++) {
-            executor.execute(this::workerLoop);
+    /** Kuyruk doluysa: bekleme süresi verilmişse sıraya alınır (thread tutmadan), yoksa hemen 429. */
+    private void submitOrAwait(final RequestTask<?> task) {
+        if (shortCircuited(task)) {
+            deliverAll(task, circuitOpen(task));
+            return;
+        }
+        prepare(task);
+        if (submit(task)) return;
+        long waitNs = task.admitByNanos - System.nanoTime();
+        if (task.admitByNanos == 0 || waitNs <= 0 || shuttingDown.get()) {
+            reject(task);
+            return;
+        }
+        synchronized (awaitingAdmission) {
+            awaitingAdmission.addLast(task);
+        }
+        try {
+            retryScheduler.schedule(() -> {
+                if (removeAwaiting(task)) reject(task);
+            }, waitNs, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException closed) {
+            if (removeAwaiting(task)) reject(task);
         }
     }
 
-    private void workerLoop() {
+    /** Bir iş bitti (kuyrukta yer açıldı): bekleyenleri geliş sırasıyla kabul ettir. */
+    private void admitAwaiting() {
         while (!shuttingDown.get()) {
-            RequestTask<?> task = null;
+            RequestTask<?> task = pollAwaiting();
+            if (task == null) return;
+            if (System.nanoTime() - task.admitByNanos >= 0) {
+                reject(task);
+                continue;
+            }
+            if (!submit(task)) {
+                synchronized (awaitingAdmission) {
+                    awaitingAdmission.addFirst(task);
+                }
+                return;
+            }
+        }
+    }
+
+    private RequestTask<?> pollAwaiting() {
+        synchronized (awaitingAdmission) {
+            return awaitingAdmission.pollFirst();
+        }
+    }
+
+    private boolean removeAwaiting(RequestTask<?> task) {
+        synchronized (awaitingAdmission) {
+            return awaitingAdmission.remove(task);
+        }
+    }
+
+    /** Kabul edilmeyen istek: devre kesici izni iade edilir, 429 teslim edilir. */
+    private void reject(RequestTask<?> task) {
+        if (task.breaker != null) task.breaker.onIgnored();
+        deliverAll(task, rejected());
+    }
+
+    /* ======================= CIRCUIT BREAKER ======================= */
+
+    /**
+     * Hedefin devresi açıksa true: istek kuyruğa girmez, worker almaz, bağlantı açmaz.
+     * İzin alındıysa sonuç Job bitince kesiciye bildirilir.
+     */
+    private boolean shortCircuited(RequestTask<?> task) {
+        if (breakers == null) return false;
+        CircuitBreaker b = breakers.forUrl(fullUrl(task));
+        if (!b.tryAcquire()) return true;
+        task.breaker = b;
+        return false;
+    }
+
+    private static NetResult<Object> circuitOpen(RequestTask<?> task) {
+        return new NetResult.Error<>(new CircuitOpenException("Devre açık: " + task.baseUrl), 503, "Service Unavailable");
+    }
+
+    /* ======================= OUTCOMES ======================= */
+
+    private static final int OUTCOME_OK = 0, OUTCOME_FAILED = 1, OUTCOME_IGNORED = 2;
+
+    /** 5xx/429 ve ağ hataları hata; iptal/süre aşımı yok sayılır; diğerleri (4xx, parse hatası) host'un ayakta olduğunu gösterir. */
+    private static int classify(NetResult<?> r) {
+        if (r.isSuccess()) return OUTCOME_OK;
+        NetResult.Error<?> e = (NetResult.Error<?>) r;
+        Exception ex = e.getException();
+        int code = e.getResponseCode();
+        if (ex instanceof RequestCancelledException || ex instanceof DeadlineExceededException) return OUTCOME_IGNORED;
+        if (code == 429 || code >= 500 || (code == -1 && ex instanceof IOException)) return OUTCOME_FAILED;
+        return OUTCOME_OK;
+    }
+
+    /** Biten isteğin sonucu: ortak sonuç penceresine ve (izin alındıysa) devre kesiciye. */
+    private void recordOutcome(RequestTask<?> task, NetResult<?> r) {
+        int outcome = classify(r);
+        if (outcome != OUTCOME_IGNORED) outcomes.record(outcome == OUTCOME_FAILED);
+        if (retryBudget != null) retryBudget(hostOf(task)).onRequestFinished(outcome == OUTCOME_OK);
+        CircuitBreaker b = task.breaker;
+        if (b == null) return;
+        if (outcome == OUTCOME_OK) b.onSuccess();
+        else if (outcome == OUTCOME_FAILED) b.onFailure();
+        else b.onIgnored();
+    }
+
+    /* ----- hedge ----- */
+
+    /** Yalnızca idempotent GET'ler hedge edilir; akışlar (kısmen teslim edilmiş olabilir) ve indirmeler hariç. */
+    private boolean hedgeable(RequestTask<?> task) {
+        return hedgeBudget != null
+                && task.kind != RequestTask.Kind.STREAM
+                && task.command.responseDecoder() == null
+                && "GET".equals(task.command.getMethodName())
+                && task.command.isIdempotent();
+    }
+
+    /** Hedge gecikmesi: uç noktanın son gecikmelerinin p95'i; yeterli örnek yoksa -1 (hedge yok). */
+    private long hedgeDelayMs(RequestTask<?> task) {
+        LatencyHistogram h = endpointLatency.get(endpointOf(task));
+        if (h == null || h.count() < NetworkConfig.HEDGE_MIN_SAMPLES) return -1;
+        return Math.max(1, Math.round(h.percentileMs(0.95)));
+    }
+
+    /** Başarılı isteğin (hedge dahil, kuyruk hariç) süresi uç noktanın histogramına yazılır. */
+    private void recordLatency(RequestTask<?> task, NetResult<?> r, long startNs) {
+        if (!hedgeable(task) || !r.isSuccess() || startNs == 0) return;
+        String key = endpointOf(task);
+        LatencyHistogram h = endpointLatency.get(key);
+        if (h == null) {
+            LatencyHistogram created = new LatencyHistogram(NetworkConfig.HEDGE_LATENCY_WINDOW_MS);
+            h = endpointLatency.putIfAbsent(key, created);
+            if (h == null) h = created;
+        }
+        h.recordNanos(System.nanoTime() - startNs);
+        hedgeBudget.onRequestFinished(true);
+    }
+
+    private static String endpointOf(RequestTask<?> task) {
+        String url = fullUrl(task);
+        int q = url.indexOf('?');
+        return q >= 0 ? url.substring(0, q) : url;
+    }
+
+    private static NetResult<Object> rejected() {
+        return new NetResult.Error<>(new IOException("Queue is full"), 429, "Too Many Requests");
+    }
+
+    /** Sonucu görevin kendisine ve (varsa) aynı uçuşa abone olan tüm isteklere teslim eder. */
+    private void deliverAll(RequestTask<?> task, NetResult<?> r) {
+        Flight flight = task.flight;
+        if (flight == null) {
+            deliver(task, r);
+            return;
+        }
+        List<RequestTask<?>> subscribers;
+        synchronized (flights) {
+            flight.closed = true;
+            flights.remove(flight.key, flight);
+            subscribers = new ArrayList<>(flight.subscribers);
+        }
+        for (int i = 0; i < subscribers.size(); i++) deliver(subscribers.get(i), i == 0 ? r : shared(r));
+    }
+
+    /**
+     * Abonenin sonucu: üst seviye List/Set/Map aboneye ayrı kopyalanır (biri sıralarsa diğerleri etkilenmesin);
+     * elemanlar ve diğer nesneler paylaşılır, salt-okunur kullanılmalıdır.
+     */
+    private static NetResult<?> shared(NetResult<?> r) {
+        if (!r.isSuccess()) return r;
+        Object v = ((NetResult.Success<?>) r).Data();
+        if (v instanceof List) return new NetResult.Success<>(new ArrayList<>((List<?>) v));
+        if (v instanceof Set) return new NetResult.Success<>(new LinkedHashSet<>((Set<?>) v));
+        if (v instanceof Map) return new NetResult.Success<>(new LinkedHashMap<>((Map<?, ?>) v));
+        return r;
+    }
+
+    /** Kabul edilen isteğin bir kezlik hazırlığı; ENQUEUED de burada (sıradan tekrar kabul denemeleri saymaz). */
+    private void prepare(RequestTask<?> task) {
+        if (retryBudget != null) task.command.withRetryBudget(retryBudget(hostOf(task)));
+        if (metrics != null) {
+            task.metrics = metrics.recorder(task.command.getMethodName(), hostOf(task), task.command.getRelativeUrl());
+            task.command.withMetrics(task.metrics);
+        }
+        if (eventListener != null) {
+            task.command.withEventListener(eventListener);
+            CallEvents.fire(eventListener, task.command, Phase.ENQUEUED, 0);
+        }
+    }
+
+    private boolean submit(RequestTask<?> task) {
+        if (shuttingDown.get()) return false;
+        activeTasks.put(task.command, task);
+        if (engine.submit(new Job(task))) return true;
+        activeTasks.remove(task.command);
+        return false;
+    }
+
+    /**
+     * Bir isteğin motor tarafından koşturulan hali.
+     * run(): tek bir deneme bloklayarak yapılır; retry gerekirse istek park edilir ve run() hemen döner.
+     * runAsync(): yanıt da retry de thread tutmadan beklenir.
+     */
+    private final class Job implements DispatchJob {
+        private final RequestTask<?> task;
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private final Execution primary = new Execution();
+        private volatile Execution hedge;
+        private final AtomicInteger live = new AtomicInteger(1); // sonucu beklenen koşu sayısı
+        private volatile NetResult<?> pendingFailure;
+        private volatile long startNs;
+
+        Job(RequestTask<?> task) {
+            this.task = task;
+        }
+
+        @Override
+        public Priority priority() {
+            return task.command.getPriority();
+        }
+
+        @Override
+        public String host() {
+            return hostOf(task);
+        }
+
+        @Override
+        public long attemptNanos() {
+            return primary.lastAttemptNanos();
+        }
+
+        @Override
+        public ConcurrencyLimit.Outcome outcome() {
+            return sampleOutcome(primary);
+        }
+
+        /** Motor işi koşturmadan bıraktı: istek 429 ile reddedilir. */
+        @Override
+        public void reject() {
+            if (!finished.compareAndSet(false, true)) return;
             try {
-                task = requestQueue.take();
+                NetworkManager.this.reject(task);
+            } finally {
+                activeTasks.remove(task.command);
+                admitAwaiting();
+            }
+        }
 
-                try {
-                    // Her attempt'te yeni connection
-                    final String fullUrl = UrlBuilder.build(task.baseUrl, task.command);
-                    java.util.function.Supplier<IHttpConnection> supplier = new java.util.function.Supplier<IHttpConnection>() {
-                        @Override
-                        public IHttpConnection get() {
-                            try {
-                                return connectionFactory.createConnection(fullUrl);
-                            } catch (Exception e) {
-                                throw new RuntimeException(e);
-                            }
-                        }
-                    };
-
-                    // Düşük seviye (String) sonuç
-                    NetResult<String> raw = task.command.execute(supplier);
-
-                    // Tipli sonuca çevir
-                    NetResult<?> finalResult = responseHandler.handle(raw, task.responseType);
-
-                    // Tür güvenli teslim
-                    deliver(task, finalResult);
-
-                } catch (Exception procEx) {
-                    // İşlem/parse/execute sırasında hata -> error sonucu post et
-                    if (task != null) {
-                        NetResult<?> err = new NetResult.Error<Object>(
-                                procEx, -1, msg(procEx));
-                        deliver(task, err);
+        @Override
+        public void run() {
+            Consumer<NetResult<?>> done = r -> complete(r, null, primary);
+            started();
+            if (shedExpired(done)) return;
+            armHedge();
+            try {
+                executeStepwise(task, connectionSupplier(task), primary, done);
+            } catch (Exception procEx) {
+                // İşlem/parse/execute sırasında hata -> error sonucu post et
+                done.accept(new NetResult.Error<Object>(procEx, -1, msg(procEx)));
+            }
+        }
+
+        @Override
+        public void runAsync(final Runnable onDone) {
+            Consumer<NetResult<?>> done = r -> complete(r, onDone, primary);
+            started();
+            if (shedExpired(done)) return;
+            armHedge();
+            try {
+                executeAsync(task, connectionSupplier(task), primary, done);
+            } catch (Exception procEx) {
+                done.accept(new NetResult.Error<Object>(procEx, -1, msg(procEx)));
+            }
+        }
+
+        private void started() {
+            startNs = System.nanoTime();
+            if (task.metrics != null) task.metrics.record(NetMetrics.Stage.QUEUE_WAIT, startNs - task.createdNanos);
+            CallEvents.fire(task.command.getEventListener(), task.command, Phase.DEQUEUED, 0);
+        }
+
+        /**
+         * Kuyruktan çıkarken kontrol: istek kuyrukta beklerken kabul süresi (maxQueueWaitMs) dolduysa
+         * bağlantı açılmadan düşürülür. Komutun kendi deadline'ı ACommand'da her denemeden önce kontrol edilir.
+         */
+        private boolean shedExpired(Consumer<NetResult<?>> done) {
+            if (task.admitByNanos == 0 || System.nanoTime() - task.admitByNanos < 0) return false;
+            done.accept(new NetResult.Error<Object>(
+                    new DeadlineExceededException("Kuyruk bekleme süresi doldu."), 503, "Service Unavailable"));
+            return true;
+        }
+
+        /* ----- hedge ----- */
+
+        /** Uç noktanın p95'i kadar sonra istek hâlâ bitmediyse ikinci bir koşu başlatılır. */
+        private void armHedge() {
+            if (!hedgeable(task)) return;
+            long delayMs = hedgeDelayMs(task);
+            if (delayMs < 0) return;
+            try {
+                retryScheduler.schedule(this::launchHedge, delayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ignore) {
+                // kapanıyor
+            }
+        }
+
+        private void launchHedge() {
+            if (shuttingDown.get() || task.command.isCancelled()) return;
+            // Önce koşu sayılır: istek bu arada bittiyse hedge başlamaz, bütçe de harcanmaz
+            if (!retainRun()) return;
+            if (!hedgeBudget.tryAcquire()) {
+                hedgeDropped();
+                return;
+            }
+            final Execution h = new Execution();
+            hedge = h;
+            hedged.incrementAndGet();
+            boolean accepted = engine.submit(new DispatchJob() {
+                @Override
+                public void run() {
+                    Consumer<NetResult<?>> done = r -> complete(r, null, h);
+                    if (finished.get()) {
+                        hedgeUnused();
+                        done.accept(new NetResult.Error<Object>(new RequestCancelledException("Hedge gereksiz."), -1, "Abandoned"));
+                        return;
+                    }
+                    try {
+                        executeStepwise(task, connectionSupplier(task), h, done);
+                    } catch (Exception procEx) {
+                        done.accept(new NetResult.Error<Object>(procEx, -1, msg(procEx)));
+                    }
+                }
+
+                @Override
+                public void runAsync(Runnable onDone) {
+                    Consumer<NetResult<?>> done = r -> complete(r, onDone, h);
+                    if (finished.get()) {
+                        hedgeUnused();
+                        done.accept(new NetResult.Error<Object>(new RequestCancelledException("Hedge gereksiz."), -1, "Abandoned"));
+                        return;
                     }
+                    try {
+                        executeAsync(task, connectionSupplier(task), h, done);
+                    } catch (Exception procEx) {
+                        done.accept(new NetResult.Error<Object>(procEx, -1, msg(procEx)));
+                    }
+                }
+
+                @Override
+                public void reject() {
+                    hedgeUnused();
+                    hedgeDropped();
+                }
+
+                @Override
+                public long attemptNanos() {
+                    return h.lastAttemptNanos();
                 }
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            } catch (Exception ignore) {
-                // take() öncesi/sırası — elde task yok, sadece loglamak isteyebilirsiniz
+
+                @Override
+                public ConcurrencyLimit.Outcome outcome() {
+                    return sampleOutcome(h);
+                }
+
+                @Override
+                public Priority priority() {
+                    return task.command.getPriority();
+                }
+
+                @Override
+                public String host() {
+                    return hostOf(task);
+                }
+            });
+            if (!accepted) {
+                hedgeUnused();
+                hedgeDropped();
+            }
+        }
+
+        /** İstek bitmemişse beklenen koşu sayısını artırır; bitmişse (live 0'a indiyse) false. */
+        private boolean retainRun() {
+            while (true) {
+                int n = live.get();
+                if (n <= 0 || finished.get()) return false;
+                if (live.compareAndSet(n, n + 1)) return true;
+            }
+        }
+
+        /** Hedge hiç gönderilmedi: bütçeden alınan izin iade edilir. */
+        private void hedgeUnused() {
+            hedgeBudget.refund();
+            hedged.decrementAndGet();
+        }
+
+        /** Hedge koşmadan düştü; asıl koşu hedge'i bekleyerek başarısız bitmişse onun sonucunu teslim et. */
+        private void hedgeDropped() {
+            if (live.decrementAndGet() != 0) return;
+            NetResult<?> r = pendingFailure;
+            if (r != null) finish(r, null, primary);
+        }
+
+        /**
+         * Bir koşunun sonucu. İlk başarılı yanıt kazanır; başarısız sonuç, diğer koşu hâlâ sürüyorsa
+         * onun sonucunu beklemek için bekletilir. Kaybeden koşu motordaki yerini yine de bırakır.
+         */
+        private void complete(NetResult<?> r, Runnable onDone, Execution self) {
+            boolean last = live.decrementAndGet() <= 0;
+            if (!r.isSuccess() && !last && !finished.get()) {
+                pendingFailure = r;
+                if (onDone != null) onDone.run();
+                return;
+            }
+            finish(r, onDone, self);
+        }
+
+        private void finish(NetResult<?> r, Runnable onDone, Execution winner) {
+            if (!finished.compareAndSet(false, true)) {
+                if (onDone != null) onDone.run();
+                return;
+            }
+            Execution loser = (winner == primary) ? hedge : primary;
+            if (loser != null) loser.abandon();
+            if (winner != primary) hedgeWins.incrementAndGet();
+            recordOutcome(task, r);
+            recordLatency(task, r, startNs);
+            invalidateParsed(task);
+            try {
+                // Tür güvenli teslim (tek uçuşa abone olanlar dahil)
+                deliverAll(task, r);
             } finally {
-                if (task != null) {
-                    activeTasks.remove(task.command);
+                activeTasks.remove(task.command);
+                if (onDone != null) onDone.run();
+                admitAwaiting();
+            }
+        }
+    }
+
+    /** Motorun bitirdiği koşunun son denemesi, uyarlanabilir sınır için. */
+    private static ConcurrencyLimit.Outcome sampleOutcome(Execution e) {
+        if (e.isAbandoned()) return ConcurrencyLimit.Outcome.ABANDONED;
+        if (e.lastAttemptNanos() < 0 || !e.lastAttemptResponded()) return ConcurrencyLimit.Outcome.FAILED;
+        return ConcurrencyLimit.Outcome.SUCCESS;
+    }
+
+    /* ======================= RETRY PARKING ======================= */
+
+    /**
+     * Bloklayan motorlar: backoff bitince sonraki deneme motora yeni bir iş olarak girer.
+     * Deneme, isteğin öncelik şeridine geri döner.
+     */
+    private RetryScheduler parkingScheduler(RequestTask<?> task, Execution execution) {
+        return new Parking(true, task.command.getPriority(), hostOf(task), execution);
+    }
+
+    /** Non-blocking motorlar: sonraki deneme doğrudan retry thread'inde başlatılır (sendAsync ile beklemez). */
+    private final RetryScheduler asyncScheduler = new Parking(false, Priority.USER_VISIBLE, null, null);
+
+    /**
+     * Backoff süresince istek hiçbir thread tutmaz; yalnızca parked kümesinde bekler.
+     * shutdown() sırasında parked denemeler hemen çalıştırılır (iptal sonucuyla biterler).
+     */
+    private final class Parking implements RetryScheduler {
+        private final boolean viaEngine;
+        private final Priority priority;
+        private final String host;
+        private final Execution execution; // motordan geçen denemenin ölçümü; yoksa null
+
+        Parking(boolean viaEngine, Priority priority, String host, Execution execution) {
+            this.viaEngine = viaEngine;
+            this.priority = priority;
+            this.host = host;
+            this.execution = execution;
+        }
+
+        @Override
+        public void schedule(Runnable attempt, final long delayMs) {
+            final ParkedAttempt p = new ParkedAttempt(attempt, viaEngine, priority, host, execution);
+            parked.add(p);
+            try {
+                retryScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (parked.remove(p)) wake(p, delayMs);
+                    }
+                }, delayMs, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                parked.remove(p);
+                throw e;
+            }
+        }
+    }
+
+    private static final class ParkedAttempt {
+        final Runnable attempt;
+        final boolean viaEngine;
+        final Priority priority;
+        final String host;
+        final Execution execution;
+
+        ParkedAttempt(Runnable attempt, boolean viaEngine, Priority priority, String host, Execution execution) {
+            this.attempt = attempt;
+            this.viaEngine = viaEngine;
+            this.priority = priority;
+            this.host = host;
+            this.execution = execution;
+        }
+    }
+
+    private void wake(final ParkedAttempt p, final long delayMs) {
+        if (!p.viaEngine || shuttingDown.get()) {
+            // Kapanışta komutlar iptal edilmiştir: deneme hemen iptal sonucuyla biter
+            p.attempt.run();
+            return;
+        }
+        boolean accepted = engine.submit(new DispatchJob() {
+            @Override
+            public void run() {
+                p.attempt.run();
+            }
+
+            @Override
+            public void runAsync(Runnable onDone) {
+                try {
+                    p.attempt.run();
+                } finally {
+                    onDone.run();
                 }
             }
+
+            @Override
+            public void reject() {
+                repark(p, delayMs);
+            }
+
+            @Override
+            public long attemptNanos() {
+                return p.execution != null ? p.execution.lastAttemptNanos() : -1;
+            }
+
+            @Override
+            public ConcurrencyLimit.Outcome outcome() {
+                return p.execution != null ? sampleOutcome(p.execution) : ConcurrencyLimit.Outcome.SUCCESS;
+            }
+
+            @Override
+            public Priority priority() {
+                return p.priority;
+            }
+
+            @Override
+            public String host() {
+                return p.host;
+            }
+        });
+        if (!accepted) repark(p, delayMs);
+    }
+
+    /** Kuyruk dolu: denemeyi düşürmek yerine bir backoff süresi daha park et. */
+    private void repark(ParkedAttempt p, long delayMs) {
+        if (shuttingDown.get()) {
+            p.attempt.run();
+            return;
+        }
+        try {
+            new Parking(true, p.priority, p.host, p.execution).schedule(p.attempt, Math.max(1, delayMs));
+        } catch (RejectedExecutionException re) {
+            // Retry scheduler kapanmış: denemeyi kaybetmek yerine burada bitir
+            p.attempt.run();
+        }
+    }
+
+    private Supplier<IHttpConnection> connectionSupplier(RequestTask<?> task) {
+        // Her attempt'te yeni connection
+        final String fullUrl = fullUrl(task);
+        final IHttpConnectionFactory factory = factoryFor(task);
+        return new Supplier<IHttpConnection>() {
+            @Override
+            public IHttpConnection get() {
+                try {
+                    return factory.createConnection(fullUrl);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    /** Gövdeyi kendi işleyen komutlar (ör. DownloadCommand) yanıt önbelleğini atlar: gövde belleğe kaydedilmez. */
+    private IHttpConnectionFactory factoryFor(RequestTask<?> task) {
+        if (task.command.responseDecoder() != null && connectionFactory instanceof CachingConnectionFactory) {
+            return ((CachingConnectionFactory) connectionFactory).delegate();
+        }
+        return connectionFactory;
+    }
+
+    private void executeStepwise(final RequestTask<?> task,
+                                 Supplier<IHttpConnection> supplier,
+                                 Execution execution,
+                                 final Consumer<NetResult<?>> onDone) {
+        RetryScheduler parkingScheduler = parkingScheduler(task, execution);
+        ResponseDecoder<?> own = task.command.responseDecoder();
+        if (task.kind == RequestTask.Kind.STREAM) {
+            task.command.executeStepwise(supplier, streamDecoder(task), parkingScheduler, execution, onDone::accept);
+        } else if (own != null) {
+            task.command.executeStepwise(supplier, own, parkingScheduler, execution, onDone::accept);
+        } else if (responseHandler.canStream(task.responseType, task.command.canStreamResponse())) {
+            // Akış modu: gövde String'e çevrilmeden doğrudan parser'a
+            task.command.executeStepwise(supplier, typedDecoder(task), parkingScheduler, execution, onDone::accept);
+        } else {
+            // Düşük seviye (String) sonuç -> tipli sonuca çevir
+            task.command.executeStepwise(supplier, parkingScheduler, execution,
+                    raw -> onDone.accept(parse(task, raw)));
+        }
+    }
+
+    private void executeAsync(final RequestTask<?> task,
+                              Supplier<IHttpConnection> supplier,
+                              Execution execution,
+                              final Consumer<NetResult<?>> onDone) {
+        ResponseDecoder<?> own = task.command.responseDecoder();
+        if (task.kind == RequestTask.Kind.STREAM) {
+            task.command.executeAsync(supplier, streamDecoder(task), asyncScheduler, execution, onDone::accept);
+        } else if (own != null) {
+            task.command.executeAsync(supplier, own, asyncScheduler, execution, onDone::accept);
+        } else if (responseHandler.canStream(task.responseType, task.command.canStreamResponse())) {
+            task.command.executeAsync(supplier, typedDecoder(task), asyncScheduler, execution, onDone::accept);
+        } else {
+            task.command.executeAsync(supplier, asyncScheduler, execution,
+                    raw -> onDone.accept(parse(task, raw)));
+        }
+    }
+
+    /** String gövdeyi tipli sonuca çevirir (akış modu dışı); parse süresi/olayı burada. */
+    private NetResult<?> parse(RequestTask<?> task, NetResult<String> raw) {
+        NetResult<?> r = responseHandler.handle(raw, task.responseType, task.metrics);
+        if (raw.isSuccess()) CallEvents.fire(task.command.getEventListener(), task.command, Phase.PARSE_END, 0);
+        return r;
+    }
+
+    private static String fullUrl(RequestTask<?> task) {
+        return UrlBuilder.build(task.baseUrl, task.command);
+    }
+
+    private static String hostOf(RequestTask<?> task) {
+        return UrlBuilder.origin(task.baseUrl);
+    }
+
+    private RetryBudget retryBudgetFor(String host) {
+        String key = host != null ? host : "";
+        RetryBudget b = hostRetryBudgets.get(key);
+        if (b != null) return b;
+        RetryBudget created = retryBudget.copy();
+        b = hostRetryBudgets.putIfAbsent(key, created);
+        return b != null ? b : created;
+    }
+
+    /** Tipli decoder; GET yanıtları varsa ayrıştırılmış nesne önbelleğinden geçer. */
+    private ResponseDecoder<?> typedDecoder(RequestTask<?> task) {
+        ResponseDecoder<?> parse = responseHandler.decoder(task.responseType);
+        if (parsedCache == null || !"GET".equals(task.command.getMethodName())
+                || responseHandler.isBinary(task.responseType)) return parse; // baytlar zaten HTTP önbelleğinde
+        return parsedCache.decoder(fullUrl(task), task.responseType, parse);
+    }
+
+    /** Yazma isteği bittiğinde aynı kaynağın ayrıştırılmış kayıtları geçersiz olur. */
+    private void invalidateParsed(RequestTask<?> task) {
+        if (parsedCache == null) return;
+        String m = task.command.getMethodName();
+        if ("POST".equals(m) || "PUT".equals(m) || "PATCH".equals(m) || "DELETE".equals(m)) {
+            parsedCache.invalidate(fullUrl(task));
         }
     }
 
@@ -167,44 +1046,105 @@ public class NetworkManager {
         if (task.kind == RequestTask.Kind.RESULT) {
             // Future tipi: CancellableFuture<NetResult<T>>
             NetResult<T> typed = (NetResult<T>) rawResult;
-            completeOnMain(task.resultFuture, typed);
+            completeOnMain(task, task.resultFuture, typed);
         } else {
             // Future tipi: CancellableFuture<T>
             if (rawResult.isSuccess()) {
                 T val = ((NetResult.Success<T>) rawResult).Data();
-                completeOnMain(task.valueFuture, val);
+                completeOnMain(task, task.valueFuture, val);
             } else {
                 NetResult.Error<T> e = (NetResult.Error<T>) rawResult;
-                completeExceptionOnMain(task.valueFuture,
+                completeExceptionOnMain(task, task.valueFuture,
                         new HttpException(e.getException(), e.getResponseCode(), e.getErrorBody()));
             }
         }
     }
 
-    /* ======================= MAIN-THREAD HELPERS ======================= */
+    /**
+     * Elemanları batch'ler halinde sonuç executor'ına yollayan decoder; kalan kısmi batch gövde bitince (veya hata olunca) gönderilir.
+     */
+    private <E> ResponseDecoder<Integer> streamDecoder(RequestTask<?> task) {
+        @SuppressWarnings("unchecked")
+        final BatchSink<E> sink = new BatchSink<>((StreamSpec<E>) task.stream, task.valueFuture);
+        final ResponseDecoder<Integer> inner = responseHandler.arrayDecoder(task.responseType, sink);
+        return body -> {
+            try {
+                return inner.decode(body);
+            } finally {
+                sink.flush();
+            }
+        };
+    }
+
+    private final class BatchSink<E> implements Consumer<E> {
+        private final StreamSpec<E> spec;
+        private final CancellableFuture<?> future;
+        private List<E> batch;
+
+        BatchSink(StreamSpec<E> spec, CancellableFuture<?> future) {
+            this.spec = spec;
+            this.future = future;
+            this.batch = new ArrayList<>(spec.batchSize);
+        }
+
+        @Override
+        public void accept(E item) {
+            batch.add(item);
+            if (batch.size() >= spec.batchSize) flush();
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+            final List<E> ready = batch;
+            batch = new ArrayList<>(spec.batchSize);
+            delivery.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!future.isWorkCancelled()) spec.onBatch.accept(ready);
+                }
+            });
+        }
+    }
+
+    /* ======================= DELIVERY HELPERS ======================= */
 
-    private <T> void completeOnMain(final CancellableFuture<T> f, final T value) {
-        mainHandler.post(new Runnable() {
+    private <T> void completeOnMain(final RequestTask<?> task, final CancellableFuture<T> f, final T value) {
+        final long readyNs = System.nanoTime();
+        delivery.execute(new Runnable() {
             @Override
             public void run() {
                 if (!f.isDone()) f.complete(value);
+                delivered(task, readyNs);
             }
         });
     }
 
-    private <T> void completeExceptionOnMain(final CancellableFuture<T> f, final Throwable ex) {
-        mainHandler.post(new Runnable() {
+    private <T> void completeExceptionOnMain(final RequestTask<?> task, final CancellableFuture<T> f, final Throwable ex) {
+        final long readyNs = System.nanoTime();
+        delivery.execute(new Runnable() {
             @Override
             public void run() {
                 if (!f.isDone()) f.completeExceptionally(ex);
+                delivered(task, readyNs);
             }
         });
     }
 
+    /** Teslim gecikmesi (sonuç hazır -> callback) ve uçtan uca süre; yalnızca motorda koşan görevler için. */
+    private static void delivered(RequestTask<?> task, long readyNs) {
+        if (task == null) return;
+        CallEvents.fire(task.command.getEventListener(), task.command, Phase.DELIVERED, 0);
+        NetMetrics.Recorder m = task.metrics;
+        if (m == null) return;
+        long now = System.nanoTime();
+        m.record(NetMetrics.Stage.DELIVERY, now - readyNs);
+        m.record(NetMetrics.Stage.TOTAL, now - task.createdNanos);
+    }
+
     /* ======================= TASK MODEL ======================= */
 
     private static final class RequestTask<T> {
-        enum Kind {RESULT, VALUE}
+        enum Kind {RESULT, VALUE, STREAM}
 
         final String baseUrl;
         final ACommand command;
@@ -212,27 +1152,149 @@ public class NetworkManager {
         final Kind kind;
         final CancellableFuture<NetResult<T>> resultFuture;
         final CancellableFuture<T> valueFuture;
+        final StreamSpec<?> stream;
+        Flight flight; // tek uçuş lideriyse
+        long admitByNanos; // 0 = kuyruk doluysa beklemeden reddet
+        CircuitBreaker breaker; // izin alınan devre kesici (varsa)
+        NetMetrics.Recorder metrics; // motora verildiğinde takılır
+        final long createdNanos = System.nanoTime();
 
         private RequestTask(String baseUrl,
                             ACommand command,
                             Type responseType,
                             Kind kind,
                             CancellableFuture<NetResult<T>> rf,
-                            CancellableFuture<T> vf) {
+                            CancellableFuture<T> vf,
+                            StreamSpec<?> stream) {
             this.baseUrl = baseUrl;
             this.command = command;
             this.responseType = responseType;
             this.kind = kind;
             this.resultFuture = rf;
             this.valueFuture = vf;
+            this.stream = stream;
+        }
+
+        /** İstek en geç maxQueueWaitMs içinde (ve komutun deadline'ından önce) başlamalı. */
+        RequestTask<T> admitWithin(long maxQueueWaitMs) {
+            if (maxQueueWaitMs <= 0) return this;
+            long by = System.nanoTime() + maxQueueWaitMs * 1_000_000L;
+            if (by == 0) by = 1; // 0 "sınırsız" anlamında
+            long deadline = command.getDeadlineNanos();
+            this.admitByNanos = (deadline != 0 && deadline - by < 0) ? deadline : by;
+            return this;
         }
 
         static <T> RequestTask<T> forResult(String b, ACommand c, Type t, CancellableFuture<NetResult<T>> f) {
-            return new RequestTask<>(b, c, t, Kind.RESULT, f, null);
+            return new RequestTask<>(b, c, t, Kind.RESULT, f, null, null);
         }
 
         static <T> RequestTask<T> forValue(String b, ACommand c, Type t, CancellableFuture<T> f) {
-            return new RequestTask<>(b, c, t, Kind.VALUE, null, f);
+            return new RequestTask<>(b, c, t, Kind.VALUE, null, f, null);
+        }
+
+        /** responseType burada dizinin ELEMAN tipidir; future teslim edilen eleman sayısıyla tamamlanır. */
+        static RequestTask<Integer> forStream(String b, ACommand c, Type elementType,
+                                              StreamSpec<?> s, CancellableFuture<Integer> f) {
+            return new RequestTask<>(b, c, elementType, Kind.STREAM, null, f, s);
+        }
+    }
+
+    /** Tek uçuşun kimliği: yalnızca kendi interceptor'ı ve süre sınırı olmayan GET'ler; başlıklar sıralı kopyalanır. */
+    private static final class FlightKey {
+        final String url;
+        final Type type;
+        final Priority priority;
+        final Map<String, String> headers;
+
+        private FlightKey(String url, Type type, Priority priority, Map<String, String> headers) {
+            this.url = url;
+            this.type = type;
+            this.priority = priority;
+            this.headers = headers;
+        }
+
+        static FlightKey of(RequestTask<?> task) {
+            if (!"GET".equals(task.command.getMethodName())) return null;
+            if (task.kind == RequestTask.Kind.STREAM) return null; // batch'ler her aboneye ayrı teslim edilemez
+            // Tampon değiştirilebilir (byte[] / ByteBuffer konumu), geçici dosya her isteğin kendine ait
+            if (task.responseType == byte[].class || task.responseType == ByteBuffer.class
+                    || task.responseType == BinaryBody.class) return null;
+            if (task.command.responseDecoder() != null) return null; // gövdeyi komut kendisi işliyor (ör. dosyaya)
+            // Yalnızca liderin komutu koşar: abonenin kendi interceptor'ları ve süre sınırı yok sayılırdı
+            if (task.command.hasInterceptors() || task.command.getDeadlineNanos() != 0) return null;
+            return new FlightKey(UrlBuilder.build(task.baseUrl, task.command), task.responseType,
+                    task.command.getPriority(), new TreeMap<>(task.command.getHeaders()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FlightKey)) return false;
+            FlightKey k = (FlightKey) o;
+            return url.equals(k.url) && type.equals(k.type) && priority == k.priority && headers.equals(k.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, type, priority, headers);
+        }
+    }
+
+    /** Uçuştaki tek GET ve abone listesi; alanlar flights kilidi altında değişir. */
+    private static final class Flight {
+        final FlightKey key;
+        final RequestTask<?> leader;
+        final List<RequestTask<?>> subscribers = new ArrayList<>();
+        int refs = 1;
+        boolean closed;
+
+        Flight(FlightKey key, RequestTask<?> leader) {
+            this.key = key;
+            this.leader = leader;
+            subscribers.add(leader);
+        }
+
+        boolean join(RequestTask<?> task) {
+            if (closed) return false;
+            subscribers.add(task);
+            refs++;
+            return true;
+        }
+    }
+
+    /** Bir abonenin iptali; aynı future birden çok kez iptal edilse de bir kez sayılır. */
+    private final class Release implements Cancelable {
+        private final Flight flight;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        Release(Flight flight) {
+            this.flight = flight;
+        }
+
+        @Override
+        public void cancel() {
+            if (!released.compareAndSet(false, true)) return;
+            boolean last;
+            synchronized (flights) {
+                last = --flight.refs == 0 && !flight.closed;
+                if (last) {
+                    // Yeni gelenler iptal edilmiş uçuşa katılmasın
+                    flight.closed = true;
+                    flights.remove(flight.key, flight);
+                }
+            }
+            if (last) flight.leader.command.cancel();
+        }
+    }
+
+    private static final class StreamSpec<E> {
+        final int batchSize;
+        final Consumer<List<E>> onBatch;
+
+        StreamSpec(int batchSize, Consumer<List<E>> onBatch) {
+            this.batchSize = batchSize;
+            this.onBatch = onBatch;
         }
     }
 
@@ -243,6 +1305,22 @@ public class NetworkManager {
         private IResponseParser parser = new GsonResponseParser();
         private int threadPoolSize = NetworkConfig.THREAD_POOL_SIZE;
         private int queueCapacity = NetworkConfig.QUEUE_CAPACITY;
+        private int maxRequests = -1;
+        private int maxRequestsPerHost = 0;
+        private ConcurrencyLimit concurrencyLimit;
+        private DispatchEngine engine;
+        private ResponseCache responseCache;
+        private ParsedObjectCache parsedCache;
+        private boolean coalesceRequests;
+        private CircuitBreakerRegistry breakers;
+        private RetryBudget retryBudget;
+        private boolean retryBudgetPerHost;
+        private RetryBudget hedgeBudget;
+        private NetMetrics metrics;
+        private CallEventListener eventListener;
+        private long binarySpillThreshold = NetworkConfig.BINARY_SPILL_THRESHOLD;
+        private File binarySpillDir;
+        private Executor resultExecutor;
         private final List<Interceptor> interceptors = new ArrayList<>();
 
         public Builder factory(IHttpConnectionFactory f) {
@@ -265,6 +1343,152 @@ public class NetworkManager {
             return this;
         }
 
+        /**
+         * Varsayılan: ThreadPoolDispatchEngine(threadPoolSize, queueCapacity).
+         * Verilirse threadPoolSize yok sayılır; motorun kendi sınırları geçerlidir
+         * (queueCapacity yalnızca host sınırlayıcının kuyruğu için kullanılır).
+         */
+        public Builder dispatchEngine(DispatchEngine e) {
+            if (e != null) this.engine = e;
+            return this;
+        }
+
+        /**
+         * Host (scheme + authority) başına aynı anda çalışabilecek istek sayısı; 0 = sınırsız (host sınırlaması kapalı).
+         * Hem HttpUrlConnectionFactory hem OkHttpConnectionFactory için motor önünde uygulanır.
+         * Varsayılan: 0 (kapalı); önerilen değer NetworkConfig.MAX_REQUESTS_PER_HOST.
+         */
+        public Builder maxRequestsPerHost(int max) {
+            if (max >= 0) this.maxRequestsPerHost = max;
+            return this;
+        }
+
+        /**
+         * Motora aynı anda verilecek toplam istek; boşalan yer host'lar arasında sırayla dağıtılır.
+         * Varsayılan: threadPoolSize (özel motorda sınırsız).
+         */
+        public Builder maxRequests(int max) {
+            if (max > 0) this.maxRequests = max;
+            return this;
+        }
+
+        /**
+         * Sabit threadPoolSize/maxRequests yerine uyarlanabilir toplam sınır (örn. new VegasLimit(2, 4, 16)).
+         * Sınır, tamamlanan isteklerin RTT'sine göre büyür/küçülür; sınırı aşan istekler kuyrukta bekler,
+         * kuyruk (queueCapacity) doluysa reddedilir. Varsayılan motorda worker sayısı VegasLimit.maxLimit'e çekilir.
+         */
+        public Builder concurrencyLimit(ConcurrencyLimit limit) {
+            this.concurrencyLimit = limit;
+            return this;
+        }
+
+        /** GET yanıtları için HTTP önbelleği (ETag/Last-Modified ile koşullu istek, 304 -> önbellekten). */
+        public Builder responseCache(ResponseCache cache) {
+            this.responseCache = cache;
+            return this;
+        }
+
+        /**
+         * GET sonuçlarının ayrıştırılmış halini (URL + Type + doğrulayıcı) saklar; aynı gövde tekrar parse edilmez.
+         * Yalnızca ParsedObjectCache.cacheTypes ile bildirilen tipler; örnekler çağıranlar arasında paylaşılır.
+         */
+        public Builder parsedObjectCache(ParsedObjectCache cache) {
+            this.parsedCache = cache;
+            return this;
+        }
+
+        /**
+         * Aynı anda gelen özdeş GET'ler tek istekte birleştirilir (varsayılan: kapalı).
+         * Yalnızca liderin komutu koşar; kendi interceptor'ı ya da deadline'ı olan komutlar birleştirilmez.
+         * Aboneler aynı sonuç nesnesini paylaşır: üst seviye List/Set/Map her aboneye kopyalanır,
+         * elemanlar (DTO'lar) ortaktır ve salt-okunur kullanılmalıdır.
+         */
+        public Builder coalesceRequests(boolean enabled) {
+            this.coalesceRequests = enabled;
+            return this;
+        }
+
+        /**
+         * Host (veya uç nokta) başına paylaşılan devre kesiciler. Devre açıkken istekler worker almadan ve
+         * bağlantı açmadan CircuitOpenException (503) ile biter; yarı açıkta sınırlı sayıda deneme geçer.
+         */
+        public Builder circuitBreakers(CircuitBreakerRegistry registry) {
+            this.breakers = registry;
+            return this;
+        }
+
+        /**
+         * Retry bütçesi: son windowMs'de retry sayısı, başarılı isteklerin ratio katı + saniyede minPerSecond ile sınırlı.
+         * perHost true ise her host'un ayrı bütçesi olur (bir host'un kesintisi diğerlerinin retry'ını yemez).
+         * Varsayılan: bütçe yok; retry'lar yalnızca komutun RetryPolicy'si ve RETRY_LIMIT ile sınırlanır.
+         */
+        public Builder retryBudget(double ratio, double minPerSecond, boolean perHost) {
+            this.retryBudget = new RetryBudget(ratio, minPerSecond, NetworkConfig.OUTCOME_WINDOW_MS);
+            this.retryBudgetPerHost = perHost;
+            return this;
+        }
+
+        /** Global retry bütçesi: %20 + 5/sn, 10 sn pencere (NetworkConfig.RETRY_BUDGET_*). */
+        public Builder retryBudget() {
+            return retryBudget(NetworkConfig.RETRY_BUDGET_RATIO, NetworkConfig.RETRY_BUDGET_MIN_PER_SEC, false);
+        }
+
+        /** Retry'lar yalnızca komutun RetryPolicy'si ve RETRY_LIMIT ile sınırlanır (varsayılan). */
+        public Builder noRetryBudget() {
+            this.retryBudget = null;
+            return this;
+        }
+
+        /** Ölçümlerin yazılacağı yer (birden çok NetworkManager paylaşabilir). Varsayılan: null (ölçüm kapalı). */
+        public Builder metrics(NetMetrics m) {
+            this.metrics = m;
+            return this;
+        }
+
+        /**
+         * responseType = BinaryBody.class olan yanıtlar thresholdBytes'ı aşınca dir'de geçici dosyaya yazılır
+         * (Android'de ör. context.getCacheDir()); dir null ise sistemin geçici dizini.
+         */
+        public Builder binarySpill(long thresholdBytes, File dir) {
+            this.binarySpillThreshold = thresholdBytes;
+            this.binarySpillDir = dir;
+            return this;
+        }
+
+        /**
+         * Her isteğin aşama olayları: kuyruğa giriş/çıkış, deneme, DNS/connect/TLS (OkHttp), yanıt başlıkları,
+         * gövde, parse ve teslim. Olaylar System.nanoTime() ve deneme numarası taşır.
+         */
+        public Builder eventListener(CallEventListener listener) {
+            this.eventListener = listener;
+            return this;
+        }
+
+        /**
+         * İdempotent GET'ler uç noktanın p95 gecikmesi kadar sürede bitmezse ikinci kez gönderilir; ilk başarılı
+         * yanıt kazanır, diğerinin bağlantısı kesilir. Hedge'ler başarılı isteklerin en fazla maxExtraLoadRatio
+         * katı olabilir (ör. 0.05 = en fazla %5 ek yük). Uç nokta HEDGE_MIN_SAMPLES örnek biriktirene kadar hedge yok.
+         */
+        public Builder hedgeIdempotentGets(double maxExtraLoadRatio) {
+            this.hedgeBudget = new RetryBudget(maxExtraLoadRatio, 0, NetworkConfig.OUTCOME_WINDOW_MS);
+            return this;
+        }
+
+        /**
+         * Future'ların tamamlanacağı (ve stream batch'lerinin verileceği) executor.
+         * Varsayılan: MainThreadBatchingExecutor (main thread, ardışık sonuçlar tek mesajda).
+         */
+        public Builder resultExecutor(Executor e) {
+            if (e != null) this.resultExecutor = e;
+            return this;
+        }
+
+        /** Sonuçlar işi bitiren worker/callback thread'inde tamamlanır; UI'a dokunmayan çağıranlar, JVM ve testler için. */
+        public Builder completeOnWorker() {
+            this.resultExecutor = Runnable::run;
+            return this;
+        }
+
         public Builder addInterceptor(Interceptor i) {
             if (i != null) this.interceptors.add(i);
             return this;
@@ -276,8 +1500,20 @@ public class NetworkManager {
         }
 
         public NetworkManager build() {
-            ResponseHandler rh = new ResponseHandler(parser);
-            return new NetworkManager(factory, rh, threadPoolSize, queueCapacity, interceptors);
+            ResponseHandler rh = new ResponseHandler(parser, binarySpillThreshold, binarySpillDir);
+            int workers = (concurrencyLimit instanceof VegasLimit)
+                    ? Math.max(threadPoolSize, ((VegasLimit) concurrencyLimit).maxLimit()) : threadPoolSize;
+            DispatchEngine de = (engine != null) ? engine : new ThreadPoolDispatchEngine(workers, queueCapacity);
+            if (maxRequestsPerHost > 0 || concurrencyLimit != null) {
+                ConcurrencyLimit total = (concurrencyLimit != null) ? concurrencyLimit : ConcurrencyLimit.fixed(
+                        maxRequests > 0 ? maxRequests : (engine != null ? Integer.MAX_VALUE : threadPoolSize));
+                int perHost = maxRequestsPerHost > 0 ? maxRequestsPerHost : Integer.MAX_VALUE;
+                de = new HostLimitingDispatchEngine(de, total, perHost, queueCapacity);
+            }
+            IHttpConnectionFactory f = (responseCache != null) ? new CachingConnectionFactory(factory, responseCache) : factory;
+            Executor re = (resultExecutor != null) ? resultExecutor : new MainThreadBatchingExecutor();
+            return new NetworkManager(f, rh, de, parsedCache, coalesceRequests, breakers,
+                    retryBudget, retryBudgetPerHost, hedgeBudget, metrics, eventListener, re, interceptors);
         }
     }
 }
@@ -1,20 +1,56 @@
 package lib.net;
 
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
+import lib.net.connection.IHttpConnection;
+import lib.net.metrics.NetMetrics;
 import lib.net.parser.IResponseParser;
+import lib.net.strategy.ResponseDecoder;
+import lib.net.util.BufferPool;
+import lib.net.util.NetworkConfig;
 
+/**
+ * Ham yanıtı hedef tipe çevirir; çözüm yolu tipe göre seçilir:
+ * - String: gövde UTF-8 olarak okunur, olduğu gibi döner
+ * - byte[] / ByteBuffer / BinaryBody: gövde charset çözümü yapılmadan baytlar olarak alınır (yalnızca decoder() ile)
+ * - diğer tipler: parser (akıştan)
+ */
 public class ResponseHandler {
 
     private final IResponseParser parser;
+    private final long spillThreshold;
+    private final File spillDir;
 
     public ResponseHandler(IResponseParser parser) {
+        this(parser, NetworkConfig.BINARY_SPILL_THRESHOLD, null);
+    }
+
+    /** BinaryBody yanıtları spillThreshold baytı aşınca spillDir'de (null: geçici dizin) dosyaya yazılır. */
+    public ResponseHandler(IResponseParser parser, long spillThreshold, File spillDir) {
         this.parser = parser;
+        this.spillThreshold = Math.max(0, spillThreshold);
+        this.spillDir = spillDir;
+    }
+
+    /** Gövdesi ayrıştırılmadan bayt olarak teslim edilen tipler. */
+    public boolean isBinary(Type responseType) {
+        return responseType == byte[].class || responseType == ByteBuffer.class || responseType == BinaryBody.class;
     }
 
-    @SuppressWarnings("unchecked")
     public <T> NetResult<T> handle(NetResult<String> rawResult, Type responseType) {
+        return handle(rawResult, responseType, null);
+    }
+
+    /** metrics verilirse parse süresi Stage.PARSE olarak yazılır. */
+    @SuppressWarnings("unchecked")
+    public <T> NetResult<T> handle(NetResult<String> rawResult, Type responseType, NetMetrics.Recorder metrics) {
         if (rawResult instanceof NetResult.Success) {
             String jsonContent = ((NetResult.Success<String>) rawResult).Data();
             try {
@@ -24,7 +60,15 @@ public class ResponseHandler {
                 if (jsonContent == null || jsonContent.isEmpty()) {
                     return new NetResult.Success<>(null);   // 204 vb.
                 }
+                if (isBinary(responseType)) {
+                    // UTF-8'e çevrilmiş gövde asıl baytları geri veremez (geçersiz diziler U+FFFD olmuştur)
+                    return new NetResult.Error<>(new IllegalArgumentException(
+                            "İkili tipler String'den üretilemez; decoder(responseType) ile okunmalı: " + responseType),
+                            -1, "Binary type requires decoder()");
+                }
+                long t0 = System.nanoTime();
                 T parsed = parser.parse(jsonContent, responseType);
+                if (metrics != null) metrics.record(NetMetrics.Stage.PARSE, System.nanoTime() - t0);
                 return new NetResult.Success<>(parsed);
             } catch (Exception e) { // <-- JsonSyntaxException dışındaki hataları da kapsa
                 return new NetResult.Error<>(e, -1, "Parse error: " + e.getMessage());
@@ -34,4 +78,72 @@ public class ResponseHandler {
         }
         return new NetResult.Error<>(new Exception("Unknown raw result type"), -1, "Unknown error");
     }
+
+    /**
+     * String dışındaki tipler akıştan (String materyalize edilmeden) ayrıştırılabilir; okuyucu readSuccess'i
+     * özelleştiriyorsa (readerStreams=false) tipli sonuç da o yoldan geçmelidir. İkili tipler her zaman akıştan
+     * okunur (String'den üretilemezler).
+     */
+    public boolean canStream(Type responseType, boolean readerStreams) {
+        if (isBinary(responseType)) return true;
+        return readerStreams && responseType != String.class;
+    }
+
+    /**
+     * Bağlantı akışını doğrudan parser'a veren decoder (ACommand.execute(supplier, decoder) ile kullanılır).
+     */
+    public <T> ResponseDecoder<T> decoder(final Type responseType) {
+        if (isBinary(responseType)) return binaryDecoder(responseType);
+        return body -> parser.parse(body, responseType);
+    }
+
+    /**
+     * İkili gövde: Content-Length biliniyorsa dizi tam boyda ayrılıp doğrudan içine okunur;
+     * UTF-8 çözümü ve char[] kopyası yoktur.
+     */
+    private <T> ResponseDecoder<T> binaryDecoder(final Type responseType) {
+        return new ResponseDecoder<T>() {
+            @Override
+            public T decode(InputStream body) throws IOException {
+                return read(body, -1);
+            }
+
+            @Override
+            public T decode(IHttpConnection conn, InputStream body) throws IOException {
+                return read(body, BufferPool.contentLength(conn.getHeaderField("Content-Length")));
+            }
+
+            @SuppressWarnings("unchecked")
+            private T read(InputStream body, long sizeHint) throws IOException {
+                if (responseType == BinaryBody.class) {
+                    return (T) BinaryBody.read(body, sizeHint, spillThreshold, spillDir);
+                }
+                return (T) binary(BufferPool.readAll(body, sizeHint, -1), responseType);
+            }
+        };
+    }
+
+    private static Object binary(byte[] b, Type responseType) {
+        return responseType == ByteBuffer.class ? ByteBuffer.wrap(b) : b;
+    }
+
+    /**
+     * Üst seviye JSON dizisini eleman eleman onElement'e veren decoder; sonuç teslim edilen eleman sayısıdır.
+     * İlk elemandan sonra oluşan I/O hataları retry edilmez (elemanlar tekrar teslim edilmesin).
+     */
+    public <T> ResponseDecoder<Integer> arrayDecoder(final Type elementType, final Consumer<T> onElement) {
+        return body -> {
+            final int[] count = {0};
+            try {
+                parser.<T>parseArray(body, elementType, item -> {
+                    onElement.accept(item);
+                    count[0]++;
+                });
+            } catch (IOException e) {
+                if (count[0] > 0) throw new UncheckedIOException(e);
+                throw e;
+            }
+            return count[0];
+        };
+    }
 }
@@ -0,0 +1,183 @@
+package lib.net.breaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kilitsiz devre kesici. Tüm durum atomiklerde tutulur; geçişler CAS ile yapılır.
+ * Durum ile yarı açık deneme izinleri/başarıları tek bir AtomicLong'da birlikte değişir:
+ * OPEN -> HALF_OPEN geçişini kazanan izinleri kurar, yarışan thread'ler izinleri sıfırlayamaz.
+ * - CLOSED   : son windowSize sonucun (kayan pencere) hata oranı eşiği aşarsa OPEN'a geçer.
+ * - OPEN     : openMs boyunca tüm istekler reddedilir.
+ * - HALF_OPEN: yalnızca halfOpenProbes kadar deneme isteğine izin verilir; hepsi başarılıysa CLOSED,
+ *              biri başarısızsa yeniden OPEN.
+ * Kullanım: tryAcquire() true dönerse sonuç onSuccess/onFailure/onIgnored'dan biriyle bildirilmelidir.
+ */
+public final class CircuitBreaker {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private static final int CLOSED = 0, OPEN = 1, HALF_OPEN = 2;
+    private static final int EMPTY = -1;
+    // ctl = durum << 40 | izin << 20 | başarı
+    private static final int FIELD_BITS = 20;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+
+    private final int windowSize;
+    private final int minCalls;
+    private final float failureRateThreshold;
+    private final long openMs;
+    private final int halfOpenProbes;
+
+    private final AtomicLong ctl = new AtomicLong(ctl(CLOSED, 0, 0));
+    private final AtomicLong openedAtMs = new AtomicLong();
+
+    // Kayan pencere: halka dizisinde 1 = hata, 0 = başarı, -1 = boş; failures bunların toplamı
+    private final AtomicIntegerArray window;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    /**
+     * @param failureRateThreshold 0..1; pencerede bu oranda (ve en az minCalls sonuç varken) hata olursa açılır
+     * @param windowSize           kayan penceredeki son sonuç sayısı
+     * @param minCalls             karar için gereken en az sonuç sayısı
+     * @param openMs               açık kalma süresi
+     * @param halfOpenProbes       yarı açıkta izin verilen deneme sayısı
+     */
+    public CircuitBreaker(float failureRateThreshold, int windowSize, int minCalls, long openMs, int halfOpenProbes) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.windowSize = Math.max(1, windowSize);
+        this.minCalls = Math.max(1, Math.min(minCalls, this.windowSize));
+        this.openMs = Math.max(0, openMs);
+        this.halfOpenProbes = (int) Math.min(FIELD_MASK, Math.max(1, halfOpenProbes));
+        this.window = new AtomicIntegerArray(this.windowSize);
+        for (int i = 0; i < this.windowSize; i++) window.set(i, EMPTY);
+    }
+
+    /** İstek çalışabilir mi? OPEN'da süre dolduysa HALF_OPEN'a geçip bir deneme izni verir. */
+    public boolean tryAcquire() {
+        while (true) {
+            long c = ctl.get();
+            int s = stateOf(c);
+            if (s == CLOSED) return true;
+            if (s == OPEN) {
+                if (System.currentTimeMillis() - openedAtMs.get() < openMs) return false;
+                // Geçişi kazanan ilk deneme iznini kendisi alır
+                if (ctl.compareAndSet(c, ctl(HALF_OPEN, halfOpenProbes - 1, 0))) return true;
+                continue;
+            }
+            int p = permitsOf(c);
+            if (p <= 0) return false;
+            if (ctl.compareAndSet(c, c - (1L << FIELD_BITS))) return true;
+        }
+    }
+
+    public void onSuccess() {
+        while (true) {
+            long c = ctl.get();
+            int s = stateOf(c);
+            if (s == CLOSED) {
+                record(0);
+                return;
+            }
+            if (s != HALF_OPEN) return;
+            int ok = successesOf(c) + 1;
+            if (ok >= halfOpenProbes) {
+                if (ctl.compareAndSet(c, ctl(CLOSED, 0, 0))) {
+                    resetWindow();
+                    return;
+                }
+            } else if (ctl.compareAndSet(c, c + 1)) {
+                return;
+            }
+        }
+    }
+
+    public void onFailure() {
+        long c = ctl.get();
+        int s = stateOf(c);
+        if (s == HALF_OPEN) {
+            trip(HALF_OPEN);
+            return;
+        }
+        if (s != CLOSED) return;
+        record(1);
+        int n = recorded.get();
+        if (n >= minCalls && failures.get() >= failureRateThreshold * Math.min(n, windowSize)) trip(CLOSED);
+    }
+
+    /** İzin alındı ama sonuç devre hakkında bilgi vermiyor (iptal, süre aşımı): deneme hakkı iade edilir. */
+    public void onIgnored() {
+        while (true) {
+            long c = ctl.get();
+            if (stateOf(c) != HALF_OPEN || permitsOf(c) >= halfOpenProbes) return;
+            if (ctl.compareAndSet(c, c + (1L << FIELD_BITS))) return;
+        }
+    }
+
+    public State state() {
+        int s = stateOf(ctl.get());
+        // Süresi dolmuş OPEN, bir sonraki istekte HALF_OPEN olacak
+        if (s == OPEN && System.currentTimeMillis() - openedAtMs.get() >= openMs) return State.HALF_OPEN;
+        return s == CLOSED ? State.CLOSED : s == OPEN ? State.OPEN : State.HALF_OPEN;
+    }
+
+    /** Penceredeki hata oranı (0..1); sonuç yoksa 0. */
+    public float failureRate() {
+        int n = Math.min(recorded.get(), windowSize);
+        return n == 0 ? 0f : (float) failures.get() / n;
+    }
+
+    /* ===== iç işler ===== */
+
+    /** from durumundaysa OPEN'a geçer; açılma zamanı durumdan önce yazılır (OPEN'ı gören yeni zamanı görür). */
+    private void trip(int from) {
+        openedAtMs.set(System.currentTimeMillis());
+        while (true) {
+            long c = ctl.get();
+            if (stateOf(c) != from) return;
+            if (ctl.compareAndSet(c, ctl(OPEN, 0, 0))) return;
+        }
+    }
+
+    private static long ctl(int state, int permits, int successes) {
+        return ((long) state << (2 * FIELD_BITS)) | ((long) permits << FIELD_BITS) | successes;
+    }
+
+    private static int stateOf(long c) {
+        return (int) (c >>> (2 * FIELD_BITS));
+    }
+
+    private static int permitsOf(long c) {
+        return (int) ((c >>> FIELD_BITS) & FIELD_MASK);
+    }
+
+    private static int successesOf(long c) {
+        return (int) (c & FIELD_MASK);
+    }
+
+    private void record(int outcome) {
+        int slot = (int) (cursor.getAndIncrement() % windowSize);
+        int old = window.getAndSet(slot, outcome);
+        if (old == EMPTY) recorded.incrementAndGet();
+        int delta = outcome - (old == EMPTY ? 0 : old);
+        if (delta != 0) failures.addAndGet(delta);
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < windowSize; i++) {
+            int old = window.getAndSet(i, EMPTY);
+            if (old != EMPTY) {
+                recorded.decrementAndGet();
+                if (old == 1) failures.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{" + state() + ", failureRate=" + failureRate() + "}";
+    }
+}
@@ -0,0 +1,76 @@
+package lib.net.breaker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lib.net.util.UrlBuilder;
+
+/**
+ * Host (veya uç nokta) başına paylaşılan devre kesiciler. Aynı hedefe giden tüm istekler tek bir
+ * CircuitBreaker'ı görür; böylece bir isteğin hataları diğerlerinin de kısa devre yapmasını sağlar.
+ * NetworkManager.Builder.circuitBreakers(...) ile verildiğinde açık devredeki istekler kuyruğa hiç girmez.
+ */
+public final class CircuitBreakerRegistry {
+
+    public enum Scope {
+        /** scheme + authority */
+        HOST,
+        /** scheme + authority + path (sorgu hariç) */
+        ENDPOINT
+    }
+
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Scope scope;
+    private final float failureRateThreshold;
+    private final int windowSize;
+    private final int minCalls;
+    private final long openMs;
+    private final int halfOpenProbes;
+
+    /** Host başına: son 20 sonucun %50'si hatalıysa (en az 10 sonuç) 10 sn açık, 2 deneme ile kapanır. */
+    public CircuitBreakerRegistry() {
+        this(Scope.HOST, 0.5f, 20, 10, 10_000, 2);
+    }
+
+    public CircuitBreakerRegistry(Scope scope, float failureRateThreshold, int windowSize, int minCalls,
+                                  long openMs, int halfOpenProbes) {
+        this.scope = scope != null ? scope : Scope.HOST;
+        this.failureRateThreshold = failureRateThreshold;
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.openMs = openMs;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /** URL'nin ait olduğu devre kesici (yoksa oluşturulur). */
+    public CircuitBreaker forUrl(String url) {
+        return forKey(keyOf(url));
+    }
+
+    public CircuitBreaker forKey(String key) {
+        CircuitBreaker b = breakers.get(key);
+        if (b != null) return b;
+        CircuitBreaker created = new CircuitBreaker(failureRateThreshold, windowSize, minCalls, openMs, halfOpenProbes);
+        b = breakers.putIfAbsent(key, created);
+        return b != null ? b : created;
+    }
+
+    public String keyOf(String url) {
+        if (url == null) return "";
+        if (scope == Scope.HOST) return UrlBuilder.origin(url);
+        int end = url.length();
+        int q = url.indexOf('?');
+        if (q >= 0) end = q;
+        int h = url.indexOf('#');
+        if (h >= 0 && h < end) end = h;
+        return url.substring(0, end);
+    }
+
+    /** Anahtar -> durum anlık görüntüsü (gözlem için). */
+    public Map<String, CircuitBreaker.State> states() {
+        Map<String, CircuitBreaker.State> out = new LinkedHashMap<>();
+        for (Map.Entry<String, CircuitBreaker> e : breakers.entrySet()) out.put(e.getKey(), e.getValue().state());
+        return out;
+    }
+}
@@ -0,0 +1,75 @@
+package lib.net.breaker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lib.net.metrics.RollingWindow;
+
+/**
+ * Retry bütçesi (retry fırtınasını önler): son windowMs içindeki retry sayısı,
+ * başarılı istek sayısının ratio katı + minPerSecond * pencere saniyesi ile sınırlıdır.
+ * Kesinti sırasında başarı olmadığı için bütçe hızla tükenir ve trafik 1 + RETRY_LIMIT katına çıkmaz;
+ * minPerSecond düşük trafikte de birkaç retry'a izin verir.
+ * ACommand her retry'dan önce tryAcquire() sorar; red "bütçe tükendi" olarak sayılır.
+ * Sayaçlar kilitsizdir; eşzamanlı retry'lar bütçeyi birkaç adet aşabilir.
+ */
+public final class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double minRetries;
+    private final RollingWindow successes;
+    private final RollingWindow retries;
+    private final AtomicLong exhausted = new AtomicLong();
+
+    /**
+     * @param ratio        başarılı isteklere oranla izin verilen retry (0.2 = %20)
+     * @param minPerSecond başarıdan bağımsız izin verilen retry hızı
+     * @param windowMs     "yakın geçmiş" penceresi
+     */
+    public RetryBudget(double ratio, double minPerSecond, long windowMs) {
+        this.ratio = Math.max(0, ratio);
+        this.minPerSecond = Math.max(0, minPerSecond);
+        this.successes = new RollingWindow(windowMs, 10);
+        this.retries = new RollingWindow(windowMs, 10);
+        this.minRetries = this.minPerSecond * successes.windowMs() / 1000.0;
+    }
+
+    /** Aynı ayarlarla boş bir bütçe (host başına bütçe için). */
+    public RetryBudget copy() {
+        return new RetryBudget(ratio, minPerSecond, successes.windowMs());
+    }
+
+    /** Biten isteğin sonucu; yalnızca başarılar bütçe kazandırır. */
+    public void onRequestFinished(boolean success) {
+        if (success) successes.recordSuccess();
+    }
+
+    /** Retry yapılabilir mi? true ise retry harcanmış sayılır. */
+    public boolean tryAcquire() {
+        if (retries.requestCount() < successes.requestCount() * ratio + minRetries) {
+            retries.recordSuccess();
+            return true;
+        }
+        exhausted.incrementAndGet();
+        return false;
+    }
+
+    /** tryAcquire ile alınıp kullanılmayan izni iade eder. */
+    public void refund() {
+        retries.undoSuccess();
+    }
+
+    /** Bütçe tükendiği için yapılmayan retry sayısı. */
+    public long exhaustedCount() {
+        return exhausted.get();
+    }
+
+    /** Penceredeki retry sayısı. */
+    public long retryCount() {
+        return retries.requestCount();
+    }
+
+    public long successCount() {
+        return successes.requestCount();
+    }
+}
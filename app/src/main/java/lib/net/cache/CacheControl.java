@@ -0,0 +1,74 @@
+package lib.net.cache;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Cache-Control / Expires yorumlama yardımcıları (özel, tek kullanıcılı önbellek kuralları).
+ */
+final class CacheControl {
+
+    private CacheControl() {
+    }
+
+    static boolean has(String cacheControl, String directive) {
+        if (cacheControl == null) return false;
+        for (String part : cacheControl.split(",")) {
+            String d = part.trim().toLowerCase(Locale.ROOT);
+            int eq = d.indexOf('=');
+            if ((eq < 0 ? d : d.substring(0, eq).trim()).equals(directive)) return true;
+        }
+        return false;
+    }
+
+    /** "max-age=N" değeri (saniye); yoksa/bozuksa -1. */
+    static long maxAgeSeconds(String cacheControl) {
+        if (cacheControl == null) return -1;
+        for (String part : cacheControl.split(",")) {
+            String d = part.trim().toLowerCase(Locale.ROOT);
+            if (d.startsWith("max-age=")) {
+                try {
+                    return Long.parseLong(d.substring(8).trim().replace("\"", ""));
+                } catch (NumberFormatException ignore) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Yanıtın ağa sormadan kullanılabileceği süre: no-cache -> 0, max-age öncelikli,
+     * yoksa Expires - Date. Hiçbiri yoksa 0 (her kullanımda koşullu istek).
+     */
+    static long freshnessLifetimeMs(CacheEntry e) {
+        String cc = e.header("Cache-Control");
+        if (has(cc, "no-cache")) return 0;
+        long maxAge = maxAgeSeconds(cc);
+        if (maxAge >= 0) return maxAge * 1000L;
+        long expires = parseDate(e.header("Expires"));
+        if (expires < 0) return 0;
+        long date = parseDate(e.header("Date"));
+        return Math.max(0, expires - (date >= 0 ? date : e.storedAtMs()));
+    }
+
+    /** Yanıt saklanabilir mi: no-store değil, Vary:* değil ve ya tazelik ömrü ya da doğrulayıcısı var. */
+    static boolean isStorable(CacheEntry e, String requestCacheControl) {
+        if (has(requestCacheControl, "no-store")) return false;
+        if (has(e.header("Cache-Control"), "no-store")) return false;
+        String vary = e.header("Vary");
+        if (vary != null && vary.trim().equals("*")) return false;
+        return freshnessLifetimeMs(e) > 0 || e.etag() != null || e.lastModified() != null;
+    }
+
+    static long parseDate(String httpDate) {
+        if (httpDate == null) return -1;
+        try {
+            return ZonedDateTime.parse(httpDate.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+        } catch (Exception ignore) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package lib.net.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Önbellekteki tek bir GET yanıtı (değişmez).
+ * - body: ağdan gelen ham gövde (Content-Encoding gzip ise sıkıştırılmış haliyle)
+ * - headers: yeniden oynatma ve tazelik hesabı için saklanan başlıklar (anahtarlar küçük harf)
+ * - varyValues: Vary'de adı geçen istek başlıklarının kayıt anındaki değerleri
+ */
+public final class CacheEntry {
+
+    /** Saklanan yanıt başlıkları. */
+    static final String[] STORED_HEADERS = {
+            "Content-Type", "Content-Encoding", "ETag", "Last-Modified",
+            "Cache-Control", "Expires", "Date", "Vary"
+    };
+
+    private final String url;
+    private final byte[] body;
+    private final Map<String, String> headers;
+    private final Map<String, String> varyValues;
+    private final long storedAtMs;
+
+    public CacheEntry(String url, byte[] body, Map<String, String> headers,
+                      Map<String, String> varyValues, long storedAtMs) {
+        this.url = url;
+        this.body = body;
+        this.headers = Collections.unmodifiableMap(lowerKeys(headers));
+        this.varyValues = Collections.unmodifiableMap(lowerKeys(varyValues));
+        this.storedAtMs = storedAtMs;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    /** Ham gövde; çağıran değiştirmemelidir. */
+    public byte[] body() {
+        return body;
+    }
+
+    public Map<String, String> headers() {
+        return headers;
+    }
+
+    public Map<String, String> varyValues() {
+        return varyValues;
+    }
+
+    public long storedAtMs() {
+        return storedAtMs;
+    }
+
+    public String header(String name) {
+        if (name == null) return null;
+        if ("content-length".equalsIgnoreCase(name)) return String.valueOf(body.length);
+        return headers.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public String etag() {
+        return header("ETag");
+    }
+
+    public String lastModified() {
+        return header("Last-Modified");
+    }
+
+    /** Bellek bütçesi için yaklaşık ağırlık (bayt). */
+    public long weight() {
+        long w = body.length + 64L + url.length() * 2L;
+        for (Map.Entry<String, String> e : headers.entrySet()) {
+            w += (e.getKey().length() + e.getValue().length()) * 2L;
+        }
+        return w;
+    }
+
+    /** Kayıttan bu yana geçen süre tazelik ömrünün içindeyse true (koşullu istek gerekmez). */
+    public boolean isFresh(long nowMs) {
+        long lifetime = CacheControl.freshnessLifetimeMs(this);
+        return lifetime > 0 && nowMs - storedAtMs < lifetime;
+    }
+
+    /** Kaydı oluşturan isteğin Vary başlıkları şimdiki istekle aynıysa true. */
+    public boolean matchesVary(Map<String, String> requestHeaders) {
+        for (Map.Entry<String, String> e : varyValues.entrySet()) {
+            String now = requestHeaders.get(e.getKey());
+            if (!e.getValue().equals(now == null ? "" : now)) return false;
+        }
+        return true;
+    }
+
+    /** 304 sonrası: gövde aynı kalır, 304'te gelen başlıklar eskilerinin yerine geçer, yaş sıfırlanır. */
+    public CacheEntry revalidated(Map<String, String> notModifiedHeaders, long nowMs) {
+        Map<String, String> merged = new HashMap<>(headers);
+        merged.putAll(lowerKeys(notModifiedHeaders));
+        return new CacheEntry(url, body, merged, varyValues, nowMs);
+    }
+
+    private static Map<String, String> lowerKeys(Map<String, String> src) {
+        Map<String, String> out = new HashMap<>();
+        if (src == null) return out;
+        for (Map.Entry<String, String> e : src.entrySet()) {
+            if (e.getKey() != null && e.getValue() != null) {
+                out.put(e.getKey().toLowerCase(Locale.ROOT), e.getValue());
+            }
+        }
+        return out;
+    }
+}
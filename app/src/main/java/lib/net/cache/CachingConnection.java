@@ -0,0 +1,345 @@
+package lib.net.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lib.net.connection.IHttpConnection;
+import lib.net.connection.StreamingBody;
+import lib.net.util.BufferPool;
+import lib.net.event.CallEvents;
+
+/**
+ * Tek bir istek için önbellek kararlarını veren bağlantı sarmalayıcısı (bkz. CachingConnectionFactory).
+ * Önbellekten verilen yanıtlar 200 olarak görünür; gövde ve başlıklar kayıttan okunur.
+ */
+final class CachingConnection implements IHttpConnection {
+
+    private enum Mode {PASS, HIT, REVALIDATED, RECORD}
+
+    private final String url;
+    private final ResponseCache cache;
+    private final IHttpConnection delegate;
+    private final CachingConnectionFactory stats;
+    private final Map<String, String> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private String method = "GET";
+
+    private boolean prepared;
+    private Mode mode = Mode.PASS;
+    private int code = -1;
+    private CacheEntry entry;
+    private Map<String, String> responseHeaders;
+    private long responseAtMs;
+
+    CachingConnection(String url, ResponseCache cache, IHttpConnection delegate, CachingConnectionFactory stats) {
+        this.url = url;
+        this.cache = cache;
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    /* ===== Önbellek kararı ===== */
+
+    private boolean cacheableRequest() {
+        // Çağıran kendi koşullu/kısmi isteğini kurduysa karışmayız
+        return "GET".equals(method)
+                && !CacheControl.has(requestHeaders.get("Cache-Control"), "no-store")
+                && !requestHeaders.containsKey("If-None-Match")
+                && !requestHeaders.containsKey("If-Modified-Since")
+                && !requestHeaders.containsKey("Range");
+    }
+
+    /** İstek gönderilmeden hemen önce: taze kayıt varsa HIT, bayat kayıt varsa koşullu başlıklar. */
+    private void prepare() {
+        if (prepared) return;
+        prepared = true;
+        if (!cacheableRequest()) return;
+        CacheEntry e = cache.get(url);
+        if (e == null || !e.matchesVary(requestHeaders)) return;
+        entry = e;
+        if (e.isFresh(System.currentTimeMillis())
+                && !CacheControl.has(requestHeaders.get("Cache-Control"), "no-cache")) {
+            mode = Mode.HIT;
+            code = 200;
+            stats.hits.incrementAndGet();
+            return;
+        }
+        if (e.etag() != null) delegate.setRequestProperty("If-None-Match", e.etag());
+        if (e.lastModified() != null) delegate.setRequestProperty("If-Modified-Since", e.lastModified());
+    }
+
+    /** Ağ yanıtı geldikten sonra: 304 -> önbellekten 200, 200 -> kayda al, yazma istekleri -> kaydı sil. */
+    private void resolve() throws IOException {
+        if (code >= 0) return;
+        int c = delegate.getResponseCode();
+        responseAtMs = System.currentTimeMillis();
+        if (!"GET".equals(method)) {
+            if (c < 400 && isUnsafe(method)) cache.remove(url);
+            code = c;
+            return;
+        }
+        if (c == 304 && entry != null) {
+            entry = entry.revalidated(captureHeaders(), responseAtMs);
+            cache.put(entry);
+            mode = Mode.REVALIDATED;
+            code = 200;
+            stats.revalidations.incrementAndGet();
+            return;
+        }
+        code = c;
+        if (c == 200 && cacheableRequest()) {
+            responseHeaders = captureHeaders();
+            CacheEntry probe = new CacheEntry(url, new byte[0], responseHeaders, varyValues(), responseAtMs);
+            if (CacheControl.isStorable(probe, requestHeaders.get("Cache-Control"))) {
+                mode = Mode.RECORD;
+                stats.misses.incrementAndGet();
+            }
+        }
+    }
+
+    private Map<String, String> captureHeaders() {
+        Map<String, String> h = new HashMap<>();
+        for (String name : CacheEntry.STORED_HEADERS) {
+            String v = delegate.getHeaderField(name);
+            if (v != null) h.put(name, v);
+        }
+        return h;
+    }
+
+    private Map<String, String> varyValues() {
+        Map<String, String> v = new HashMap<>();
+        String vary = responseHeaders != null ? responseHeaders.get("Vary") : null;
+        if (vary == null) return v;
+        for (String name : vary.split(",")) {
+            String n = name.trim();
+            if (n.isEmpty()) continue;
+            String value = requestHeaders.get(n);
+            v.put(n.toLowerCase(Locale.ROOT), value == null ? "" : value);
+        }
+        return v;
+    }
+
+    private static boolean isUnsafe(String m) {
+        return "POST".equals(m) || "PUT".equals(m) || "PATCH".equals(m) || "DELETE".equals(m);
+    }
+
+    private void store(byte[] body) {
+        cache.put(new CacheEntry(url, body, responseHeaders, varyValues(), responseAtMs));
+    }
+
+    /* ===== IHttpConnection ===== */
+
+    @Override
+    public void setConnectTimeout(int timeout) {
+        delegate.setConnectTimeout(timeout);
+    }
+
+    @Override
+    public void setReadTimeout(int timeout) {
+        delegate.setReadTimeout(timeout);
+    }
+
+    @Override
+    public void setRequestMethod(String method) throws IOException {
+        this.method = method == null ? "GET" : method.toUpperCase(Locale.ROOT);
+        delegate.setRequestMethod(method);
+    }
+
+    @Override
+    public void setRequestProperty(String key, String value) {
+        if (key != null && value != null) requestHeaders.put(key, value);
+        delegate.setRequestProperty(key, value);
+    }
+
+    @Override
+    public void setDoOutput(boolean doOutput) {
+        delegate.setDoOutput(doOutput);
+    }
+
+    @Override
+    public void setDoInput(boolean doInput) {
+        delegate.setDoInput(doInput);
+    }
+
+    @Override
+    public void setInstanceFollowRedirects(boolean followRedirects) {
+        delegate.setInstanceFollowRedirects(followRedirects);
+    }
+
+    @Override
+    public void setAllowUserInteraction(boolean allowInteraction) {
+        delegate.setAllowUserInteraction(allowInteraction);
+    }
+
+    @Override
+    public void setUseCaches(boolean useCaches) {
+        delegate.setUseCaches(useCaches);
+    }
+
+    @Override
+    public int getResponseCode() throws IOException {
+        prepare();
+        resolve();
+        return code;
+    }
+
+    @Override
+    public void setCallEvents(CallEvents events) {
+        delegate.setCallEvents(events);
+    }
+
+    @Override
+    public void sendAsync(final ResponseCallback callback) {
+        prepare();
+        if (mode == Mode.HIT) {
+            callback.onResponse();
+            return;
+        }
+        delegate.sendAsync(new ResponseCallback() {
+            @Override
+            public void onResponse() {
+                try {
+                    resolve();
+                } catch (IOException e) {
+                    callback.onFailure(e);
+                    return;
+                }
+                callback.onResponse();
+            }
+
+            @Override
+            public void onFailure(IOException e) {
+                callback.onFailure(e);
+            }
+        });
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        getResponseCode();
+        switch (mode) {
+            case HIT:
+            case REVALIDATED:
+                return new ByteArrayInputStream(entry.body());
+            case RECORD:
+                return new RecordingInputStream(delegate.getInputStream(), cache.maxEntryBytes(),
+                        BufferPool.contentLength(delegate.getHeaderField("Content-Length")));
+            default:
+                return delegate.getInputStream();
+        }
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        return delegate.getErrorStream();
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return delegate.getOutputStream();
+    }
+
+    @Override
+    public void streamingBody(long contentLength, StreamingBody body) throws IOException {
+        delegate.streamingBody(contentLength, body);
+    }
+
+    @Override
+    public String getHeaderField(String key) {
+        if (mode == Mode.HIT || mode == Mode.REVALIDATED) return entry.header(key);
+        return delegate.getHeaderField(key);
+    }
+
+    @Override
+    public void disconnect() {
+        delegate.disconnect();
+    }
+
+    /**
+     * Gövde okunurken kopyasını tutar; akış sonuna (ya da Content-Length kadar bayta) ulaşılınca kaydeder.
+     * Okuyan taraf erken kapatırsa (iptal, parse hatası, yarıda kesilen akış) kalan kısım okunmaz, kayıt düşer.
+     * Limit aşılırsa veya okuma hatası olursa kayıt yapılmaz.
+     */
+    private final class RecordingInputStream extends FilterInputStream {
+        private final long limit;
+        private final long expected;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        RecordingInputStream(InputStream in, long limit, long expected) {
+            super(in);
+            this.limit = limit;
+            this.expected = expected;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b;
+            try {
+                b = super.read();
+            } catch (IOException e) {
+                copy = null;
+                throw e;
+            }
+            if (b < 0) commit();
+            else if (fits(1)) copy.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n;
+            try {
+                n = super.read(b, off, len);
+            } catch (IOException e) {
+                copy = null;
+                throw e;
+            }
+            if (n < 0) commit();
+            else if (fits(n)) copy.write(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Atlanan baytlar kayda giremez
+            copy = null;
+            return super.skip(n);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Bildirilen boyun tamamı okunduysa EOF görülmese de gövde eksiksizdir
+            if (copy != null && expected >= 0 && copy.size() == expected) commit();
+            copy = null;
+            super.close();
+        }
+
+        private boolean fits(int n) {
+            if (copy == null) return false;
+            if (copy.size() + (long) n > limit) {
+                copy = null;
+                return false;
+            }
+            return true;
+        }
+
+        private void commit() {
+            if (copy == null) return;
+            byte[] body = copy.toByteArray();
+            copy = null;
+            store(body);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
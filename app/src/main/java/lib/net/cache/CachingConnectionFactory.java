@@ -0,0 +1,58 @@
+package lib.net.cache;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lib.net.connection.IHttpConnection;
+import lib.net.connection.IHttpConnectionFactory;
+
+/**
+ * Herhangi bir bağlantı fabrikasına HTTP önbelleği ekler (dekoratör).
+ * - Taze kayıt: ağa hiç çıkılmaz, yanıt önbellekten oynatılır.
+ * - Bayat kayıt: If-None-Match / If-Modified-Since ile koşullu istek; 304 -> önbellekteki gövdeyle 200.
+ * - 200: gövde okunurken kaydedilir (Cache-Control/ETag/Last-Modified izin veriyorsa).
+ * - POST/PUT/PATCH/DELETE başarılıysa aynı URL'nin kaydı silinir.
+ */
+public class CachingConnectionFactory implements IHttpConnectionFactory {
+
+    private final IHttpConnectionFactory delegate;
+    private final ResponseCache cache;
+
+    final AtomicLong hits = new AtomicLong();
+    final AtomicLong revalidations = new AtomicLong();
+    final AtomicLong misses = new AtomicLong();
+
+    public CachingConnectionFactory(IHttpConnectionFactory delegate, ResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public IHttpConnection createConnection(String urlString) throws IOException {
+        return new CachingConnection(urlString, cache, delegate.createConnection(urlString), this);
+    }
+
+    public ResponseCache cache() {
+        return cache;
+    }
+
+    /** Önbelleği atlayan bağlantılar için sarmalanan fabrika (ör. gövdesi dosyaya akıtılan indirmeler). */
+    public IHttpConnectionFactory delegate() {
+        return delegate;
+    }
+
+    /** Ağa çıkmadan önbellekten verilen yanıtlar. */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /** 304 ile doğrulanıp önbellekten verilen yanıtlar (yalnızca başlık gidip geldi). */
+    public long revalidatedCount() {
+        return revalidations.get();
+    }
+
+    /** Önbelleğe uygun olup tam gövdesi ağdan indirilen GET yanıtları. */
+    public long missCount() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,172 @@
+package lib.net.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kalıcı katman: her kayıt dizinde URL'nin SHA-1'i adlı tek bir dosyadır.
+ * Toplam boyut maxBytes'ı aşınca en eski kullanılanlar (dosya lastModified) silinir.
+ * Bozuk/okunamayan dosyalar sessizce silinir ve miss sayılır.
+ */
+public class DiskResponseCache implements ResponseCache {
+
+    private static final int MAGIC = 0x434E4B31; // "CNK1"
+    private static final String SUFFIX = ".entry";
+
+    private final File dir;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Object lock = new Object();
+
+    public DiskResponseCache(File dir, long maxBytes) {
+        this(dir, maxBytes, maxBytes / 8);
+    }
+
+    public DiskResponseCache(File dir, long maxBytes, long maxEntryBytes) {
+        this.dir = dir;
+        this.maxBytes = Math.max(0, maxBytes);
+        this.maxEntryBytes = Math.max(0, Math.min(maxEntryBytes, this.maxBytes));
+    }
+
+    @Override
+    public CacheEntry get(String url) {
+        synchronized (lock) {
+            File f = fileFor(url);
+            if (!f.isFile()) return null;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+                if (in.readInt() != MAGIC) throw new IOException("Bilinmeyen kayıt biçimi");
+                String storedUrl = in.readUTF();
+                if (!storedUrl.equals(url)) return null; // özet çakışması
+                long storedAt = in.readLong();
+                Map<String, String> headers = readMap(in);
+                Map<String, String> vary = readMap(in);
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                f.setLastModified(System.currentTimeMillis());
+                return new CacheEntry(storedUrl, body, headers, vary, storedAt);
+            } catch (IOException | RuntimeException e) {
+                f.delete();
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void put(CacheEntry entry) {
+        if (entry.body().length > maxEntryBytes) {
+            remove(entry.url());
+            return;
+        }
+        synchronized (lock) {
+            if (!dir.isDirectory() && !dir.mkdirs()) return;
+            File target = fileFor(entry.url());
+            File tmp = new File(dir, target.getName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(entry.url());
+                out.writeLong(entry.storedAtMs());
+                writeMap(out, entry.headers());
+                writeMap(out, entry.varyValues());
+                out.writeInt(entry.body().length);
+                out.write(entry.body());
+            } catch (IOException e) {
+                tmp.delete();
+                return;
+            }
+            // Yarım yazılmış kayıt okunmasın: önce geçici dosya, sonra rename
+            if (!tmp.renameTo(target)) {
+                target.delete();
+                if (!tmp.renameTo(target)) {
+                    tmp.delete();
+                    return;
+                }
+            }
+            trim();
+        }
+    }
+
+    @Override
+    public void remove(String url) {
+        synchronized (lock) {
+            fileFor(url).delete();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            for (File f : entryFiles()) f.delete();
+        }
+    }
+
+    @Override
+    public long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    private void trim() {
+        File[] files = entryFiles();
+        long total = 0;
+        for (File f : files) total += f.length();
+        if (total <= maxBytes) return;
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        for (File f : files) {
+            if (total <= maxBytes) break;
+            long len = f.length();
+            if (f.delete()) total -= len;
+        }
+    }
+
+    private File[] entryFiles() {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(SUFFIX));
+        return files != null ? files : new File[0];
+    }
+
+    private File fileFor(String url) {
+        return new File(dir, sha1Hex(url) + SUFFIX);
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> e : map.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeUTF(e.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < n; i++) map.put(in.readUTF(), in.readUTF());
+        return map;
+    }
+
+    private static String sha1Hex(String s) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-1").digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(d.length * 2);
+            for (byte b : d) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package lib.net.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bellek içi LRU; toplam CacheEntry.weight() maxBytes'ı aşınca en az kullanılanlar atılır.
+ */
+public class MemoryResponseCache implements ResponseCache {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+
+    /** Tek kayıt en fazla bütçenin dörtte biri olabilir. */
+    public MemoryResponseCache(long maxBytes) {
+        this(maxBytes, maxBytes / 4);
+    }
+
+    public MemoryResponseCache(long maxBytes, long maxEntryBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+        this.maxEntryBytes = Math.max(0, Math.min(maxEntryBytes, this.maxBytes));
+    }
+
+    @Override
+    public CacheEntry get(String url) {
+        synchronized (entries) {
+            return entries.get(url);
+        }
+    }
+
+    @Override
+    public void put(CacheEntry entry) {
+        if (entry.body().length > maxEntryBytes) {
+            remove(entry.url());
+            return;
+        }
+        synchronized (entries) {
+            CacheEntry old = entries.put(entry.url(), entry);
+            if (old != null) currentBytes -= old.weight();
+            currentBytes += entry.weight();
+            trim();
+        }
+    }
+
+    @Override
+    public void remove(String url) {
+        synchronized (entries) {
+            CacheEntry old = entries.remove(url);
+            if (old != null) currentBytes -= old.weight();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            currentBytes = 0;
+        }
+    }
+
+    @Override
+    public long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public long sizeBytes() {
+        synchronized (entries) {
+            return currentBytes;
+        }
+    }
+
+    public int entryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, CacheEntry>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            currentBytes -= it.next().getValue().weight();
+            it.remove();
+        }
+    }
+}
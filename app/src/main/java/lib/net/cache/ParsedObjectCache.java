@@ -0,0 +1,345 @@
+package lib.net.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lib.net.connection.IHttpConnection;
+import lib.net.strategy.ResponseDecoder;
+import lib.net.util.BufferPool;
+import lib.net.util.NetworkConfig;
+
+/**
+ * Ayrıştırılmış (Gson sonrası) nesnelerin ikinci seviye önbelleği.
+ * Anahtar: (tam URL, yanıt Type'ı); kayıt yalnızca doğrulayıcı (ETag, yoksa Last-Modified,
+ * o da yoksa küçük gövdelerde gövde özeti) aynıysa kullanılır. Aynı gövde ikinci kez parse edilmez.
+ * - Yalnızca cacheTypes ile bildirilen tipler önbelleğe alınır. Bu tiplerin örnekleri tüm çağıranlara
+ *   aynen verilir: üst seviye List/Set/Map salt-okunur sarılır, elemanlar değiştirilmemelidir
+ * - TTL: kayıt, doğrulayıcı tutsa bile ttlMs sonra düşer
+ * - Ağırlık: gövde bayt boyu; toplam maxWeight'i aşınca en az kullanılanlar atılır
+ * - invalidate(url): yazma istekleri aynı kaynak yolunu (ve üst koleksiyonunu) geçersiz kılar
+ */
+public class ParsedObjectCache {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long maxWeight;
+    private final long ttlNs;
+    private final int maxHashedBytes;
+    private final Set<Type> types = new CopyOnWriteArraySet<>();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ParsedObjectCache(long maxWeightBytes, long ttlMs) {
+        this(maxWeightBytes, ttlMs, NetworkConfig.PARSED_CACHE_MAX_HASHED_BYTES);
+    }
+
+    /**
+     * maxHashedBytes: ETag/Last-Modified olmayan yanıtlarda özetlenecek en büyük gövde; daha büyükleri
+     * önbelleğe alınmadan doğrudan parse edilir (0: başlık doğrulayıcısı yoksa önbellek kullanılmaz).
+     */
+    public ParsedObjectCache(long maxWeightBytes, long ttlMs, int maxHashedBytes) {
+        this.maxWeight = Math.max(0, maxWeightBytes);
+        this.ttlNs = Math.max(0, ttlMs) * 1_000_000L;
+        this.maxHashedBytes = (int) Math.max(0, Math.min(maxHashedBytes, this.maxWeight));
+    }
+
+    /**
+     * Önbelleğe alınacak yanıt tipleri. Örnekler çağıranlar arasında paylaşıldığından yalnızca
+     * değiştirilmeden kullanılan (salt-okunur DTO gibi) tipler eklenmelidir.
+     */
+    public ParsedObjectCache cacheTypes(Type... responseTypes) {
+        types.addAll(Arrays.asList(responseTypes));
+        return this;
+    }
+
+    public boolean isCacheable(Type responseType) {
+        return types.contains(responseType);
+    }
+
+    /**
+     * parse decoder'ını önbellekle sarar. Doğrulayıcı eşleşirse gövde okunmadan önceki nesne döner.
+     * Tip cacheTypes ile bildirilmemişse parse aynen döner.
+     */
+    public <T> ResponseDecoder<T> decoder(final String url, final Type type, final ResponseDecoder<T> parse) {
+        if (!isCacheable(type)) return parse;
+        final Key key = new Key(url, type);
+        return new ResponseDecoder<T>() {
+            @Override
+            public T decode(InputStream body) throws IOException {
+                return parse.decode(body); // başlıksız çağrı: önbellek devre dışı
+            }
+
+            @Override
+            public T decode(IHttpConnection conn, InputStream body) throws IOException {
+                String validator = headerValidator(conn);
+                InputStream in = body;
+                if (validator == null) {
+                    // Başlık doğrulayıcısı yok: yalnızca küçük gövdelerde özet doğrulayıcı olur
+                    if (maxHashedBytes == 0) {
+                        misses.incrementAndGet();
+                        return parse.decode(body);
+                    }
+                    Head head = readUpTo(body, maxHashedBytes);
+                    if (head.size() > maxHashedBytes) {
+                        misses.incrementAndGet();
+                        return parse.decode(new SequenceInputStream(head.asInputStream(), body));
+                    }
+                    validator = "sha1:" + head.sha1Hex();
+                    in = head.asInputStream();
+                }
+                Object cached = lookup(key, validator);
+                if (cached != null) {
+                    hits.incrementAndGet();
+                    @SuppressWarnings("unchecked") T t = (T) cached;
+                    return t;
+                }
+                misses.incrementAndGet();
+                CountingInputStream counting = new CountingInputStream(in);
+                T parsed = parse.decode(counting);
+                if (parsed == null) return null;
+                T snapshot = snapshot(parsed);
+                store(key, new Entry(validator, snapshot, counting.count + 64, System.nanoTime()));
+                return snapshot;
+            }
+        };
+    }
+
+    /**
+     * Yazma isteği sonrası: URL'nin yolu ve üst yolları (örn. /todos/5 -> /todos/5, /todos) için
+     * tüm kayıtları (sorgu parametresi ve Type fark etmeksizin) siler.
+     */
+    public void invalidate(String url) {
+        Set<String> paths = new LinkedHashSet<>();
+        String origin = origin(url);
+        String path = path(url);
+        while (true) {
+            paths.add(path);
+            int slash = path.lastIndexOf('/');
+            if (slash <= 0) break;
+            path = path.substring(0, slash);
+        }
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Entry> e = it.next();
+                String u = e.getKey().url;
+                if (origin.equals(origin(u)) && paths.contains(path(u))) {
+                    currentWeight -= e.getValue().weight;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            currentWeight = 0;
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public int entryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long weight() {
+        synchronized (entries) {
+            return currentWeight;
+        }
+    }
+
+    /* ===== İç işleyiş ===== */
+
+    private Object lookup(Key key, String validator) {
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e == null) return null;
+            if (System.nanoTime() - e.storedAtNs > ttlNs || !e.validator.equals(validator)) {
+                entries.remove(key);
+                currentWeight -= e.weight;
+                return null;
+            }
+            return e.value;
+        }
+    }
+
+    private void store(Key key, Entry entry) {
+        if (entry.weight > maxWeight) return;
+        synchronized (entries) {
+            Entry old = entries.put(key, entry);
+            if (old != null) currentWeight -= old.weight;
+            currentWeight += entry.weight;
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (currentWeight > maxWeight && it.hasNext()) {
+                currentWeight -= it.next().getValue().weight;
+                it.remove();
+            }
+        }
+    }
+
+    private static String headerValidator(IHttpConnection conn) {
+        String etag = conn.getHeaderField("ETag");
+        if (etag != null) return "etag:" + etag;
+        String lm = conn.getHeaderField("Last-Modified");
+        return (lm != null) ? "lm:" + lm : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T snapshot(T value) {
+        if (value instanceof List) return (T) Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        if (value instanceof Set) return (T) Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) value));
+        if (value instanceof Map) return (T) Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+        return value;
+    }
+
+    /** En fazla limit+1 bayt okur; dönen boyut limit'i aşıyorsa gövdenin devamı akışta kalmıştır. */
+    private static Head readUpTo(InputStream in, int limit) throws IOException {
+        Head out = new Head();
+        byte[] buf = BufferPool.SHARED.acquireBytes();
+        try {
+            int n;
+            while (out.size() <= limit && (n = in.read(buf, 0, Math.min(buf.length, limit + 1 - out.size()))) != -1) {
+                out.write(buf, 0, n);
+            }
+        } finally {
+            BufferPool.SHARED.release(buf);
+        }
+        return out;
+    }
+
+    private static String path(String url) {
+        int q = url.indexOf('?');
+        String noQuery = (q >= 0) ? url.substring(0, q) : url;
+        int scheme = noQuery.indexOf("://");
+        int slash = noQuery.indexOf('/', scheme >= 0 ? scheme + 3 : 0);
+        String p = (slash >= 0) ? noQuery.substring(slash) : "/";
+        return (p.length() > 1 && p.endsWith("/")) ? p.substring(0, p.length() - 1) : p;
+    }
+
+    private static String origin(String url) {
+        int scheme = url.indexOf("://");
+        int end = url.length();
+        for (int i = (scheme >= 0 ? scheme + 3 : 0); i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        return url.substring(0, end);
+    }
+
+    /** Okunan gövde başı; iç dizi kopyalanmadan hem özetlenir hem tekrar okunur. */
+    private static final class Head extends ByteArrayOutputStream {
+        InputStream asInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+
+        String sha1Hex() {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-1");
+                md.update(buf, 0, count);
+                byte[] d = md.digest();
+                char[] hex = new char[d.length * 2];
+                for (int i = 0; i < d.length; i++) {
+                    hex[2 * i] = HEX[(d[i] >> 4) & 0xf];
+                    hex[2 * i + 1] = HEX[d[i] & 0xf];
+                }
+                return new String(hex);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class Key {
+        final String url;
+        final Type type;
+
+        Key(String url, Type type) {
+            this.url = url;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return url.equals(k.url) && type.equals(k.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, type);
+        }
+    }
+
+    private static final class Entry {
+        final String validator;
+        final Object value;
+        final long weight;
+        final long storedAtNs;
+
+        Entry(String validator, Object value, long weight, long storedAtNs) {
+            this.validator = validator;
+            this.value = value;
+            this.weight = weight;
+            this.storedAtNs = storedAtNs;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package lib.net.cache;
+
+/**
+ * GET yanıtları için HTTP önbelleği (anahtar: tam URL).
+ * - MemoryResponseCache: bayt bütçeli LRU
+ * - DiskResponseCache  : dizin altında kalıcı kayıtlar
+ * - TieredResponseCache: önce bellek, sonra disk
+ * CachingConnectionFactory ile herhangi bir IHttpConnectionFactory'ye eklenir.
+ */
+public interface ResponseCache {
+
+    /** Kayıt yoksa null. */
+    CacheEntry get(String url);
+
+    void put(CacheEntry entry);
+
+    void remove(String url);
+
+    void clear();
+
+    /** Bu boyuttan büyük gövdeler kaydedilmez (kayıt sırasında bellek tutmamak için). */
+    long maxEntryBytes();
+}
@@ -0,0 +1,48 @@
+package lib.net.cache;
+
+/**
+ * İki katmanlı önbellek: okuma önce bellekten, bulunamazsa diskten (bulunan kayıt belleğe alınır).
+ * Yazma/silme her iki katmana uygulanır.
+ */
+public class TieredResponseCache implements ResponseCache {
+
+    private final ResponseCache memory;
+    private final ResponseCache disk;
+
+    public TieredResponseCache(ResponseCache memory, ResponseCache disk) {
+        this.memory = memory;
+        this.disk = disk;
+    }
+
+    @Override
+    public CacheEntry get(String url) {
+        CacheEntry e = memory.get(url);
+        if (e != null) return e;
+        e = disk.get(url);
+        if (e != null) memory.put(e);
+        return e;
+    }
+
+    @Override
+    public void put(CacheEntry entry) {
+        memory.put(entry);
+        disk.put(entry);
+    }
+
+    @Override
+    public void remove(String url) {
+        memory.remove(url);
+        disk.remove(url);
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        disk.clear();
+    }
+
+    @Override
+    public long maxEntryBytes() {
+        return Math.max(memory.maxEntryBytes(), disk.maxEntryBytes());
+    }
+}
@@ -1,27 +1,40 @@
 // lib/net/command/ACommand.java
 package lib.net.command;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import lib.net.NetResult;
 import lib.net.RequestHandle;
+import lib.net.breaker.RetryBudget;
 import lib.net.connection.IHttpConnection;
+import lib.net.dispatch.Priority;
+import lib.net.event.CallEventListener;
+import lib.net.event.CallEventListener.Phase;
+import lib.net.event.CallEvents;
 import lib.net.interceptor.Interceptor;
+import lib.net.metrics.NetMetrics;
 import lib.net.strategy.BackoffStrategy;
 import lib.net.strategy.BodyWriter;
 import lib.net.strategy.ErrorHandler;
 import lib.net.strategy.MethodStrategy;
 import lib.net.strategy.RequestConfigurator;
+import lib.net.strategy.ResponseDecoder;
 import lib.net.strategy.ResponseReader;
 import lib.net.strategy.RetryPolicy;
 import lib.net.strategy.backoff.FullJitterBackoff;
 import lib.net.strategy.backoff.RetryAfterFirstBackoff;
 import lib.net.strategy.retry.StatusCodeWhitelistRetryPolicy;
+import lib.net.util.DeadlineExceededException;
 import lib.net.util.NetworkConfig;
 import lib.net.util.RequestCancelledException;
 
@@ -33,6 +46,11 @@ public abstract class ACommand implements RequestHandle {
     protected NetResult<String> result;
     protected final AtomicBoolean cancelled = new AtomicBoolean(false);
     protected int customConnectTimeout = -1, customReadTimeout = -1;
+    protected Priority priority = Priority.USER_VISIBLE;
+    protected volatile long deadlineNanos; // 0 = süresiz
+    protected volatile RetryBudget retryBudget; // null = yalnızca RETRY_LIMIT
+    protected volatile NetMetrics.Recorder metrics; // null = ölçüm yok
+    protected volatile CallEventListener eventListener; // null = olay yok
 
     // Strategies
     protected RetryPolicy retryPolicy;
@@ -96,11 +114,57 @@ public abstract class ACommand implements RequestHandle {
         return this;
     }
 
+    public ACommand withPriority(Priority p) {
+        if (p != null) this.priority = p;
+        return this;
+    }
+
+    /**
+     * İstek, şimdiden itibaren timeoutMs içinde bitmeli. Süre kuyrukta/backoff'ta dolarsa bağlantı açılmadan
+     * DeadlineExceededException ile biter; kalan süre sonraki backoff'a yetmiyorsa da beklenmez.
+     */
+    public ACommand withDeadline(long timeoutMs) {
+        long d = timeoutMs > 0 ? System.nanoTime() + timeoutMs * 1_000_000L : 0;
+        this.deadlineNanos = (timeoutMs > 0 && d == 0) ? 1 : d; // 0 "süresiz" anlamında
+        return this;
+    }
+
+    /** Retry'lar bu bütçeden düşülür; bütçe tükenmişse son hata beklemeden döner (NetworkManager takar). */
+    public ACommand withRetryBudget(RetryBudget budget) {
+        this.retryBudget = budget;
+        return this;
+    }
+
+    /** Bağlantı/TTFB/indirme/parse süreleri, bayt ve retry sayıları bu seriye yazılır (NetworkManager takar). */
+    public ACommand withMetrics(NetMetrics.Recorder recorder) {
+        this.metrics = recorder;
+        return this;
+    }
+
+    public NetMetrics.Recorder getMetrics() {
+        return metrics;
+    }
+
+    /** Her denemenin aşama olayları (bağlantı, yanıt başlıkları, gövde, parse) bu dinleyiciye verilir. */
+    public ACommand withEventListener(CallEventListener listener) {
+        this.eventListener = listener;
+        return this;
+    }
+
+    public CallEventListener getEventListener() {
+        return eventListener;
+    }
+
     public ACommand addInterceptor(Interceptor i) {
         if (i != null) this.interceptors.add(i);
         return this;
     }
 
+    /** Komuta interceptor takılı mı (NetworkManager'ın global interceptor'ları dahil). */
+    public boolean hasInterceptors() {
+        return !interceptors.isEmpty();
+    }
+
     public String getRelativeUrl() {
         return relativeUrl;
     }
@@ -121,6 +185,20 @@ public abstract class ACommand implements RequestHandle {
         return name != null && headers.containsKey(name);
     }
 
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /** Süre sınırı yoksa 0; varsa System.nanoTime() cinsinden bitiş anı. */
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    public boolean isDeadlineExceeded() {
+        long d = deadlineNanos;
+        return d != 0 && System.nanoTime() - d >= 0;
+    }
+
     public boolean isIdempotent() {
         return isIdempotent;
     }
@@ -131,6 +209,27 @@ public abstract class ACommand implements RequestHandle {
 
     public abstract String getMethodName();
 
+    /**
+     * İstek gövdesinin bilinen boyu (bayt); bilinmiyorsa -1 (akış modunda chunked gönderilir).
+     */
+    public long contentLengthHint() {
+        return -1;
+    }
+
+    /**
+     * Gövdeyi kendisi işleyen komutların (ör. DownloadCommand) decoder'ı; null ise NetworkManager
+     * yanıt tipine göre seçer. Böyle komutlar tek uçuş ve hedge'e alınmaz (yan etkili gövde).
+     */
+    public ResponseDecoder<?> responseDecoder() {
+        return null;
+    }
+
+    /** Başarılı gövde okuyucunun readSuccess'i atlanarak akıştan ayrıştırılabilir mi (bkz. ResponseReader.canStream). */
+    public boolean canStreamResponse() {
+        initDefaultsIfNull();
+        return responseReader.canStream();
+    }
+
     protected void initDefaultsIfNull() {
         if (retryPolicy == null)
             retryPolicy = new StatusCodeWhitelistRetryPolicy(
@@ -167,77 +266,395 @@ public abstract class ACommand implements RequestHandle {
 
     public NetResult<String> execute(Supplier<IHttpConnection> connectionSupplier) {
         initDefaultsIfNull();
-        int attempts = 0;
-        final int maxAttempts = NetworkConfig.RETRY_LIMIT + 1;
-        long delay = backoffStrategy.initialDelayMs();
+        result = new Attempts<>(connectionSupplier, stringBody(), "", null).runBlocking();
+        return result;
+    }
+
+    /**
+     * Akış modu: başarılı gövde String'e çevrilmeden decoder'a verilir (gzip yerinde açılır).
+     * Interceptor.onSuccess bu modda body=null alır.
+     */
+    public <T> NetResult<T> execute(Supplier<IHttpConnection> connectionSupplier, final ResponseDecoder<T> decoder) {
+        initDefaultsIfNull();
+        return new Attempts<>(connectionSupplier, decodedBody(decoder), (T) null, null).runBlocking();
+    }
+
+    /**
+     * Non-blocking çalıştırma: yanıt IHttpConnection.sendAsync ile beklenir (OkHttp'de call.enqueue),
+     * retry beklemeleri thread uyutmadan scheduler'da planlanır. Sonuç onDone'a tam bir kez verilir.
+     */
+    public void executeAsync(Supplier<IHttpConnection> connectionSupplier,
+                             RetryScheduler scheduler,
+                             final Consumer<NetResult<String>> onDone) {
+        executeAsync(connectionSupplier, scheduler, null, onDone);
+    }
+
+    /** execution verilirse bu koşu, komut iptal edilmeden execution.abandon() ile tek başına durdurulabilir. */
+    public void executeAsync(Supplier<IHttpConnection> connectionSupplier,
+                             RetryScheduler scheduler,
+                             Execution execution,
+                             final Consumer<NetResult<String>> onDone) {
+        initDefaultsIfNull();
+        new Attempts<>(connectionSupplier, stringBody(), "", execution).runAsync(scheduler, keepResult(onDone));
+    }
+
+    public <T> void executeAsync(Supplier<IHttpConnection> connectionSupplier,
+                                 ResponseDecoder<T> decoder,
+                                 RetryScheduler scheduler,
+                                 Consumer<NetResult<T>> onDone) {
+        executeAsync(connectionSupplier, decoder, scheduler, null, onDone);
+    }
+
+    public <T> void executeAsync(Supplier<IHttpConnection> connectionSupplier,
+                                 ResponseDecoder<T> decoder,
+                                 RetryScheduler scheduler,
+                                 Execution execution,
+                                 Consumer<NetResult<T>> onDone) {
+        initDefaultsIfNull();
+        new Attempts<>(connectionSupplier, decodedBody(decoder), (T) null, execution).runAsync(scheduler, onDone);
+    }
+
+    /**
+     * Adım adım çalıştırma: her deneme çağıran thread'de bloklayarak yapılır, fakat denemeler arasındaki
+     * backoff beklemesi thread uyutmaz; sonraki deneme scheduler'a bırakılır ve çağrı hemen döner.
+     * Worker havuzunda çalışırken backoff'taki istek worker'ı meşgul etmez.
+     */
+    public void executeStepwise(Supplier<IHttpConnection> connectionSupplier,
+                                RetryScheduler scheduler,
+                                Consumer<NetResult<String>> onDone) {
+        executeStepwise(connectionSupplier, scheduler, null, onDone);
+    }
+
+    public void executeStepwise(Supplier<IHttpConnection> connectionSupplier,
+                                RetryScheduler scheduler,
+                                Execution execution,
+                                Consumer<NetResult<String>> onDone) {
+        initDefaultsIfNull();
+        new Attempts<>(connectionSupplier, stringBody(), "", execution).runStepwise(scheduler, keepResult(onDone));
+    }
+
+    public <T> void executeStepwise(Supplier<IHttpConnection> connectionSupplier,
+                                    ResponseDecoder<T> decoder,
+                                    RetryScheduler scheduler,
+                                    Consumer<NetResult<T>> onDone) {
+        executeStepwise(connectionSupplier, decoder, scheduler, null, onDone);
+    }
+
+    public <T> void executeStepwise(Supplier<IHttpConnection> connectionSupplier,
+                                    ResponseDecoder<T> decoder,
+                                    RetryScheduler scheduler,
+                                    Execution execution,
+                                    Consumer<NetResult<T>> onDone) {
+        initDefaultsIfNull();
+        new Attempts<>(connectionSupplier, decodedBody(decoder), (T) null, execution).runStepwise(scheduler, onDone);
+    }
+
+    private Consumer<NetResult<String>> keepResult(final Consumer<NetResult<String>> onDone) {
+        return r -> {
+            result = r;
+            onDone.accept(r);
+        };
+    }
+
+    private SuccessBody<String> stringBody() {
+        return (conn, events) -> {
+            String s = responseReader.readSuccess(conn);
+            fire(events, Phase.BODY_READ_END);
+            return s;
+        };
+    }
+
+    private <T> SuccessBody<T> decodedBody(final ResponseDecoder<T> decoder) {
+        return (conn, events) -> {
+            long t0 = System.nanoTime();
+            try (InputStream in = new CancelAwareInputStream(responseReader.openSuccess(conn))) {
+                T value = decoder.decode(conn, in);
+                // Akış modunda okuma ve parse birlikte biter
+                fire(events, Phase.BODY_READ_END);
+                fire(events, Phase.PARSE_END);
+                return value;
+            } catch (RuntimeException pe) {
+                throw new DecodeException(pe);
+            } finally {
+                // Akış modunda parse okumayla iç içe: ağdan veri beklenen süre parse'a sayılmaz
+                NetMetrics.Recorder m = metrics;
+                if (m != null && conn instanceof MeteredConnection) {
+                    m.record(NetMetrics.Stage.PARSE, System.nanoTime() - t0 - ((MeteredConnection) conn).readNanos());
+                }
+            }
+        };
+    }
+
+    /**
+     * Bir execute çağrısının deneme durumu. Her deneme iki adımdır: open() isteği hazırlar,
+     * respond() yanıtı işler. Adımlardan sonra outcome null ise retryInMs sonra yeniden denenir
+     * (runBlocking'de thread uyutularak, runAsync/runStepwise'da RetryScheduler'a planlanarak).
+     */
+    private final class Attempts<R> {
+        private final Supplier<IHttpConnection> connectionSupplier;
+        private final SuccessBody<R> body;
+        private final R noContent;
+        private final Execution execution; // null = yalnızca komut iptali
+        private final int maxAttempts = NetworkConfig.RETRY_LIMIT + 1;
+        private int attempts = 0;
+        private long delay = backoffStrategy.initialDelayMs();
+        private long retryInMs;
+        private NetResult<R> outcome;
+        private long sentNs; // istek gövdesi yazıldığı an (TTFB başlangıcı)
+        private CallEvents events; // bu denemenin olay kaynağı; dinleyici yoksa null
+
+        Attempts(Supplier<IHttpConnection> connectionSupplier, SuccessBody<R> body, R noContent, Execution execution) {
+            this.connectionSupplier = connectionSupplier;
+            this.body = body;
+            this.noContent = noContent;
+            this.execution = execution;
+        }
+
+        NetResult<R> runBlocking() {
+            while (true) {
+                IHttpConnection conn = open();
+                if (conn != null) respond(conn);
+                if (outcome != null) {
+                    recordFinished();
+                    return outcome;
+                }
+                try {
+                    Thread.sleep(retryInMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void runAsync(final RetryScheduler scheduler, final Consumer<NetResult<R>> onDone) {
+            final IHttpConnection conn = open();
+            if (conn == null) {
+                next(scheduler, onDone, () -> runAsync(scheduler, onDone));
+                return;
+            }
+            conn.sendAsync(new IHttpConnection.ResponseCallback() {
+                @Override
+                public void onResponse() {
+                    respond(conn);
+                    next(scheduler, onDone, () -> runAsync(scheduler, onDone));
+                }
+
+                @Override
+                public void onFailure(IOException e) {
+                    try {
+                        fail(e);
+                    } finally {
+                        close(conn);
+                    }
+                    next(scheduler, onDone, () -> runAsync(scheduler, onDone));
+                }
+            });
+        }
 
-        while (attempts < maxAttempts) {
+        void runStepwise(final RetryScheduler scheduler, final Consumer<NetResult<R>> onDone) {
+            IHttpConnection conn = open();
+            if (conn != null) respond(conn);
+            next(scheduler, onDone, () -> runStepwise(scheduler, onDone));
+        }
+
+        /** Sonuç belliyse teslim et, değilse bir sonraki denemeyi retryInMs sonrasına planla. */
+        private void next(RetryScheduler scheduler, Consumer<NetResult<R>> onDone, Runnable attempt) {
+            if (outcome != null) {
+                recordFinished();
+                onDone.accept(outcome);
+                return;
+            }
+            try {
+                scheduler.schedule(attempt, retryInMs);
+            } catch (RejectedExecutionException re) {
+                outcome = failure(new IOException("Retry planlanamadı (scheduler kapalı).", re));
+                onDone.accept(outcome);
+            }
+        }
+
+        /** İptal/limit kontrolü + bağlantı hazırlığı ve gövde yazımı. Hata olursa null döner. */
+        private IHttpConnection open() {
             if (isCancelled()) {
-                handleException(new RequestCancelledException("İstek iptal edildi."));
-                return result;
+                outcome = failure(new RequestCancelledException("İstek iptal edildi."));
+                return null;
+            }
+            if (abandoned()) return null;
+            if (isDeadlineExceeded()) {
+                outcome = failure(new DeadlineExceededException("İstek süresi doldu; bağlantı açılmadı."));
+                return null;
             }
+            if (attempts >= maxAttempts) {
+                outcome = failure(new IOException("İstek, tekrar deneme limitini aştı."));
+                return null;
+            }
+            attempts++;
+            CallEventListener l = eventListener;
+            events = (l != null) ? new CallEvents(l, owner(), attempts) : null;
+            fire(events, Phase.ATTEMPT_START);
             IHttpConnection conn = null;
+            NetMetrics.Recorder m = metrics;
+            long t0 = System.nanoTime();
+            if (execution != null) execution.attemptStarted(t0);
             try {
                 conn = connectionSupplier.get();
+                if (m != null) conn = new MeteredConnection(conn);
+                if (events != null) conn.setCallEvents(events);
+                if (execution != null) execution.attach(conn);
                 conn.setConnectTimeout(customConnectTimeout > 0 ? customConnectTimeout : NetworkConfig.CONNECT_TIMEOUT_MS);
                 conn.setReadTimeout(customReadTimeout > 0 ? customReadTimeout : NetworkConfig.READ_TIMEOUT_MS);
                 methodStrategy.apply(conn, getMethodName());
-                requestConfigurator.configure(conn, this);
-                for (Interceptor it : interceptors) it.onRequest(conn, this);
-                bodyWriter.writeIfNeeded(conn, this);
+                requestConfigurator.configure(conn, owner());
+                for (Interceptor it : interceptors) it.onRequest(conn, owner());
+                bodyWriter.writeIfNeeded(conn, owner());
+                sentNs = System.nanoTime();
+                if (m != null) m.record(NetMetrics.Stage.CONNECT, sentNs - t0);
+                return conn;
+            } catch (Exception e) {
+                try {
+                    fail(e);
+                } finally {
+                    if (conn != null) close(conn);
+                }
+                return null;
+            }
+        }
 
+        /** Yanıt başlıkları hazır: başarı / hata / retry kararı. Bağlantıyı her durumda kapatır. */
+        private void respond(IHttpConnection conn) {
+            try {
                 int code = conn.getResponseCode();
-                for (Interceptor it : interceptors) it.onResponseHeaders(conn, this, code);
+                if (execution != null) execution.responded(code != 429 && code < 500);
+                NetMetrics.Recorder m = metrics;
+                if (m != null) m.record(NetMetrics.Stage.TTFB, System.nanoTime() - sentNs);
+                fire(events, Phase.RESPONSE_HEADERS_END);
+                for (Interceptor it : interceptors) it.onResponseHeaders(conn, owner(), code);
 
                 if ((code >= 200 && code < 300) || code == java.net.HttpURLConnection.HTTP_NO_CONTENT) {
-                    String payload = (code == java.net.HttpURLConnection.HTTP_NO_CONTENT)
-                            ? "" : responseReader.readSuccess(conn);
-                    for (Interceptor it : interceptors) it.onSuccess(conn, this, payload);
-                    result = new NetResult.Success<>(payload);
-                    return result;
+                    R payload = (code == java.net.HttpURLConnection.HTTP_NO_CONTENT)
+                            ? noContent : body.read(conn, events);
+                    if (m != null && conn instanceof MeteredConnection) {
+                        m.record(NetMetrics.Stage.DOWNLOAD, ((MeteredConnection) conn).readNanos());
+                    }
+                    String logged = (payload instanceof String) ? (String) payload : null;
+                    for (Interceptor it : interceptors) it.onSuccess(conn, owner(), logged);
+                    outcome = new NetResult.Success<>(payload);
+                    return;
                 }
 
                 if (retryPolicy.shouldRetryOnStatus(code, isIdempotent)) {
+                    fire(events, Phase.ATTEMPT_FAILED);
                     String retryAfter = conn.getHeaderField("Retry-After");
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
-                    delay = backoffStrategy.nextDelayMs(delay, retryAfter);
+                    scheduleRetry(retryAfter);
                 } else {
                     NetResult.Error<String> e = errorHandler.handleError(conn, code);
                     for (Interceptor it : interceptors)
-                        it.onError(conn, this, code, e.getErrorBody());
-                    result = e;
-                    return result;
+                        it.onError(conn, owner(), code, e.getErrorBody());
+                    outcome = new NetResult.Error<>(e.getException(), e.getResponseCode(), e.getErrorBody());
                 }
-
             } catch (Exception e) {
-                if (retryPolicy.shouldRetryOnException(e, isIdempotent)) {
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
-                    delay = backoffStrategy.nextDelayMs(delay, null);
-                } else {
-                    for (Interceptor it : interceptors) {
-                        try {
-                            it.onFailure(this, e);
-                        } catch (Exception ignore) {
-                        }
-                    }
-                    handleException(e);
-                    return result;
-                }
+                fail(e);
             } finally {
-                if (conn != null) conn.disconnect();
+                close(conn);
             }
-            attempts++;
         }
-        handleException(new IOException("İstek, tekrar deneme limitini aştı."));
-        return result;
+
+        private void close(IHttpConnection conn) {
+            if (execution != null) {
+                execution.detach(conn);
+                execution.attemptEnded(System.nanoTime());
+            }
+            conn.disconnect();
+            NetMetrics.Recorder m = metrics;
+            if (m != null && conn instanceof MeteredConnection) {
+                MeteredConnection mc = (MeteredConnection) conn;
+                m.bytesIn(mc.bytesIn());
+                m.bytesOut(mc.bytesOut());
+            }
+        }
+
+        /** Koşunun sonucu belli: istek, hata ve retry sayıları (bırakılan hedge koşusu sayılmaz). */
+        private void recordFinished() {
+            NetMetrics.Recorder m = metrics;
+            if (m == null || (execution != null && execution.isAbandoned())) return;
+            m.finished(attempts, outcome.isSuccess());
+        }
+
+        /** Bu koşu bırakıldıysa (hedge kaybı) sonucu belirler; yeni deneme/retry yapılmaz. */
+        private boolean abandoned() {
+            if (execution == null || !execution.isAbandoned()) return false;
+            outcome = new NetResult.Error<>(new RequestCancelledException("Koşu bırakıldı."), -1, "Abandoned");
+            return true;
+        }
+
+        private void fail(Exception ex) {
+            if (execution != null) execution.responded(false);
+            // Bırakılan koşunun kesilen bağlantısı hata değildir: bildirme, retry etme
+            if (abandoned()) return;
+            fire(events, Phase.ATTEMPT_FAILED);
+            if (ex instanceof DecodeException) {
+                // Parse hatası: aynı gövdeyi tekrar indirmek sonucu değiştirmez -> retry yok
+                Exception pe = (Exception) ex.getCause();
+                if (pe instanceof UncheckedIOException) {
+                    // Kısmi teslimden sonra I/O hatası: retry yok, ağ hatası olarak bildir
+                    IOException io = isCancelled()
+                            ? new RequestCancelledException("İstek iptal edildi.")
+                            : ((UncheckedIOException) pe).getCause();
+                    notifyFailure(io);
+                    outcome = failure(io);
+                    return;
+                }
+                notifyFailure(pe);
+                outcome = new NetResult.Error<>(pe, -1, "Parse error: " + pe.getMessage());
+                return;
+            }
+            if (retryPolicy.shouldRetryOnException(ex, isIdempotent)) {
+                scheduleRetry(null);
+            } else {
+                notifyFailure(ex);
+                outcome = failure(ex);
+            }
+        }
+
+        private void scheduleRetry(String retryAfter) {
+            if (abandoned()) return;
+            if (attempts >= maxAttempts) {
+                // Son deneme de başarısız: boşuna beklemeden bitir
+                outcome = failure(new IOException("İstek, tekrar deneme limitini aştı."));
+                return;
+            }
+            long d = deadlineNanos;
+            if (d != 0 && System.nanoTime() + delay * 1_000_000L - d >= 0) {
+                // Backoff bitmeden süre dolacak: beklemenin anlamı yok
+                outcome = failure(new DeadlineExceededException("İstek süresi tekrar denemeden önce dolacak."));
+                return;
+            }
+            RetryBudget budget = retryBudget;
+            if (budget != null && !budget.tryAcquire()) {
+                // Kesinti sırasında herkes retry ederse yük katlanır: bütçe yoksa hemen bitir
+                outcome = failure(new IOException("Retry bütçesi tükendi."));
+                return;
+            }
+            retryInMs = delay;
+            delay = backoffStrategy.nextDelayMs(delay, retryAfter);
+        }
+
+        private ACommand owner() {
+            return ACommand.this;
+        }
+    }
+
+    private void notifyFailure(Exception e) {
+        for (Interceptor it : interceptors) {
+            try {
+                it.onFailure(this, e);
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
+    private <R> NetResult<R> failure(Exception e) {
+        handleException(e);
+        return new NetResult.Error<>(e, -1, e.getMessage() == null ? "Unknown error" : e.getMessage());
     }
 
     @Deprecated
@@ -248,4 +665,42 @@ public abstract class ACommand implements RequestHandle {
     protected void handleException(Exception e) {
         result = new NetResult.Error<>(e, -1, e.getMessage() == null ? "Unknown error" : e.getMessage());
     }
+
+    private interface SuccessBody<R> {
+        R read(IHttpConnection conn, CallEvents events) throws IOException;
+    }
+
+    private static void fire(CallEvents events, Phase phase) {
+        if (events != null) events.fire(phase);
+    }
+
+    /** Komut iptal edildiğinde okumayı yarıda keser (akış modunda gövde parça parça tüketilir). */
+    private final class CancelAwareInputStream extends FilterInputStream {
+        CancelAwareInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkCancelled();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkCancelled();
+            return super.read(b, off, len);
+        }
+
+        private void checkCancelled() throws IOException {
+            if (isCancelled()) throw new RequestCancelledException("İstek iptal edildi.");
+        }
+    }
+
+    /** Decoder'dan gelen parse hatasını ağ hatalarından ayırmak için taşıyıcı. */
+    private static final class DecodeException extends RuntimeException {
+        DecodeException(RuntimeException cause) {
+            super(cause);
+        }
+    }
 }
@@ -0,0 +1,260 @@
+package lib.net.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+import lib.net.connection.IHttpConnection;
+import lib.net.dispatch.Priority;
+import lib.net.interceptor.Interceptor;
+import lib.net.strategy.ResponseDecoder;
+import lib.net.util.BufferPool;
+import lib.net.util.NetworkConfig;
+
+/**
+ * Büyük dosya indirme: gövde belleğe alınmadan sabit boylu (havuzdaki) tamponla doğrudan diske yazılır.
+ * - İndirme hedefin yanındaki "target.part" dosyasına yapılır; bitince hedefin üzerine taşınır.
+ * - Her denemede part dosyası doluysa ve sunucunun doğrulayıcısı (ETag / Last-Modified) biliniyorsa
+ *   Range + If-Range gönderilir: RetryPolicy/BackoffStrategy ile yapılan retry kaldığı bayttan devam eder.
+ *   Doğrulayıcı "target.part.meta" dosyasında tutulur; yarım kalan indirme yeni bir komutla da sürdürülebilir.
+ * - Sunucu aralığı yok sayarsa (200) ya da kaynak değiştiyse part dosyası baştan yazılır.
+ * - Gövde yanıt önbelleğine alınmaz: NetworkManager kendi decoder'ı olan komutlarda önbelleği atlar.
+ * Sonuç hedef dosyadır. Aynı hedefe eşzamanlı iki indirme yapılmamalı.
+ */
+public class DownloadCommand extends ACommand {
+
+    /** İndirme ilerlemesi; worker thread'inde çağrılır (UI için çağıran kendi thread'ine taşımalı). */
+    public interface ProgressListener {
+        /**
+         * @param bytesSoFar önceki denemelerde inenler dahil diskteki bayt
+         * @param totalBytes toplam boy; bilinmiyorsa -1
+         */
+        void onProgress(long bytesSoFar, long totalBytes);
+    }
+
+    private final File target;
+    private final File part;
+    private final File meta;
+    private final ProgressListener progress;
+    private volatile String validator; // If-Range için ETag / Last-Modified; bilinmiyorsa null
+    private volatile long offset;      // bu denemede istenen aralığın başı (0 = baştan)
+
+    public DownloadCommand(String relativeUrl, File target) {
+        this(relativeUrl, null, null, target, null);
+    }
+
+    public DownloadCommand(String relativeUrl, File target, ProgressListener progress) {
+        this(relativeUrl, null, null, target, progress);
+    }
+
+    public DownloadCommand(String relativeUrl,
+                           HashMap<String, String> parameters,
+                           HashMap<String, String> headers,
+                           File target,
+                           ProgressListener progress) {
+        super(relativeUrl, parameters, headers);
+        if (target == null) throw new IllegalArgumentException("target");
+        this.target = target;
+        this.part = new File(target.getPath() + ".part");
+        this.meta = new File(target.getPath() + ".part.meta");
+        this.progress = progress;
+        // Aralıklar sıkıştırılmamış baytlara göre
+        this.headers.put("Accept", "*/*");
+        this.headers.put("Accept-Encoding", "identity");
+        addInterceptor(new RangeInterceptor());
+        withPriority(Priority.BACKGROUND);
+    }
+
+    @Override
+    public String getMethodName() {
+        return "GET";
+    }
+
+    public File getTarget() {
+        return target;
+    }
+
+    /** Gövdeyi part dosyasına yazıp bitince hedefe taşıyan decoder; NetworkManager yanıt tipine bakmadan bunu kullanır. */
+    @Override
+    public ResponseDecoder<File> responseDecoder() {
+        return new ResponseDecoder<File>() {
+            /** Başlıklar olmadan aralık yanıtı doğrulanamaz: devam edilmeden baştan yazılır. */
+            @Override
+            public File decode(InputStream body) throws IOException {
+                if (offset > 0) {
+                    discard();
+                    throw new IOException("Aralık yanıtı başlıksız doğrulanamaz; indirme baştan başlayacak.");
+                }
+                validator = null;
+                Files.deleteIfExists(meta.toPath());
+                return write(body, 0, -1);
+            }
+
+            @Override
+            public File decode(IHttpConnection conn, InputStream body) throws IOException {
+                return download(conn, body);
+            }
+        };
+    }
+
+    /* ===== indirme ===== */
+
+    private File download(IHttpConnection conn, InputStream body) throws IOException {
+        int code = conn.getResponseCode();
+        long start;
+        long total;
+        if (code == 206) {
+            long[] range = contentRange(conn.getHeaderField("Content-Range"));
+            if (range == null || range[0] != offset) {
+                discard();
+                throw new IOException("Beklenmeyen Content-Range: " + conn.getHeaderField("Content-Range"));
+            }
+            start = range[0];
+            total = range[1];
+        } else {
+            // Aralık yok sayıldı ya da kaynak değişti: baştan
+            start = 0;
+            total = BufferPool.contentLength(conn.getHeaderField("Content-Length"));
+        }
+        remember(conn);
+        return write(body, start, total);
+    }
+
+    /** Gövdeyi part dosyasına start'tan itibaren yazar; tamamlanınca hedefe taşır. total bilinmiyorsa -1. */
+    private File write(InputStream body, long start, long total) throws IOException {
+        File dir = part.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            throw new IOException("Dizin oluşturulamadı: " + dir);
+        }
+        long written = start;
+        byte[] buf = BufferPool.SHARED.acquireBytes();
+        try (FileChannel ch = FileChannel.open(part.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ch.truncate(start);
+            ch.position(start);
+            ByteBuffer bb = ByteBuffer.wrap(buf);
+            long reported = written;
+            report(written, total);
+            int n;
+            while ((n = body.read(buf)) != -1) {
+                bb.clear().limit(n);
+                while (bb.hasRemaining()) ch.write(bb);
+                written += n;
+                if (written - reported >= NetworkConfig.DOWNLOAD_PROGRESS_BYTES) {
+                    reported = written;
+                    report(written, total);
+                }
+            }
+            if (total >= 0 && written != total) {
+                // Erken biten gövde: yazılanlar kalır, retry kaldığı yerden ister
+                throw new IOException("İndirme eksik: " + written + "/" + total + " bayt");
+            }
+            ch.force(false);
+            if (reported != written) report(written, total);
+        } finally {
+            BufferPool.SHARED.release(buf);
+        }
+        try {
+            Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.deleteIfExists(meta.toPath());
+        validator = null;
+        return target;
+    }
+
+    private void report(long bytesSoFar, long totalBytes) {
+        ProgressListener l = progress;
+        if (l == null) return;
+        try {
+            l.onProgress(bytesSoFar, totalBytes);
+        } catch (RuntimeException ignore) {
+            // dinleyici hatası indirmeyi bozmasın
+        }
+    }
+
+    /** Yanıtın doğrulayıcısını saklar; zayıf ETag If-Range'de kullanılamaz, o zaman Last-Modified. */
+    private void remember(IHttpConnection conn) throws IOException {
+        String etag = conn.getHeaderField("ETag");
+        String v = (etag != null && !etag.startsWith("W/")) ? etag : conn.getHeaderField("Last-Modified");
+        if (v == null) {
+            validator = null;
+            Files.deleteIfExists(meta.toPath());
+            return;
+        }
+        if (v.equals(validator)) return;
+        validator = v;
+        Files.write(meta.toPath(), v.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Kısmi indirmeyi unutur; bir sonraki deneme baştan başlar. */
+    private void discard() throws IOException {
+        validator = null;
+        Files.deleteIfExists(part.toPath());
+        Files.deleteIfExists(meta.toPath());
+    }
+
+    private String loadValidator() {
+        String v = validator;
+        if (v != null || !meta.isFile()) return v;
+        try {
+            v = new String(Files.readAllBytes(meta.toPath()), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            return null;
+        }
+        validator = v.isEmpty() ? null : v;
+        return validator;
+    }
+
+    /** "bytes start-end/total" -> {start, total}; total '*' ise -1; geçersizse null. */
+    static long[] contentRange(String header) {
+        if (header == null) return null;
+        String h = header.trim();
+        if (!h.regionMatches(true, 0, "bytes ", 0, 6)) return null;
+        int dash = h.indexOf('-', 6);
+        int slash = h.indexOf('/', 6);
+        if (dash < 0 || slash < dash) return null;
+        try {
+            long start = Long.parseLong(h.substring(6, dash).trim());
+            long end = Long.parseLong(h.substring(dash + 1, slash).trim());
+            String t = h.substring(slash + 1).trim();
+            long total = "*".equals(t) ? -1 : Long.parseLong(t);
+            if (start < 0 || end < start || (total >= 0 && end >= total)) return null;
+            return new long[]{start, total};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Her denemede diskteki kısmi dosyaya göre Range/If-Range ekler; 416'da kısmi dosyayı atıp retry'a bırakır. */
+    private final class RangeInterceptor implements Interceptor {
+        @Override
+        public void onRequest(IHttpConnection conn, ACommand cmd) {
+            long have = part.isFile() ? part.length() : 0;
+            String v = (have > 0) ? loadValidator() : null;
+            if (v != null) {
+                conn.setRequestProperty("Range", "bytes=" + have + "-");
+                conn.setRequestProperty("If-Range", v);
+                offset = have;
+            } else {
+                offset = 0; // doğrulayıcı yoksa kısmi dosyanın hâlâ aynı kaynağa ait olduğu bilinemez
+            }
+        }
+
+        @Override
+        public void onResponseHeaders(IHttpConnection conn, ACommand cmd, int status) throws Exception {
+            if (status == 416 && offset > 0) {
+                discard();
+                throw new IOException("Sunucu aralığı kabul etmedi (416); indirme baştan başlayacak.");
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package lib.net.command;
+
+import lib.net.connection.IHttpConnection;
+
+/**
+ * Bir execute çağrısının (aynı komutun paralel koşusu olabilir) tek başına bırakılabilen kolu.
+ * abandon(): komutu iptal etmeden yalnızca bu koşuyu durdurur; açık bağlantı disconnect() ile kesilir,
+ * yeni deneme/retry yapılmaz. Hedge'de kaybeden koşu böyle sonlandırılır.
+ */
+public final class Execution {
+
+    private volatile boolean abandoned;
+    private volatile IHttpConnection current;
+    private volatile long attemptStartNs;
+    private volatile long attemptNanos = -1;
+    private volatile boolean responded;
+
+    public void abandon() {
+        abandoned = true;
+        IHttpConnection c = current;
+        if (c != null) {
+            try {
+                c.disconnect();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
+    public boolean isAbandoned() {
+        return abandoned;
+    }
+
+    /** Son biten denemenin süresi (bağlantı hazırlığından kapanışa); deneme bitmediyse -1. */
+    public long lastAttemptNanos() {
+        return attemptNanos;
+    }
+
+    /** Son deneme sunucudan yanıt aldıysa (5xx/429 hariç) true. */
+    public boolean lastAttemptResponded() {
+        return responded;
+    }
+
+    void attemptStarted(long nanoTime) {
+        attemptStartNs = nanoTime;
+        attemptNanos = -1;
+        responded = false;
+    }
+
+    void responded(boolean ok) {
+        responded = ok;
+    }
+
+    void attemptEnded(long nanoTime) {
+        attemptNanos = nanoTime - attemptStartNs;
+    }
+
+    void attach(IHttpConnection conn) {
+        current = conn;
+        // attach ile abandon yarışırsa bağlantı yine kesilsin
+        if (abandoned && conn != null) conn.disconnect();
+    }
+
+    void detach(IHttpConnection conn) {
+        if (current == conn) current = null;
+    }
+}
@@ -0,0 +1,181 @@
+package lib.net.command;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import lib.net.connection.IHttpConnection;
+import lib.net.connection.StreamingBody;
+import lib.net.event.CallEvents;
+
+/**
+ * Ölçüm için bağlantı sarmalayıcısı: gelen/giden gövde baytlarını ve gövde okumasında
+ * (read çağrılarında bloklanarak) geçen süreyi sayar. Yalnızca komuta metrics takılıysa kullanılır.
+ */
+final class MeteredConnection implements IHttpConnection {
+
+    private final IHttpConnection delegate;
+    private long bytesIn;
+    private long bytesOut;
+    private long readNanos;
+
+    MeteredConnection(IHttpConnection delegate) {
+        this.delegate = delegate;
+    }
+
+    long bytesIn() {
+        return bytesIn;
+    }
+
+    long bytesOut() {
+        return bytesOut;
+    }
+
+    /** Gövde okumasında ağdan veri beklenerek geçen toplam süre. */
+    long readNanos() {
+        return readNanos;
+    }
+
+    @Override
+    public void setConnectTimeout(int timeout) {
+        delegate.setConnectTimeout(timeout);
+    }
+
+    @Override
+    public void setReadTimeout(int timeout) {
+        delegate.setReadTimeout(timeout);
+    }
+
+    @Override
+    public void setRequestMethod(String method) throws IOException {
+        delegate.setRequestMethod(method);
+    }
+
+    @Override
+    public void setRequestProperty(String key, String value) {
+        delegate.setRequestProperty(key, value);
+    }
+
+    @Override
+    public void setDoOutput(boolean doOutput) {
+        delegate.setDoOutput(doOutput);
+    }
+
+    @Override
+    public void setDoInput(boolean doInput) {
+        delegate.setDoInput(doInput);
+    }
+
+    @Override
+    public void setInstanceFollowRedirects(boolean followRedirects) {
+        delegate.setInstanceFollowRedirects(followRedirects);
+    }
+
+    @Override
+    public void setAllowUserInteraction(boolean allowInteraction) {
+        delegate.setAllowUserInteraction(allowInteraction);
+    }
+
+    @Override
+    public void setUseCaches(boolean useCaches) {
+        delegate.setUseCaches(useCaches);
+    }
+
+    @Override
+    public int getResponseCode() throws IOException {
+        return delegate.getResponseCode();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream in = delegate.getInputStream();
+        return in != null ? new CountingInputStream(in) : null;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        InputStream in = delegate.getErrorStream();
+        return in != null ? new CountingInputStream(in) : null;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return new CountingOutputStream(delegate.getOutputStream());
+    }
+
+    @Override
+    public void streamingBody(long contentLength, final StreamingBody body) throws IOException {
+        delegate.streamingBody(contentLength, out -> body.writeTo(new CountingOutputStream(out)));
+    }
+
+    @Override
+    public String getHeaderField(String key) {
+        return delegate.getHeaderField(key);
+    }
+
+    @Override
+    public void setCallEvents(CallEvents events) {
+        delegate.setCallEvents(events);
+    }
+
+    @Override
+    public void sendAsync(ResponseCallback callback) {
+        delegate.sendAsync(callback);
+    }
+
+    @Override
+    public void disconnect() {
+        delegate.disconnect();
+    }
+
+    private final class CountingInputStream extends FilterInputStream {
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long t0 = System.nanoTime();
+            int b = super.read();
+            readNanos += System.nanoTime() - t0;
+            if (b >= 0) bytesIn++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long t0 = System.nanoTime();
+            int n = super.read(b, off, len);
+            readNanos += System.nanoTime() - t0;
+            if (n > 0) bytesIn += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long s = super.skip(n);
+            if (s > 0) bytesIn += s;
+            return s;
+        }
+    }
+
+    private final class CountingOutputStream extends FilterOutputStream {
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytesOut++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytesOut += len;
+        }
+    }
+}
@@ -1,16 +1,15 @@
 package lib.net.command;
 
 import java.io.File;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
+import lib.net.dispatch.Priority;
 import lib.net.strategy.impl.MultipartBodyWriter;
 
 public class MultipartCommand extends ACommand {
     private static final String BOUNDARY_PREFIX = "----WebKitFormBoundary" + UUID.randomUUID().toString();
-    private static final String CRLF = "\r\n";
     private final String boundary;
     private final HashMap<String, String> formFields;
     private final HashMap<String, File> files;
@@ -24,8 +23,12 @@ public class MultipartCommand extends ACommand {
         this.boundary = BOUNDARY_PREFIX + System.currentTimeMillis();
         this.formFields = formFields != null ? formFields : new HashMap<>();
         this.files = files != null ? files : new HashMap<>();
-        withBodyWriter(new MultipartBodyWriter(boundary, this.formFields, this.files));
-        this.estimatedPayloadBytes = estimateBytes(boundary, this.formFields, this.files);
+        // Part başlıkları yazıcıda bir kez kodlanır; tahmin de aynı baytlardan hesaplanır
+        MultipartBodyWriter writer = new MultipartBodyWriter(boundary, this.formFields, this.files);
+        withBodyWriter(writer);
+        // Yüklemeler kullanıcı isteklerinin önünü tıkamasın
+        withPriority(Priority.BACKGROUND);
+        this.estimatedPayloadBytes = writer.estimatedLength();
     }
 
     @Override
@@ -42,50 +45,17 @@ public class MultipartCommand extends ACommand {
         return estimatedPayloadBytes;
     }
 
-    private static long estimateBytes(String boundary,
-                                      Map<String, String> fields,
-                                      Map<String, File> files) {
-        long total = 0L;
-        final byte[] boundaryLine = ("--" + boundary + CRLF).getBytes(StandardCharsets.UTF_8);
-        final byte[] finalBoundary = ("--" + boundary + "--" + CRLF).getBytes(StandardCharsets.UTF_8);
-
-        // text fields
-        if (fields != null) {
-            for (Map.Entry<String, String> e : fields.entrySet()) {
-                String name = e.getKey() == null ? "" : e.getKey();
-                String val = e.getValue() == null ? "" : e.getValue();
-
-                String headers =
-                        "Content-Disposition: form-data; name=\"" + name + "\"" + CRLF +
-                                CRLF; // boş satırdan sonra body
-                total += boundaryLine.length;
-                total += headers.getBytes(StandardCharsets.UTF_8).length;
-                total += val.getBytes(StandardCharsets.UTF_8).length;
-                total += CRLF.getBytes(StandardCharsets.UTF_8).length;
-            }
-        }
-
-        // files
-        if (files != null) {
-            for (Map.Entry<String, File> e : files.entrySet()) {
-                String name = e.getKey() == null ? "file" : e.getKey();
-                File f = e.getValue();
-                long fileLen = (f != null && f.exists()) ? f.length() : 0L;
-
-                String headers =
-                        "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" +
-                                (f != null ? f.getName() : "blob") + "\"" + CRLF +
-                                "Content-Type: application/octet-stream" + CRLF +
-                                CRLF;
-                total += boundaryLine.length;
-                total += headers.getBytes(StandardCharsets.UTF_8).length;
-                total += fileLen;
-                total += CRLF.getBytes(StandardCharsets.UTF_8).length;
-            }
-        }
+    /**
+     * Dosyalar okunabilir durumdaysa tahmin tam boydur -> sabit Content-Length; değilse chunked.
+     */
+    @Override
+    public long contentLengthHint() {
+        return isExact(formFields, files) ? estimatedPayloadBytes : -1;
+    }
 
-        // closing
-        total += finalBoundary.length;
-        return total;
+    private static boolean isExact(Map<String, String> fields, Map<String, File> files) {
+        for (String v : fields.values()) if (v == null) return false;
+        for (File f : files.values()) if (f == null || !f.isFile()) return false;
+        return true;
     }
 }
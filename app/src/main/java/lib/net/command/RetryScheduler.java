@@ -0,0 +1,18 @@
+package lib.net.command;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backoff süresi dolunca bir sonraki denemeyi çalıştıran zamanlayıcı.
+ * Bekleme sırasında hiçbir thread tutulmaz; planlama mümkün değilse RejectedExecutionException atılır.
+ */
+public interface RetryScheduler {
+
+    void schedule(Runnable attempt, long delayMs);
+
+    /** Denemeyi doğrudan scheduler thread'inde çalıştırır (non-blocking bağlantılar için). */
+    static RetryScheduler on(final ScheduledExecutorService scheduler) {
+        return (attempt, delayMs) -> scheduler.schedule(attempt, delayMs, TimeUnit.MILLISECONDS);
+    }
+}
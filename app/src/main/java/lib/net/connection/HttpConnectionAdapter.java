@@ -1,13 +1,19 @@
 package lib.net.connection;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 
+import lib.net.event.CallEventListener.Phase;
+import lib.net.event.CallEvents;
+
 public class HttpConnectionAdapter implements IHttpConnection {
 
     private final HttpURLConnection connection;
+    private CallEvents events; // null = olay yok
+    private boolean connected;
 
     public HttpConnectionAdapter(HttpURLConnection connection) {
         this.connection = connection;
@@ -60,6 +66,7 @@ public class HttpConnectionAdapter implements IHttpConnection {
 
     @Override
     public int getResponseCode() throws IOException {
+        connect();
         return connection.getResponseCode();
     }
 
@@ -75,7 +82,20 @@ public class HttpConnectionAdapter implements IHttpConnection {
 
     @Override
     public OutputStream getOutputStream() throws IOException {
-        return connection.getOutputStream();
+        connect();
+        return bodyEnd(connection.getOutputStream());
+    }
+
+    @Override
+    public void streamingBody(long contentLength, StreamingBody body) throws IOException {
+        // Streaming mode olmadan HttpURLConnection tüm gövdeyi bellekte tamponlar
+        connection.setDoOutput(true);
+        if (contentLength >= 0) connection.setFixedLengthStreamingMode(contentLength);
+        else connection.setChunkedStreamingMode(0);
+        connect();
+        try (OutputStream out = bodyEnd(connection.getOutputStream())) {
+            body.writeTo(out);
+        }
     }
 
     @Override
@@ -83,11 +103,52 @@ public class HttpConnectionAdapter implements IHttpConnection {
         return connection.getHeaderField(key);
     }
 
+    @Override
+    public void setCallEvents(CallEvents events) {
+        this.events = events;
+    }
+
     @Override
     public void disconnect() {
         connection.disconnect();
     }
 
+    /**
+     * HttpURLConnection bağlantıyı örtük kurar; olay varsa connect() açıkça çağrılıp süresi ölçülür
+     * (DNS + TCP + TLS ayrı görünmez; keep-alive havuzundan gelen bağlantıda ~0).
+     */
+    private void connect() throws IOException {
+        if (events == null || connected) return;
+        connected = true;
+        events.fire(Phase.CONNECT_START);
+        connection.connect();
+        events.fire(Phase.CONNECT_END);
+        events.fire(Phase.CONNECTION_ACQUIRED);
+    }
+
+    /** Gövde akışı kapanınca REQUEST_BODY_END. */
+    private OutputStream bodyEnd(OutputStream out) {
+        final CallEvents ev = events;
+        if (ev == null) return out;
+        return new FilterOutputStream(out) {
+            private boolean closed;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                super.close();
+                if (!closed) {
+                    closed = true;
+                    ev.fire(Phase.REQUEST_BODY_END);
+                }
+            }
+        };
+    }
+
     // HttpConnectionAdapter.java (readStream metodu güncellendi)
 //    private String readStream(InputStream stream, HttpURLConnection connection) throws IOException {
 //        if (stream == null) {
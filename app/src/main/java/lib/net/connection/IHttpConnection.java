@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import lib.net.event.CallEvents;
+
 public interface IHttpConnection {
     void setConnectTimeout(int timeout);
 
@@ -31,7 +33,47 @@ public interface IHttpConnection {
 
     OutputStream getOutputStream() throws IOException;
 
+    /**
+     * Gövdeyi belleğe toplamadan akış olarak gönderir.
+     * contentLength >= 0 ise sabit uzunluk, aksi halde chunked transfer kullanılır.
+     * Varsayılan: getOutputStream()'e yazar (adapter akış desteği sunmuyorsa).
+     */
+    default void streamingBody(long contentLength, StreamingBody body) throws IOException {
+        setDoOutput(true);
+        try (OutputStream out = getOutputStream()) {
+            body.writeTo(out);
+        }
+    }
+
     String getHeaderField(String key);
 
+    /**
+     * Denemenin olay kaynağı (bkz. CallEventListener). Adapter'lar DNS/connect/gövde yazımı gibi
+     * yalnızca kendilerinin gördüğü aşamaları buna bildirir. Varsayılan: olay üretilmez.
+     */
+    default void setCallEvents(CallEvents events) {
+    }
+
+    /**
+     * İsteği gönderir ve yanıt başlıkları hazır olunca callback'i çağırır.
+     * Varsayılan: getResponseCode() ile çağıran thread'de bloklayarak bekler;
+     * OkHttp adapter'ı bunu call.enqueue ile thread tutmadan yapar.
+     */
+    default void sendAsync(ResponseCallback callback) {
+        try {
+            getResponseCode();
+        } catch (IOException e) {
+            callback.onFailure(e);
+            return;
+        }
+        callback.onResponse();
+    }
+
+    interface ResponseCallback {
+        void onResponse();
+
+        void onFailure(IOException e);
+    }
+
     void disconnect();
 }
\ No newline at end of file
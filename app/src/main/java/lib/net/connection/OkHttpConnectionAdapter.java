@@ -9,18 +9,23 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import lib.net.event.CallEvents;
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSink;
 
 /**
  * OkHttp tabanlı IHttpConnection implementasyonu.
  * - Request konfigürasyonu bu nesne üzerinde yapılır.
  * - İlk kez getResponseCode()/getInputStream()/getErrorStream() çağrıldığında HTTP isteği gönderilir.
  * - getOutputStream(), body verisini buffer'da toplar; execute sırasında body olarak gönderilir.
+ * - streamingBody(...) ile verilen gövde ise buffer'a alınmadan gönderim sırasında BufferedSink'e yazılır.
+ * - setCallEvents(...) verildiyse OkHttp'nin EventListener olayları (DNS, connect, TLS, ...) ona köprülenir.
  * <p>
  * Notlar:
  * - OkHttp, gzip'i varsayılan olarak şeffaf şekilde açar (decompress). Content-Encoding kontrolü yapmana çoğu zaman gerek kalmaz.
@@ -30,6 +35,7 @@ public class OkHttpConnectionAdapter implements IHttpConnection {
 
     private final String url;
     private final OkHttpClient baseClient;
+    private final OkHttpConnectionFactory clientSource; // null ise her istekte client türetilir
 
     // Request config
     private String method = "GET";
@@ -45,13 +51,29 @@ public class OkHttpConnectionAdapter implements IHttpConnection {
     // Body buffer
     private final ByteArrayOutputStream bodyBuffer = new ByteArrayOutputStream();
 
+    // Akış modu: gövde gönderim sırasında doğrudan BufferedSink'e yazılır (buffer kullanılmaz)
+    private StreamingBody streamingBody;
+    private long streamingLength = -1;
+
     // Execution state
     private volatile boolean executed = false;
     private Response response;
+    private volatile Call call; // başka thread'den disconnect() ile iptal edilebilsin
+    private CallEvents events;  // istek tag'i olarak OkHttpEventBridge'e taşınır
 
     public OkHttpConnectionAdapter(String url, OkHttpClient baseClient) {
         this.url = url;
         this.baseClient = baseClient;
+        this.clientSource = null;
+    }
+
+    /**
+     * Türetilmiş client'ları factory'nin önbelleğinden alır.
+     */
+    public OkHttpConnectionAdapter(String url, OkHttpConnectionFactory factory) {
+        this.url = url;
+        this.baseClient = null;
+        this.clientSource = factory;
     }
 
     // -------------------- IHttpConnection --------------------
@@ -139,14 +161,28 @@ public class OkHttpConnectionAdapter implements IHttpConnection {
         return bodyBuffer;
     }
 
+    @Override
+    public void streamingBody(long contentLength, StreamingBody body) {
+        this.doOutput = true;
+        this.streamingBody = body;
+        this.streamingLength = contentLength;
+    }
+
     @Override
     public String getHeaderField(String key) {
         if (response == null) return null;
         return response.header(key);
     }
 
+    @Override
+    public void setCallEvents(CallEvents events) {
+        this.events = events;
+    }
+
     @Override
     public void disconnect() {
+        Call c = call;
+        if (c != null) c.cancel(); // yanıt beklenirken çağrıldıysa (örn. hedge kaybı) isteği kes
         try {
             if (response != null) response.close();
         } catch (Exception ignore) {
@@ -154,17 +190,61 @@ public class OkHttpConnectionAdapter implements IHttpConnection {
             response = null;
             executed = false;
             bodyBuffer.reset();
+            streamingBody = null;
+            streamingLength = -1;
+            call = null;
         }
     }
 
     // -------------------- Helpers --------------------
 
+    /**
+     * call.enqueue: yanıt beklenirken thread tutulmaz; callback OkHttp dispatcher thread'inde çalışır.
+     */
+    @Override
+    public void sendAsync(final ResponseCallback callback) {
+        final Call call;
+        synchronized (this) {
+            if (executed) {
+                callback.onResponse();
+                return;
+            }
+            call = newCall();
+            this.call = call;
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call c, Response r) {
+                synchronized (OkHttpConnectionAdapter.this) {
+                    response = r;
+                    executed = true;
+                }
+                callback.onResponse();
+            }
+
+            @Override
+            public void onFailure(Call c, IOException e) {
+                callback.onFailure(e);
+            }
+        });
+    }
+
     private synchronized void ensureExecuted() throws IOException {
         if (executed) return;
+        Call c = newCall();
+        call = c;
+        response = c.execute(); // blocking; zaten worker thread’de çalışıyor
+        executed = true;
+    }
+
+    private Call newCall() {
 
-        OkHttpClient client = configureClient(baseClient, connectTimeoutMs, readTimeoutMs, followRedirects);
+        OkHttpClient client = (clientSource != null)
+                ? clientSource.clientFor(connectTimeoutMs, readTimeoutMs, followRedirects)
+                : configureClient(baseClient, connectTimeoutMs, readTimeoutMs, followRedirects);
 
         Request.Builder rb = new Request.Builder().url(url);
+        if (events != null) rb.tag(CallEvents.class, events);
 
         // Headers
         for (Map.Entry<String, String> h : headers.entrySet()) {
@@ -172,10 +252,15 @@ public class OkHttpConnectionAdapter implements IHttpConnection {
         }
 
         // Request body
-        byte[] bodyBytes = bodyBuffer.toByteArray();
         boolean hasBody = doOutput || methodAllowsRequestBody(method);
         RequestBody requestBody = null;
-        if (hasBody) {
+        if (hasBody && streamingBody != null) {
+            String contentType = headers.getOrDefault("Content-Type", "application/json; charset=utf-8");
+            if (methodAcceptsBody(method)) {
+                requestBody = new SinkRequestBody(MediaType.parse(contentType), streamingLength, streamingBody);
+            }
+        } else if (hasBody) {
+            byte[] bodyBytes = bodyBuffer.toByteArray();
             String contentType = headers.getOrDefault("Content-Type", "application/json; charset=utf-8");
             MediaType mt = MediaType.parse(contentType);
             if (bodyBytes.length == 0 && requiresNonNullBody(method)) {
@@ -190,22 +275,54 @@ public class OkHttpConnectionAdapter implements IHttpConnection {
         // Method mapping
         rb.method(method, methodAcceptsBody(method) ? requestBody : null);
 
-        Call call = client.newCall(rb.build());
-        response = call.execute(); // blocking; zaten worker thread’de çalışıyor
-        executed = true;
+        return client.newCall(rb.build());
+    }
+
+    /**
+     * BodyWriter çıktısını ara buffer olmadan OkHttp'nin BufferedSink'ine aktarır.
+     * contentLength -1 ise OkHttp chunked transfer kullanır.
+     */
+    private static final class SinkRequestBody extends RequestBody {
+        private final MediaType mediaType;
+        private final long length;
+        private final StreamingBody body;
+
+        SinkRequestBody(MediaType mediaType, long length, StreamingBody body) {
+            this.mediaType = mediaType;
+            this.length = length;
+            this.body = body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return mediaType;
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            body.writeTo(sink.outputStream());
+        }
     }
 
     private static boolean isErrorStatus(int code) {
         return code >= 400;
     }
 
-    private static OkHttpClient configureClient(OkHttpClient base,
+    static OkHttpClient configureClient(OkHttpClient base,
                                                 int connectTimeoutMs,
                                                 int readTimeoutMs,
                                                 boolean followRedirects) {
         OkHttpClient.Builder b = base.newBuilder()
                 .followRedirects(followRedirects)
                 .followSslRedirects(followRedirects);
+        if (!(base.eventListenerFactory() instanceof OkHttpEventBridge.Factory)) {
+            b.eventListenerFactory(new OkHttpEventBridge.Factory(base.eventListenerFactory()));
+        }
         if (connectTimeoutMs > 0) b.connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS);
         if (readTimeoutMs > 0) {
             b.readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS);
@@ -1,25 +1,124 @@
 package lib.net.connection;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import okhttp3.OkHttpClient;
 
 /**
  * OkHttp tabanlı IHttpConnectionFactory.
  * NetworkManager.create(baseUrl, factory) ile verildiğinde tüm HTTP çağrıları OkHttp üzerinden yapılır.
+ * <p>
+ * Timeout/redirect ayarı farklı olan istekler için türetilen OkHttpClient'lar
+ * (connectTimeout, readTimeout, followRedirects) anahtarıyla sınırlı bir LRU'da tutulur;
+ * her attempt'te newBuilder().build() yapılmaz. Ayarlar base client ile aynıysa base client kullanılır.
+ * Base client'a CallEventListener köprüsü takılır (client'ın kendi EventListener'ı korunur).
  */
 public class OkHttpConnectionFactory implements IHttpConnectionFactory {
 
+    private static final int DEFAULT_MAX_CLIENTS = 16;
+
     private final OkHttpClient baseClient;
+    private final Map<ClientKey, OkHttpClient> clients;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
 
     public OkHttpConnectionFactory() {
         this(new OkHttpClient());
     }
 
     public OkHttpConnectionFactory(OkHttpClient client) {
-        this.baseClient = (client != null) ? client : new OkHttpClient();
+        this(client, DEFAULT_MAX_CLIENTS);
+    }
+
+    public OkHttpConnectionFactory(OkHttpClient client, final int maxCachedClients) {
+        this.baseClient = OkHttpEventBridge.install((client != null) ? client : new OkHttpClient());
+        final int max = Math.max(1, maxCachedClients);
+        this.clients = new LinkedHashMap<ClientKey, OkHttpClient>(max, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClientKey, OkHttpClient> eldest) {
+                return size() > max;
+            }
+        };
     }
 
     @Override
     public IHttpConnection createConnection(String url) {
-        return new OkHttpConnectionAdapter(url, baseClient);
+        return new OkHttpConnectionAdapter(url, this);
+    }
+
+    /**
+     * İstenen ayarlara uygun client. Değer <= 0 ise base client'ın ayarı korunur.
+     */
+    public OkHttpClient clientFor(int connectTimeoutMs, int readTimeoutMs, boolean followRedirects) {
+        if (matchesBase(connectTimeoutMs, readTimeoutMs, followRedirects)) {
+            hits.incrementAndGet();
+            return baseClient;
+        }
+        ClientKey key = new ClientKey(connectTimeoutMs, readTimeoutMs, followRedirects);
+        synchronized (clients) {
+            OkHttpClient c = clients.get(key);
+            if (c != null) {
+                hits.incrementAndGet();
+                return c;
+            }
+            misses.incrementAndGet();
+            c = OkHttpConnectionAdapter.configureClient(baseClient, connectTimeoutMs, readTimeoutMs, followRedirects);
+            clients.put(key, c);
+            return c;
+        }
+    }
+
+    public long cacheHits() {
+        return hits.get();
+    }
+
+    public long cacheMisses() {
+        return misses.get();
+    }
+
+    public int cachedClientCount() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    private boolean matchesBase(int connectTimeoutMs, int readTimeoutMs, boolean followRedirects) {
+        return baseClient.followRedirects() == followRedirects
+                && baseClient.followSslRedirects() == followRedirects
+                && (connectTimeoutMs <= 0 || baseClient.connectTimeoutMillis() == connectTimeoutMs)
+                && (readTimeoutMs <= 0 || (baseClient.readTimeoutMillis() == readTimeoutMs
+                && baseClient.writeTimeoutMillis() == readTimeoutMs));
+    }
+
+    private static final class ClientKey {
+        final int connectTimeoutMs;
+        final int readTimeoutMs;
+        final boolean followRedirects;
+
+        ClientKey(int connectTimeoutMs, int readTimeoutMs, boolean followRedirects) {
+            this.connectTimeoutMs = connectTimeoutMs;
+            this.readTimeoutMs = readTimeoutMs;
+            this.followRedirects = followRedirects;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ClientKey)) return false;
+            ClientKey k = (ClientKey) o;
+            return connectTimeoutMs == k.connectTimeoutMs
+                    && readTimeoutMs == k.readTimeoutMs
+                    && followRedirects == k.followRedirects;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = connectTimeoutMs;
+            h = 31 * h + readTimeoutMs;
+            return 31 * h + (followRedirects ? 1 : 0);
+        }
     }
 }
@@ -0,0 +1,212 @@
+package lib.net.connection;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import lib.net.event.CallEventListener.Phase;
+import lib.net.event.CallEvents;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp'nin EventListener'ını CallEvents'e köprüler. CallEvents isteğe tag olarak takılır
+ * (OkHttpConnectionAdapter); tag'i olmayan çağrılarda yalnızca client'ın kendi dinleyicisi çalışır.
+ * Client'ta önceden tanımlı EventListener.Factory korunur: tüm olaylar ona da iletilir.
+ */
+final class OkHttpEventBridge extends EventListener {
+
+    /** Client'a takılan fabrika; base client'ın dinleyici fabrikasını sarar. */
+    static final class Factory implements EventListener.Factory {
+        private final EventListener.Factory delegate;
+
+        Factory(EventListener.Factory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            EventListener inner = delegate.create(call);
+            CallEvents events = call.request().tag(CallEvents.class);
+            return events != null ? new OkHttpEventBridge(events, inner) : inner;
+        }
+    }
+
+    /** Köprü takılı değilse takılmış bir kopya; takılıysa client'ın kendisi. */
+    static OkHttpClient install(OkHttpClient client) {
+        if (client.eventListenerFactory() instanceof Factory) return client;
+        return client.newBuilder().eventListenerFactory(new Factory(client.eventListenerFactory())).build();
+    }
+
+    private final CallEvents events;
+    private final EventListener inner;
+
+    private OkHttpEventBridge(CallEvents events, EventListener inner) {
+        this.events = events;
+        this.inner = inner;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        inner.callStart(call);
+    }
+
+    @Override
+    public void proxySelectStart(Call call, HttpUrl url) {
+        inner.proxySelectStart(call, url);
+    }
+
+    @Override
+    public void proxySelectEnd(Call call, HttpUrl url, List<Proxy> proxies) {
+        inner.proxySelectEnd(call, url, proxies);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        events.fire(Phase.DNS_START);
+        inner.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        events.fire(Phase.DNS_END);
+        inner.dnsEnd(call, domainName, addresses);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        events.fire(Phase.CONNECT_START);
+        inner.connectStart(call, address, proxy);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        events.fire(Phase.SECURE_CONNECT_START);
+        inner.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        events.fire(Phase.SECURE_CONNECT_END);
+        inner.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        events.fire(Phase.CONNECT_END);
+        inner.connectEnd(call, address, proxy, protocol);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol, IOException ioe) {
+        inner.connectFailed(call, address, proxy, protocol, ioe);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        events.fire(Phase.CONNECTION_ACQUIRED);
+        inner.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+        inner.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        inner.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        events.fire(Phase.REQUEST_HEADERS_END);
+        inner.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(Call call) {
+        inner.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        events.fire(Phase.REQUEST_BODY_END);
+        inner.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void requestFailed(Call call, IOException ioe) {
+        inner.requestFailed(call, ioe);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        events.fire(Phase.RESPONSE_HEADERS_START);
+        inner.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        inner.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        inner.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        inner.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseFailed(Call call, IOException ioe) {
+        inner.responseFailed(call, ioe);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        inner.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        inner.callFailed(call, ioe);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        inner.canceled(call);
+    }
+
+    @Override
+    public void satisfactionFailure(Call call, Response response) {
+        inner.satisfactionFailure(call, response);
+    }
+
+    @Override
+    public void cacheHit(Call call, Response response) {
+        inner.cacheHit(call, response);
+    }
+
+    @Override
+    public void cacheMiss(Call call) {
+        inner.cacheMiss(call);
+    }
+
+    @Override
+    public void cacheConditionalHit(Call call, Response cachedResponse) {
+        inner.cacheConditionalHit(call, cachedResponse);
+    }
+}
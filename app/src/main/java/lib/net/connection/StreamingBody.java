@@ -0,0 +1,13 @@
+package lib.net.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * İstek gövdesini doğrudan bağlantının çıkış akışına yazan geri çağrı.
+ * OkHttp'de gönderim sırasında (BufferedSink üzerinde) çağrılır; tekrar denemede yeniden çağrılabilir.
+ */
+@FunctionalInterface
+public interface StreamingBody {
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,43 @@
+package lib.net.dispatch;
+
+/**
+ * Motora aynı anda verilebilecek iş sayısı. Her tamamlanan işin son denemesinin RTT'si ve sonucu bildirilir;
+ * uyarlanabilir uygulamalar (VegasLimit) sınırı buna göre büyütür/küçültür.
+ */
+public interface ConcurrencyLimit {
+
+    /** Örneğin sonucu; yalnızca SUCCESS sunucunun gerçek yanıt süresini gösterir. */
+    enum Outcome {
+        /** Yanıt alındı (5xx/429 hariç) */
+        SUCCESS,
+        /** Ağ hatası, zaman aşımı, 5xx/429 ya da hiç deneme yapılamadı */
+        FAILED,
+        /** Koşu bırakıldı (hedge kaybı, iptal, motorun reddi) */
+        ABANDONED
+    }
+
+    /** Şu anki sınır (>= 1). */
+    int limit();
+
+    /**
+     * @param rttNanos işin son denemesinin süresi (retry beklemeleri hariç)
+     * @param inFlight örnek alındığında çalışan iş sayısı (bu iş dahil)
+     * @param outcome  denemenin sonucu
+     */
+    void onSample(long rttNanos, int inFlight, Outcome outcome);
+
+    /** Sabit sınır; örnekleri yok sayar. */
+    static ConcurrencyLimit fixed(final int limit) {
+        final int l = Math.max(1, limit);
+        return new ConcurrencyLimit() {
+            @Override
+            public int limit() {
+                return l;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inFlight, Outcome outcome) {
+            }
+        };
+    }
+}
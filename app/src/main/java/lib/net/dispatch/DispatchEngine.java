@@ -0,0 +1,24 @@
+package lib.net.dispatch;
+
+/**
+ * NetworkManager'ın istekleri nasıl koşturacağını belirleyen motor.
+ * - ThreadPoolDispatchEngine   : sabit worker havuzu + sınırlı FIFO kuyruk (varsayılan)
+ * - VirtualThreadDispatchEngine: istek başına virtual thread (JVM 21+ sunucu kullanımı)
+ * - OkHttpAsyncDispatchEngine  : call.enqueue ile non-blocking; in-flight sayısı thread sayısından bağımsız
+ */
+public interface DispatchEngine {
+
+    /** İşi kabul et; kapasite doluysa veya motor kapalıysa false. */
+    boolean submit(DispatchJob job);
+
+    /** Kuyrukta bekleyen iş sayısı. */
+    int queued();
+
+    /** Öncelik şeridinde bekleyen iş sayısı. */
+    int queued(Priority lane);
+
+    /** Şu an çalışan (in-flight) iş sayısı. */
+    int inFlight();
+
+    void shutdown();
+}
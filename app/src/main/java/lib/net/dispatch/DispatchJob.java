@@ -0,0 +1,46 @@
+package lib.net.dispatch;
+
+/**
+ * DispatchEngine'e verilen iş birimi (NetworkManager'daki tek bir istek).
+ */
+public interface DispatchJob {
+
+    /**
+     * İşi çağıran thread'de bloklayarak çalıştır. Retry gerekirse iş backoff süresince park edilir ve
+     * run() döner; süre dolunca sonraki deneme motora ayrı bir iş olarak yeniden verilir.
+     */
+    void run();
+
+    /**
+     * İşi thread tutmadan başlat; iş tamamen bittiğinde onDone tam bir kez çağrılır.
+     * Yanıt beklemesi bağlantının sendAsync'ine, retry beklemeleri scheduler'a bırakılır.
+     */
+    void runAsync(Runnable onDone);
+
+    /**
+     * Motor kabul ettiği işi hiç koşturamayacaksa (kapanış, alttaki motorun reddi) run yerine çağrılır;
+     * iş sonucunu ret olarak teslim etmeli. Varsayılan: hiçbir şey.
+     */
+    default void reject() {
+    }
+
+    /** Koşu bittikten sonra: son denemenin süresi (ns); -1 = bilinmiyor, motor koşunun tamamını ölçer. */
+    default long attemptNanos() {
+        return -1;
+    }
+
+    /** Koşu bittikten sonra: son denemenin sonucu (uyarlanabilir sınır yalnızca başarılıları örnek alır). */
+    default ConcurrencyLimit.Outcome outcome() {
+        return ConcurrencyLimit.Outcome.SUCCESS;
+    }
+
+    /** Kuyruktaki öncelik şeridi. */
+    default Priority priority() {
+        return Priority.USER_VISIBLE;
+    }
+
+    /** Hedef host (scheme + authority); host bazlı sınırlama için. null = ortak grup. */
+    default String host() {
+        return null;
+    }
+}
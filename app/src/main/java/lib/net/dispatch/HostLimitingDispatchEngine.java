@@ -0,0 +1,318 @@
+package lib.net.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lib.net.util.NetworkConfig;
+
+/**
+ * Başka bir motorun önüne konan host bazlı sınırlayıcı (OkHttp Dispatcher'ın maxRequests/maxRequestsPerHost'u gibi,
+ * ama bağlantı fabrikasından bağımsız).
+ * - Bir host'a aynı anda en fazla maxPerHost iş çalışır; fazlası o host'un kuyruğunda bekler.
+ * - Alttaki motora toplamda en fazla limit.limit() iş verilir; boşalan yer host'lar arasında sırayla (round-robin) dağıtılır.
+ *   Sınır sabit olabilir ya da tamamlanan işlerin RTT'sine göre uyarlanabilir (VegasLimit).
+ * - Host kuyrukları öncelik şeritlidir; IMMEDIATE işi olan uygun host sırasını beklemez.
+ * Yavaş bir host tüm worker'ları tutamaz, diğer host'ların istekleri onun arkasında beklemez.
+ */
+public class HostLimitingDispatchEngine implements DispatchEngine {
+
+    private final DispatchEngine delegate;
+    private final ConcurrencyLimit limit;
+    private final int maxPerHost;
+    private final int queueCapacity;
+    private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+
+    // Durum this üzerinde senkronize
+    private final Map<String, Host> hosts = new HashMap<>();
+    private final ArrayDeque<Host> rotation = new ArrayDeque<>();
+    private int admitted;
+    private int pending;
+
+    /**
+     * @param delegate      işleri asıl koşturan motor
+     * @param maxTotal      alttaki motora aynı anda verilecek iş sayısı (genelde worker / in-flight sınırı)
+     * @param maxPerHost    host başına aynı anda çalışabilecek iş sayısı
+     * @param queueCapacity tüm host kuyruklarında bekleyebilecek toplam iş sayısı
+     */
+    public HostLimitingDispatchEngine(DispatchEngine delegate, int maxTotal, int maxPerHost, int queueCapacity) {
+        this(delegate, ConcurrencyLimit.fixed(maxTotal), maxPerHost, queueCapacity);
+    }
+
+    /** @param limit toplam sınır; her işin son denemesinin RTT'si ve sonucu limit'e bildirilir */
+    public HostLimitingDispatchEngine(DispatchEngine delegate, ConcurrencyLimit limit, int maxPerHost, int queueCapacity) {
+        if (delegate == null) throw new IllegalArgumentException("delegate == null");
+        if (limit == null) throw new IllegalArgumentException("limit == null");
+        this.delegate = delegate;
+        this.limit = limit;
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    @Override
+    public boolean submit(DispatchJob job) {
+        if (shuttingDown.get()) return false;
+        synchronized (this) {
+            if (pending >= queueCapacity) return false;
+            String key = hostOf(job);
+            Host h = hosts.get(key);
+            if (h == null) {
+                h = new Host(key, queueCapacity);
+                hosts.put(key, h);
+            }
+            if (!h.queue.offer(job)) return false;
+            pending++;
+            if (!h.rotating) {
+                h.rotating = true;
+                rotation.addLast(h);
+            }
+        }
+        promote();
+        return true;
+    }
+
+    @Override
+    public synchronized int queued() {
+        return pending + delegate.queued();
+    }
+
+    @Override
+    public synchronized int queued(Priority lane) {
+        int n = delegate.queued(lane);
+        for (Host h : hosts.values()) n += h.waiting(lane);
+        return n;
+    }
+
+    @Override
+    public int inFlight() {
+        return delegate.inFlight();
+    }
+
+    /** Host'un kuyruğunda (henüz motora verilmemiş) bekleyen iş sayısı. */
+    public synchronized int queued(String host) {
+        Host h = hosts.get(host);
+        return h != null ? h.waiting() : 0;
+    }
+
+    /** Host'a verilmiş (motor kuyruğunda veya çalışan) iş sayısı. */
+    public synchronized int inFlight(String host) {
+        Host h = hosts.get(host);
+        return h != null ? h.inFlight : 0;
+    }
+
+    /** Host -> {bekleyen, in-flight} anlık görüntüsü. */
+    public synchronized Map<String, int[]> hostGauges() {
+        Map<String, int[]> out = new LinkedHashMap<>();
+        for (Host h : hosts.values()) out.put(h.name, new int[]{h.waiting(), h.inFlight});
+        return out;
+    }
+
+    public ConcurrencyLimit concurrencyLimit() {
+        return limit;
+    }
+
+    /** Host kuyruklarında bekleyen işler motora hiç verilmeyeceği için reddedilir. */
+    @Override
+    public void shutdown() {
+        if (!shuttingDown.compareAndSet(false, true)) return;
+        delegate.shutdown();
+        List<DispatchJob> dropped = new ArrayList<>();
+        synchronized (this) {
+            for (Host h : hosts.values()) {
+                dropped.addAll(h.stalled);
+                h.stalled.clear();
+                DispatchJob j;
+                while ((j = h.queue.poll()) != null) dropped.add(j);
+            }
+            pending = 0;
+            rotation.clear();
+        }
+        for (DispatchJob j : dropped) reject(j);
+    }
+
+    /* ===== yönlendirme ===== */
+
+    /**
+     * Boş yer oldukça host'lardan sırayla iş alıp alttaki motora verir. Motor işi almazsa iş host'un
+     * başına geri döner (sırasını kaybetmez, yeri korunur) ve ilk release'te tekrar denenir;
+     * tekrar deneme tetiklenmeyecekse (kapanış, çalışan iş yok) iş reddedilir.
+     */
+    private void promote() {
+        while (!shuttingDown.get()) {
+            Host h;
+            DispatchJob job;
+            synchronized (this) {
+                h = nextHost();
+                if (h == null) return;
+                job = h.next();
+                pending--;
+                h.inFlight++;
+                admitted++;
+                if (h.waiting() > 0) {
+                    rotation.addLast(h);
+                } else {
+                    h.rotating = false;
+                }
+            }
+            if (!delegate.submit(new Admitted(h, job))) {
+                boolean drop;
+                synchronized (this) {
+                    h.inFlight--;
+                    admitted--;
+                    drop = shuttingDown.get() || admitted == 0;
+                    if (!drop) {
+                        h.stalled.addFirst(job);
+                        pending++;
+                        if (!h.rotating) {
+                            h.rotating = true;
+                            rotation.addLast(h);
+                        }
+                    } else if (h.inFlight == 0 && h.waiting() == 0) {
+                        hosts.remove(h.name);
+                    }
+                }
+                if (drop) reject(job);
+                return;
+            }
+        }
+    }
+
+    /** Lock altında: sıradaki uygun host (rotation'dan çıkarılmış halde) veya null. */
+    private Host nextHost() {
+        if (admitted >= limit.limit()) return null;
+        // IMMEDIATE bekleyen uygun host sırasını beklemez
+        for (Host h : rotation) {
+            if (h.inFlight < maxPerHost && h.waiting(Priority.IMMEDIATE) > 0) {
+                rotation.remove(h);
+                return h;
+            }
+        }
+        for (int i = rotation.size(); i > 0; i--) {
+            Host h = rotation.pollFirst();
+            if (h.inFlight < maxPerHost) return h;
+            rotation.addLast(h);
+        }
+        return null;
+    }
+
+    private void release(Host h, long rttNanos, ConcurrencyLimit.Outcome outcome) {
+        int inFlight;
+        synchronized (this) {
+            inFlight = admitted;
+            h.inFlight--;
+            admitted--;
+            if (h.inFlight == 0 && h.waiting() == 0) hosts.remove(h.name);
+        }
+        if (rttNanos > 0) limit.onSample(rttNanos, inFlight, outcome);
+        promote();
+    }
+
+    private static void reject(DispatchJob job) {
+        try {
+            job.reject();
+        } catch (RuntimeException ignore) {
+        }
+    }
+
+    private static String hostOf(DispatchJob job) {
+        String host = job.host();
+        return host != null ? host : "";
+    }
+
+    private static final class Host {
+        final String name;
+        final LaneQueue queue;
+        // Sırası gelip motorca alınmayan işler; kuyruktan önce verilir
+        final ArrayDeque<DispatchJob> stalled = new ArrayDeque<>();
+        int inFlight;
+        boolean rotating;
+
+        Host(String name, int capacity) {
+            this.name = name;
+            this.queue = new LaneQueue(capacity, NetworkConfig.PRIORITY_AGING_MS);
+        }
+
+        DispatchJob next() {
+            DispatchJob j = stalled.pollFirst();
+            return j != null ? j : queue.poll();
+        }
+
+        int waiting() {
+            return stalled.size() + queue.size();
+        }
+
+        int waiting(Priority lane) {
+            int n = queue.size(lane);
+            for (DispatchJob j : stalled) if (j.priority() == lane) n++;
+            return n;
+        }
+    }
+
+    /**
+     * Alttaki motora verilen sarmalayıcı: iş bitince (run dönünce / onDone) host yeri boşalır
+     * ve işin son denemesinin süresi (bilinmiyorsa başlangıçtan bitişe geçen süre) sınıra RTT örneği olarak bildirilir.
+     */
+    private final class Admitted implements DispatchJob {
+        private final Host host;
+        private final DispatchJob job;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile long startNs;
+
+        Admitted(Host host, DispatchJob job) {
+            this.host = host;
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            startNs = System.nanoTime();
+            try {
+                job.run();
+            } finally {
+                done();
+            }
+        }
+
+        @Override
+        public void runAsync(final Runnable onDone) {
+            startNs = System.nanoTime();
+            try {
+                job.runAsync(() -> {
+                    done();
+                    onDone.run();
+                });
+            } catch (RuntimeException e) {
+                done();
+                throw e;
+            }
+        }
+
+        @Override
+        public void reject() {
+            if (released.compareAndSet(false, true)) {
+                release(host, 0, ConcurrencyLimit.Outcome.ABANDONED);
+                job.reject();
+            }
+        }
+
+        @Override
+        public Priority priority() {
+            return job.priority();
+        }
+
+        @Override
+        public String host() {
+            return job.host();
+        }
+
+        private void done() {
+            if (!released.compareAndSet(false, true)) return;
+            long rtt = job.attemptNanos();
+            release(host, rtt >= 0 ? rtt : System.nanoTime() - startNs, job.outcome());
+        }
+    }
+}
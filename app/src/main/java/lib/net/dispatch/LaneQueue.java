@@ -0,0 +1,178 @@
+package lib.net.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lib.net.util.NetworkConfig;
+
+/**
+ * Öncelik şeritli, sınırlı iş kuyruğu (motorların FIFO kuyruğunun yerine).
+ * Sıradaki iş şöyle seçilir:
+ * 1) Yaşlanma: başı agingMs'den uzun bekleyen şerit varsa en eski bekleyen alınır (açlık olmaz).
+ * 2) IMMEDIATE şeridi doluysa oradan.
+ * 3) Diğer şeritler arasında ağırlıklı adil seçim (smooth weighted round-robin).
+ * Kapasite tüm şeritler için ortaktır.
+ * <p>
+ * Aşırı yük: etkileşimli bir şeritte (IMMEDIATE/USER_VISIBLE) lifoDepth kadar iş birikmişse o şerit LIFO'ya döner
+ * ve yaşlanma ona uygulanmaz; en yeni istek önce alınır, eskilerin çağıranı büyük olasılıkla çoktan vazgeçmiştir
+ * (süresi dolanlar bağlantı açılmadan düşer, bkz. ACommand.withDeadline).
+ */
+public final class LaneQueue {
+
+    private static final Priority[] LANES = Priority.values();
+
+    private final int capacity;
+    private final long agingNs;
+    private final int lifoDepth;
+    private final List<ArrayDeque<Node>> lanes;
+    private final int[] current = new int[LANES.length];
+    private int size;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    public LaneQueue(int capacity, long agingMs) {
+        this(capacity, agingMs, NetworkConfig.LIFO_OVERLOAD_DEPTH);
+    }
+
+    /** @param lifoDepth etkileşimli şeridin LIFO'ya döndüğü derinlik; &lt;= 0 ise hep FIFO */
+    public LaneQueue(int capacity, long agingMs, int lifoDepth) {
+        this.capacity = Math.max(1, capacity);
+        this.agingNs = TimeUnit.MILLISECONDS.toNanos(Math.max(0, agingMs));
+        this.lifoDepth = lifoDepth > 0 ? lifoDepth : Integer.MAX_VALUE;
+        this.lanes = new ArrayList<>(LANES.length);
+        for (int i = 0; i < LANES.length; i++) lanes.add(new ArrayDeque<>());
+    }
+
+    /** Kapasite doluysa false. */
+    public boolean offer(DispatchJob job) {
+        lock.lock();
+        try {
+            if (size >= capacity) return false;
+            lanes.get(laneOf(job)).addLast(new Node(job, System.nanoTime()));
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** İş gelene kadar bekler. */
+    public DispatchJob take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) notEmpty.await();
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Kuyruk boşsa null. */
+    public DispatchJob poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(DispatchJob job) {
+        lock.lock();
+        try {
+            for (ArrayDeque<Node> lane : lanes) {
+                Iterator<Node> it = lane.iterator();
+                while (it.hasNext()) {
+                    if (it.next().job == job) {
+                        it.remove();
+                        size--;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Şeritteki bekleyen iş sayısı. */
+    public int size(Priority lane) {
+        lock.lock();
+        try {
+            return lanes.get(lane.ordinal()).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ===== seçim (lock altında, size > 0) ===== */
+
+    private DispatchJob dequeue() {
+        int lane = agedLane(System.nanoTime());
+        if (lane < 0) lane = lanes.get(Priority.IMMEDIATE.ordinal()).isEmpty() ? weightedLane() : Priority.IMMEDIATE.ordinal();
+        size--;
+        return (overloaded(lane) ? lanes.get(lane).pollLast() : lanes.get(lane).pollFirst()).job;
+    }
+
+    private boolean overloaded(int lane) {
+        return LANES[lane].isInteractive() && lanes.get(lane).size() >= lifoDepth;
+    }
+
+    private int agedLane(long now) {
+        int lane = -1;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < lanes.size(); i++) {
+            Node head = lanes.get(i).peekFirst();
+            if (head != null && now - head.enqueuedNs >= agingNs && head.enqueuedNs < oldest && !overloaded(i)) {
+                oldest = head.enqueuedNs;
+                lane = i;
+            }
+        }
+        return lane;
+    }
+
+    private int weightedLane() {
+        int total = 0;
+        int best = -1;
+        for (int i = 0; i < lanes.size(); i++) {
+            if (lanes.get(i).isEmpty() || LANES[i].weight == 0) continue;
+            current[i] += LANES[i].weight;
+            total += LANES[i].weight;
+            if (best < 0 || current[i] > current[best]) best = i;
+        }
+        current[best] -= total;
+        return best;
+    }
+
+    private static int laneOf(DispatchJob job) {
+        Priority p = job.priority();
+        return (p != null ? p : Priority.USER_VISIBLE).ordinal();
+    }
+
+    private static final class Node {
+        final DispatchJob job;
+        final long enqueuedNs;
+
+        Node(DispatchJob job, long enqueuedNs) {
+            this.job = job;
+            this.enqueuedNs = enqueuedNs;
+        }
+    }
+}
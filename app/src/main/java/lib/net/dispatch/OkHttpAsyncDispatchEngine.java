@@ -0,0 +1,103 @@
+package lib.net.dispatch;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lib.net.util.NetworkConfig;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * Non-blocking motor: işler DispatchJob.runAsync ile başlatılır; OkHttpConnectionAdapter yanıtı
+ * call.enqueue ile bekler, retry beklemeleri scheduler'dadır. Bekleyen istek thread tutmaz, bu yüzden
+ * in-flight sınırı (örn. 1000+) thread sayısından bağımsızdır.
+ * <p>
+ * - İstek hazırlığı (başlıklar, gövde kurulumu) tek bir "launcher" thread'inde yapılır.
+ * - Yanıt gövdesinin okunması/parse'ı OkHttp dispatcher thread'inde çalışır.
+ * - OkHttpConnectionFactory ile kullanılmalıdır; diğer bağlantılar sendAsync'te bloklar.
+ */
+public class OkHttpAsyncDispatchEngine implements DispatchEngine {
+
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor();
+    private final LaneQueue pending;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+
+    /**
+     * @param client        OkHttpConnectionFactory'nin kullandığı client; dispatcher.maxRequests ve maxRequestsPerHost
+     *                      maxInFlight'a çekilir (host başına sınır gerekiyorsa NetworkManager.Builder.maxRequestsPerHost
+     *                      ile HostLimitingDispatchEngine'de uygulanır; OkHttp'nin kendi gizli kuyruğunda beklenmez)
+     * @param maxInFlight   aynı anda yanıt bekleyebilecek istek sayısı
+     * @param queueCapacity sınır dolduğunda bekleyebilecek istek sayısı
+     */
+    public OkHttpAsyncDispatchEngine(OkHttpClient client, int maxInFlight, int queueCapacity) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.pending = new LaneQueue(queueCapacity, NetworkConfig.PRIORITY_AGING_MS);
+        if (client != null) {
+            Dispatcher d = client.dispatcher();
+            if (d.getMaxRequests() < this.maxInFlight) d.setMaxRequests(this.maxInFlight);
+            if (d.getMaxRequestsPerHost() < this.maxInFlight) d.setMaxRequestsPerHost(this.maxInFlight);
+        }
+    }
+
+    @Override
+    public boolean submit(DispatchJob job) {
+        if (shuttingDown.get() || !pending.offer(job)) return false;
+        try {
+            launcher.execute(this::drain);
+        } catch (RejectedExecutionException closed) {
+            pending.remove(job);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int queued() {
+        return pending.size();
+    }
+
+    @Override
+    public int queued(Priority lane) {
+        return pending.size(lane);
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void shutdown() {
+        if (shuttingDown.compareAndSet(false, true)) launcher.shutdownNow();
+    }
+
+    /** Yalnızca launcher thread'inde çalışır. */
+    private void drain() {
+        while (!shuttingDown.get() && inFlight.get() < maxInFlight) {
+            DispatchJob job = pending.poll();
+            if (job == null) return;
+            inFlight.incrementAndGet();
+            final AtomicBoolean done = new AtomicBoolean(false);
+            Runnable onDone = () -> {
+                if (done.compareAndSet(false, true)) {
+                    inFlight.decrementAndGet();
+                    try {
+                        launcher.execute(this::drain);
+                    } catch (RejectedExecutionException ignore) {
+                        // motor kapatıldı
+                    }
+                }
+            };
+            try {
+                job.runAsync(onDone);
+            } catch (Throwable t) {
+                onDone.run();
+            }
+        }
+    }
+}
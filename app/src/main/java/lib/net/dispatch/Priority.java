@@ -0,0 +1,24 @@
+package lib.net.dispatch;
+
+/**
+ * İstek öncelik şeridi. IMMEDIATE her zaman önce alınır; diğerleri ağırlıklarıyla orantılı pay alır
+ * (USER_VISIBLE 8 : PREFETCH 2 : BACKGROUND 1). Uzun bekleyen istekler yaşlanarak öne geçer (bkz. LaneQueue).
+ */
+public enum Priority {
+    IMMEDIATE(0),
+    USER_VISIBLE(8),
+    PREFETCH(2),
+    BACKGROUND(1);
+
+    /** Ağırlıklı adil sıralamadaki pay; 0 = katı öncelik. */
+    final int weight;
+
+    Priority(int weight) {
+        this.weight = weight;
+    }
+
+    /** Kullanıcının beklediği şeritler; aşırı yükte en yeni istek önce alınır (bkz. LaneQueue). */
+    public boolean isInteractive() {
+        return this == IMMEDIATE || this == USER_VISIBLE;
+    }
+}
@@ -0,0 +1,78 @@
+package lib.net.dispatch;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lib.net.util.NetworkConfig;
+
+/**
+ * Klasik model: threadCount worker, sınırlı öncelik şeritli kuyruktan (LaneQueue) take() ile iş çeker.
+ * Her worker deneme bitene kadar (yanıt beklemesi dahil) meşguldür; retry backoff'u worker tutmaz.
+ */
+public class ThreadPoolDispatchEngine implements DispatchEngine {
+
+    private final ExecutorService executor;
+    private final LaneQueue queue;
+    private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+    private final AtomicInteger active = new AtomicInteger();
+
+    public ThreadPoolDispatchEngine(int threadCount, int queueCapacity) {
+        this(threadCount, queueCapacity, NetworkConfig.PRIORITY_AGING_MS);
+    }
+
+    /** @param agingMs bu süreden uzun bekleyen iş, şeridinden bağımsız olarak öne geçer */
+    public ThreadPoolDispatchEngine(int threadCount, int queueCapacity, long agingMs) {
+        this.executor = Executors.newFixedThreadPool(threadCount);
+        this.queue = new LaneQueue(queueCapacity, agingMs);
+        for (int i = 0; i < threadCount; i++) {
+            executor.execute(this::workerLoop);
+        }
+    }
+
+    @Override
+    public boolean submit(DispatchJob job) {
+        return !shuttingDown.get() && queue.offer(job);
+    }
+
+    @Override
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public int queued(Priority lane) {
+        return queue.size(lane);
+    }
+
+    @Override
+    public int inFlight() {
+        return active.get();
+    }
+
+    @Override
+    public void shutdown() {
+        if (shuttingDown.compareAndSet(false, true)) executor.shutdownNow();
+    }
+
+    private void workerLoop() {
+        while (!shuttingDown.get()) {
+            DispatchJob job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            active.incrementAndGet();
+            try {
+                job.run();
+            } catch (Throwable ignore) {
+                // İş kendi hatasını teslim eder; worker ölmesin
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package lib.net.dispatch;
+
+/**
+ * TCP Vegas tarzı uyarlanabilir eşzamanlılık sınırı.
+ * Yüksüz RTT (gözlenen en küçük RTT) ile güncel (yumuşatılmış) RTT karşılaştırılarak sunucudaki
+ * tahmini kuyruk hesaplanır: queue = limit * (1 - rttNoLoad / rtt).
+ * - queue küçükse (<= alpha) ve sınır gerçekten kullanılıyorsa sınır artar,
+ * - queue büyükse (>= beta) sınır azalır; backend yavaşladığında yük otomatik olarak düşer.
+ * Karar yaklaşık bir tur (limit kadar örnek) başına bir kez, turun ortalama RTT'si ile verilir.
+ * Yüksüz RTT belirli aralıklarla yukarı bırakılır (baz değişirse, örn. ağ değişimi, takılı kalmasın).
+ * Yalnızca başarılı örnekler sayılır: hata/zaman aşımı süresi sunucunun yanıt süresi değildir.
+ */
+public final class VegasLimit implements ConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final int PROBE_ROUNDS = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    // Durum this üzerinde senkronize
+    private double limit;
+    private long rttNoLoadNs;
+    private double smoothedRttNs;
+    private int sinceProbe;
+    private long windowRttNs;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private long samples;
+
+    public VegasLimit(int minLimit, int initialLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    @Override
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, Outcome outcome) {
+        if (outcome != Outcome.SUCCESS || rttNanos <= 0) return;
+        samples++;
+        if (rttNoLoadNs == 0 || rttNanos < rttNoLoadNs) rttNoLoadNs = rttNanos;
+        smoothedRttNs = smoothedRttNs == 0 ? rttNanos : smoothedRttNs + SMOOTHING * (rttNanos - smoothedRttNs);
+
+        // Karar her örnekte değil, yaklaşık bir "tur" (limit kadar örnek) sonunda ortalama RTT ile verilir
+        windowRttNs += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        int current = (int) limit;
+        if (++windowSamples < current) return;
+        double rtt = (double) windowRttNs / windowSamples;
+        int used = windowMaxInFlight;
+        windowRttNs = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        double step = Math.max(1, Math.log10(current));
+        double queue = current * (1 - rttNoLoadNs / rtt);
+        if (queue <= step) {
+            // Sınırın yarısı bile kullanılmıyorsa RTT bilgisi sınır hakkında bir şey söylemez
+            if (used * 2 >= current) limit = Math.min(maxLimit, limit + step);
+        } else if (queue >= 2 * step) {
+            limit = Math.max(minLimit, limit - step);
+        }
+
+        if (++sinceProbe >= PROBE_ROUNDS) {
+            // Yüksüz RTT yavaşça yukarı bırakılır: baz gerçekten arttıysa yeniden öğrenilir,
+            // yük altında ölçüldüyse sonraki küçük örnekler onu hemen geri çeker
+            sinceProbe = 0;
+            rttNoLoadNs = (long) Math.min(rtt, rttNoLoadNs * 1.25);
+        }
+    }
+
+    /** Gözlenen yüksüz (en küçük) RTT, ms. */
+    public synchronized double rttNoLoadMs() {
+        return rttNoLoadNs / 1e6;
+    }
+
+    /** Yumuşatılmış güncel RTT, ms. */
+    public synchronized double smoothedRttMs() {
+        return smoothedRttNs / 1e6;
+    }
+
+    public synchronized long sampleCount() {
+        return samples;
+    }
+
+    public int minLimit() {
+        return minLimit;
+    }
+
+    public int maxLimit() {
+        return maxLimit;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "VegasLimit{limit=" + (int) limit + ", rttNoLoadMs=" + rttNoLoadNs / 1e6
+                + ", smoothedRttMs=" + smoothedRttNs / 1e6 + "}";
+    }
+}
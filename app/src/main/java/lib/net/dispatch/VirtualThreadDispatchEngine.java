@@ -0,0 +1,108 @@
+package lib.net.dispatch;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lib.net.util.NetworkConfig;
+
+/**
+ * İstek başına bir virtual thread (Java 21+). Bloklayan I/O platform thread tutmaz;
+ * eşzamanlılık maxInFlight izinli bir Semaphore ile sınırlanır. İşler LaneQueue'da bekler; izni alan thread
+ * kendi işini değil kuyruğun sıradaki (en öncelikli) işini çalıştırır.
+ * <p>
+ * Not: Android'de ve Java 21 öncesi JVM'lerde virtual thread yoktur; bu durumda cached thread havuzuna
+ * düşülür (isVirtual() false). Bu motor lib.net paketinin JVM sunucu kullanımı içindir.
+ */
+public class VirtualThreadDispatchEngine implements DispatchEngine {
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final Semaphore permits;
+    private final LaneQueue pending;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+
+    /**
+     * @param maxInFlight   aynı anda çalışan istek sınırı
+     * @param queueCapacity izin bekleyebilecek ek istek sayısı
+     */
+    public VirtualThreadDispatchEngine(int maxInFlight, int queueCapacity) {
+        ExecutorService vt = newVirtualThreadExecutor();
+        this.virtual = vt != null;
+        this.executor = (vt != null) ? vt : Executors.newCachedThreadPool();
+        this.permits = new Semaphore(Math.max(1, maxInFlight));
+        this.pending = new LaneQueue(Math.max(1, maxInFlight) + Math.max(0, queueCapacity),
+                NetworkConfig.PRIORITY_AGING_MS);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @Override
+    public boolean submit(final DispatchJob job) {
+        if (shuttingDown.get() || !pending.offer(job)) return false;
+        try {
+            // Her kabul edilen iş için bir thread; izin alınca kuyruktaki en öncelikli iş çalışır
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                DispatchJob next = pending.poll();
+                if (next == null) {
+                    permits.release();
+                    return;
+                }
+                active.incrementAndGet();
+                try {
+                    next.run();
+                } catch (Throwable ignore) {
+                } finally {
+                    active.decrementAndGet();
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RuntimeException rejected) {
+            pending.remove(job);
+            return false;
+        }
+    }
+
+    @Override
+    public int queued() {
+        return pending.size();
+    }
+
+    @Override
+    public int queued(Priority lane) {
+        return pending.size(lane);
+    }
+
+    @Override
+    public int inFlight() {
+        return active.get();
+    }
+
+    @Override
+    public void shutdown() {
+        if (shuttingDown.compareAndSet(false, true)) executor.shutdownNow();
+    }
+
+    /** Executors.newVirtualThreadPerTaskExecutor() (Java 21) — derleme hedefi 11 olduğu için reflection ile. */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (Exception | LinkageError unsupported) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package lib.net.event;
+
+import lib.net.command.ACommand;
+
+/**
+ * İsteğin aşama olayları (zaman damgalı). Interceptor'dan ayrıdır: olay nesnesi üretilmez,
+ * her olay tek bir çağrıdır (aşama + deneme no + System.nanoTime()).
+ * - NetworkManager: ENQUEUED, DEQUEUED, DELIVERED (attempt = 0)
+ * - ACommand: ATTEMPT_START, RESPONSE_HEADERS_END, BODY_READ_END, PARSE_END, ATTEMPT_FAILED
+ * - Bağlantı adapter'ları: DNS/CONNECT/TLS, CONNECTION_ACQUIRED, REQUEST_*_END, RESPONSE_HEADERS_START
+ *   (OkHttp'de OkHttp'nin EventListener'ı köprülenir; HttpURLConnection yalnızca connect ve gövde yazımını görür)
+ * Aynı dinleyici birçok thread'den çağrılır; hızlı dönmeli. Fırlatılan hatalar yutulur.
+ */
+public interface CallEventListener {
+
+    enum Phase {
+        ENQUEUED,
+        DEQUEUED,
+        ATTEMPT_START,
+        DNS_START,
+        DNS_END,
+        CONNECT_START,
+        SECURE_CONNECT_START,
+        SECURE_CONNECT_END,
+        CONNECT_END,
+        CONNECTION_ACQUIRED,
+        REQUEST_HEADERS_END,
+        REQUEST_BODY_END,
+        RESPONSE_HEADERS_START,
+        RESPONSE_HEADERS_END,
+        BODY_READ_END,
+        PARSE_END,
+        ATTEMPT_FAILED,
+        DELIVERED
+    }
+
+    /**
+     * @param attempt  1'den başlayan deneme numarası; istek düzeyindeki olaylarda 0
+     * @param nanoTime System.nanoTime() (monoton; yalnızca farkları anlamlıdır)
+     */
+    void onEvent(ACommand command, Phase phase, int attempt, long nanoTime);
+}
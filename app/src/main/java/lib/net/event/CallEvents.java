@@ -0,0 +1,38 @@
+package lib.net.event;
+
+import lib.net.command.ACommand;
+
+/**
+ * Bir denemenin olay kaynağı: dinleyici + komut + deneme numarası.
+ * ACommand her denemede bir tane oluşturup bağlantıya verir (IHttpConnection.setCallEvents);
+ * adapter'lar yalnızca fire(phase) çağırır.
+ */
+public final class CallEvents {
+
+    private final CallEventListener listener;
+    private final ACommand command;
+    private final int attempt;
+
+    public CallEvents(CallEventListener listener, ACommand command, int attempt) {
+        this.listener = listener;
+        this.command = command;
+        this.attempt = attempt;
+    }
+
+    public int attempt() {
+        return attempt;
+    }
+
+    public void fire(CallEventListener.Phase phase) {
+        fire(listener, command, phase, attempt);
+    }
+
+    /** Dinleyicinin hatası isteği etkilemez. */
+    public static void fire(CallEventListener listener, ACommand command, CallEventListener.Phase phase, int attempt) {
+        if (listener == null) return;
+        try {
+            listener.onEvent(command, phase, attempt, System.nanoTime());
+        } catch (RuntimeException ignore) {
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package lib.net.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Kilitsiz, HDR tarzı (log-lineer kovalı) gecikme histogramı.
+ * - Değerler mikrosaniye; her ikinin kuvveti aralığı 16 alt kovaya bölünür (göreli hata &lt;= %6.25).
+ * - Aralık 1 µs .. ~19 saat; kayıt O(1) (tek atomik artırma), yüzdelik okuma kova sayısıyla sınırlı.
+ * - windowMs &gt; 0 ise iki fazlı kayan pencere: okuma son 1-2 pencerenin kayıtlarını görür (eski gecikmeler düşer).
+ *   Faz değişiminde sıfırlama ile eşzamanlı yazılan tek tük kayıt kaybolabilir.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;            // 16
+    private static final int MAX_SHIFT = 32;
+    private static final int SIZE = SUB * (MAX_SHIFT + 2);   // 544
+    private static final long MAX_MICROS = (2L * SUB << MAX_SHIFT) - 1;
+
+    private final long windowMs;
+    private final AtomicLongArray[] phases;
+    private final AtomicLongArray epochs;
+
+    /** Kümülatif (hiç sıfırlanmayan) histogram. */
+    public LatencyHistogram() {
+        this(0);
+    }
+
+    public LatencyHistogram(long windowMs) {
+        this.windowMs = Math.max(0, windowMs);
+        int n = this.windowMs > 0 ? 2 : 1;
+        this.phases = new AtomicLongArray[n];
+        for (int i = 0; i < n; i++) phases[i] = new AtomicLongArray(SIZE);
+        this.epochs = new AtomicLongArray(n);
+    }
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    public void recordMicros(long micros) {
+        long v = Math.min(Math.max(0, micros), MAX_MICROS);
+        phases[phase()].incrementAndGet(index(v));
+    }
+
+    /** Kayıt sayısı. */
+    public long count() {
+        long n = 0;
+        for (int p : livePhases()) {
+            if (p < 0) continue;
+            AtomicLongArray a = phases[p];
+            for (int i = 0; i < SIZE; i++) n += a.get(i);
+        }
+        return n;
+    }
+
+    /**
+     * q yüzdeliği (0..1), ms. Kayıt yoksa -1.
+     * Dönen değer kovanın orta noktasıdır (HDR ile aynı hassasiyet).
+     */
+    public double percentileMs(double q) {
+        long[] counts = merged();
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return -1;
+        long target = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, q)) * total));
+        long seen = 0;
+        for (int i = 0; i < SIZE; i++) {
+            seen += counts[i];
+            if (seen >= target) return midpoint(i) / 1000.0;
+        }
+        return midpoint(SIZE - 1) / 1000.0;
+    }
+
+    /** En büyük kaydın bulunduğu kovanın üst sınırı, ms; kayıt yoksa -1. */
+    public double maxMs() {
+        long[] counts = merged();
+        for (int i = SIZE - 1; i >= 0; i--) {
+            if (counts[i] > 0) return (lowerBound(i) + width(i) - 1) / 1000.0;
+        }
+        return -1;
+    }
+
+    public void reset() {
+        for (AtomicLongArray a : phases) {
+            for (int i = 0; i < SIZE; i++) a.set(i, 0);
+        }
+    }
+
+    /* ===== kovalar ===== */
+
+    static int index(long v) {
+        if (v < 2 * SUB) return (int) v;
+        int shift = (63 - Long.numberOfLeadingZeros(v)) - SUB_BITS;
+        return SUB * shift + (int) (v >>> shift);
+    }
+
+    static long lowerBound(int index) {
+        if (index < 2 * SUB) return index;
+        int shift = index / SUB - 1;
+        return (long) (index - SUB * shift) << shift;
+    }
+
+    private static long width(int index) {
+        return index < 2 * SUB ? 1 : 1L << (index / SUB - 1);
+    }
+
+    private static double midpoint(int index) {
+        return lowerBound(index) + (width(index) - 1) / 2.0;
+    }
+
+    /* ===== fazlar ===== */
+
+    private int phase() {
+        if (windowMs == 0) return 0;
+        long epoch = System.currentTimeMillis() / windowMs + 1; // 0 = hiç kullanılmadı
+        int p = (int) (epoch & 1);
+        long seen = epochs.get(p);
+        if (seen < epoch && epochs.compareAndSet(p, seen, epoch)) {
+            AtomicLongArray a = phases[p];
+            for (int i = 0; i < SIZE; i++) a.set(i, 0);
+        }
+        return p;
+    }
+
+    private int[] livePhases() {
+        if (windowMs == 0) return new int[]{0};
+        long now = System.currentTimeMillis() / windowMs + 1;
+        int[] out = {-1, -1};
+        for (int p = 0; p < 2; p++) {
+            long e = epochs.get(p);
+            if (e > 0 && e > now - 2 && e <= now) out[p] = p;
+        }
+        return out;
+    }
+
+    private long[] merged() {
+        long[] counts = new long[SIZE];
+        for (int p : livePhases()) {
+            if (p < 0) continue;
+            AtomicLongArray a = phases[p];
+            for (int i = 0; i < SIZE; i++) counts[i] += a.get(i);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,317 @@
+package lib.net.metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import lib.net.util.NetworkConfig;
+
+/**
+ * İstek hattının gecikme/verim ölçümleri; yöntem + host + rota şablonu ile etiketlenir.
+ * - Gecikmeler aşamalara ayrılır (bkz. Stage) ve kilitsiz LatencyHistogram'lara yazılır.
+ * - Sayaçlar (istek, hata, retry, gelen/giden bayt) LongAdder; istek hızı RollingWindow ile.
+ * - Okuma (pull) API'si: snapshot() tüm serilerin p50/p95/p99 anlık görüntüsünü verir (dışa aktarım için).
+ * Rota şablonu yoldaki sayı/UUID parçalarını {id} yapar (/posts/42 -> /posts/{id}); toplam seri sayısı maxSeries ile
+ * sınırlı (host sayısı da dahil), fazlası tek bir "{other}" serisinde toplanır.
+ * NetworkManager kuyruk/teslim aşamalarını, ACommand bağlantı/TTFB/indirme/parse aşamalarını yazar.
+ */
+public final class NetMetrics {
+
+    /** Bir isteğin ölçülen aşamaları. */
+    public enum Stage {
+        /** Kuyrukta (ve kabul beklerken) geçen süre. */
+        QUEUE_WAIT,
+        /** Bağlantının hazırlanması ve istek gövdesinin yazılması. */
+        CONNECT,
+        /** İstek gönderildikten yanıt başlıkları gelene kadar. */
+        TTFB,
+        /** Gövde okumasında (ağdan veri beklerken) geçen süre. */
+        DOWNLOAD,
+        /** Gövdenin ayrıştırılması (akış modunda okuma beklemeleri hariç). */
+        PARSE,
+        /** Sonucun hazır olmasından sonuç executor'ında teslim edilmesine kadar. */
+        DELIVERY,
+        /** İsteğin verilmesinden teslimine kadar. */
+        TOTAL
+    }
+
+    private static final String OTHER = "{other}";
+
+    private final long windowMs;
+    private final int maxSeries;
+    private final ConcurrentHashMap<Tag, Recorder> series = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger(); // taşma serisi hariç
+    private final Tag overflow = new Tag(OTHER, OTHER, OTHER);
+
+    /** Kümülatif histogramlar, NetworkConfig.METRICS_MAX_SERIES seri. */
+    public NetMetrics() {
+        this(0, NetworkConfig.METRICS_MAX_SERIES);
+    }
+
+    /**
+     * @param windowMs  &gt; 0 ise histogramlar yalnızca son ~windowMs'i tutar (bkz. LatencyHistogram)
+     * @param maxSeries en fazla kaç seri tutulur ("{other}" taşma serisi dahil)
+     */
+    public NetMetrics(long windowMs, int maxSeries) {
+        this.windowMs = Math.max(0, windowMs);
+        this.maxSeries = Math.max(1, maxSeries);
+    }
+
+    /** İsteğin kaydedicisi; relativeUrl rota şablonuna çevrilir. */
+    public Recorder recorder(String method, String host, String relativeUrl) {
+        Tag tag = new Tag(method, host, routeOf(relativeUrl));
+        Recorder r = series.get(tag);
+        if (r != null) return r;
+        // Yer önce ayrılır: eşzamanlı yeni seriler sınırı aşamaz; son yer taşma serisinindir
+        if (created.incrementAndGet() >= maxSeries) {
+            created.decrementAndGet();
+            return seriesOf(overflow);
+        }
+        Recorder fresh = new Recorder(tag);
+        r = series.putIfAbsent(tag, fresh);
+        if (r == null) return fresh;
+        created.decrementAndGet();
+        return r;
+    }
+
+    private Recorder seriesOf(Tag tag) {
+        Recorder r = series.get(tag);
+        if (r != null) return r;
+        Recorder fresh = new Recorder(tag);
+        r = series.putIfAbsent(tag, fresh);
+        return r != null ? r : fresh;
+    }
+
+    /** Tüm serilerin anlık görüntüsü (etiket sırası kararlı değildir). */
+    public Map<Tag, Snapshot> snapshot() {
+        Map<Tag, Snapshot> out = new LinkedHashMap<>();
+        for (Recorder r : series.values()) out.put(r.tag, r.snapshot());
+        return out;
+    }
+
+    public void reset() {
+        series.clear();
+        created.set(0);
+    }
+
+    /**
+     * Yoldaki değişken parçaları {id} yapar: sorgu atılır; tamamen rakam, UUID ya da uzun hex olan parçalar değiştirilir.
+     */
+    public static String routeOf(String relativeUrl) {
+        if (relativeUrl == null || relativeUrl.isEmpty()) return "/";
+        int end = relativeUrl.length();
+        int q = relativeUrl.indexOf('?');
+        if (q >= 0) end = q;
+        int h = relativeUrl.indexOf('#');
+        if (h >= 0 && h < end) end = h;
+        StringBuilder sb = new StringBuilder(end + 8);
+        int start = 0;
+        while (start <= end) {
+            int slash = relativeUrl.indexOf('/', start);
+            if (slash < 0 || slash > end) slash = end;
+            String seg = relativeUrl.substring(start, slash);
+            sb.append(isVariable(seg) ? "{id}" : seg);
+            if (slash < end) sb.append('/');
+            start = slash + 1;
+        }
+        return sb.toString();
+    }
+
+    private static boolean isVariable(String seg) {
+        int n = seg.length();
+        if (n == 0) return false;
+        boolean digits = true, hex = true;
+        int dashes = 0;
+        for (int i = 0; i < n; i++) {
+            char c = seg.charAt(i);
+            if (c == '-') {
+                dashes++;
+                digits = false;
+                continue;
+            }
+            if (c < '0' || c > '9') digits = false;
+            if (Character.digit(c, 16) < 0) hex = false;
+        }
+        if (digits) return true;
+        if (!hex) return false;
+        return (n == 36 && dashes == 4) || (dashes == 0 && n >= 16);
+    }
+
+    /* ===== seri ===== */
+
+    /**
+     * Tek bir (yöntem, host, rota) serisine yazar. Tüm metotlar kilitsiz ve thread-safe;
+     * aşama histogramları ilk kayıtta oluşturulur.
+     */
+    public final class Recorder {
+        private final Tag tag;
+        private final AtomicReferenceArray<LatencyHistogram> stages =
+                new AtomicReferenceArray<>(Stage.values().length);
+        private final RollingWindow rate =
+                new RollingWindow(NetworkConfig.OUTCOME_WINDOW_MS, NetworkConfig.OUTCOME_WINDOW_BUCKETS);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+
+        private Recorder(Tag tag) {
+            this.tag = tag;
+        }
+
+        public Tag tag() {
+            return tag;
+        }
+
+        public void record(Stage stage, long nanos) {
+            if (nanos < 0) return;
+            histogram(stage).recordNanos(nanos);
+        }
+
+        public void bytesIn(long n) {
+            if (n > 0) bytesIn.add(n);
+        }
+
+        public void bytesOut(long n) {
+            if (n > 0) bytesOut.add(n);
+        }
+
+        /** Bir koşu bitti: attempts denemede (ilk deneme dahil) success sonucuyla. */
+        public void finished(int attempts, boolean success) {
+            requests.increment();
+            if (!success) errors.increment();
+            if (attempts > 1) retries.add(attempts - 1);
+            rate.record(!success);
+        }
+
+        public Snapshot snapshot() {
+            Map<Stage, Percentiles> latencies = new EnumMap<>(Stage.class);
+            for (Stage s : Stage.values()) {
+                LatencyHistogram h = stages.get(s.ordinal());
+                if (h != null && h.count() > 0) latencies.put(s, Percentiles.of(h));
+            }
+            return new Snapshot(tag, requests.sum(), errors.sum(), retries.sum(),
+                    bytesIn.sum(), bytesOut.sum(), rate.requestRate(), latencies);
+        }
+
+        private LatencyHistogram histogram(Stage stage) {
+            int i = stage.ordinal();
+            LatencyHistogram h = stages.get(i);
+            if (h != null) return h;
+            LatencyHistogram created = new LatencyHistogram(windowMs);
+            return stages.compareAndSet(i, null, created) ? created : stages.get(i);
+        }
+    }
+
+    /* ===== etiket ve anlık görüntü ===== */
+
+    public static final class Tag {
+        public final String method;
+        public final String host;
+        public final String route;
+
+        Tag(String method, String host, String route) {
+            this.method = method != null ? method : "";
+            this.host = host != null ? host : "";
+            this.route = route;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Tag)) return false;
+            Tag t = (Tag) o;
+            return method.equals(t.method) && host.equals(t.host) && route.equals(t.route);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, host, route);
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + host + route;
+        }
+    }
+
+    /** Bir aşamanın gecikme dağılımı, ms. */
+    public static final class Percentiles {
+        public final long count;
+        public final double p50;
+        public final double p95;
+        public final double p99;
+        public final double max;
+
+        private Percentiles(long count, double p50, double p95, double p99, double max) {
+            this.count = count;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        static Percentiles of(LatencyHistogram h) {
+            return new Percentiles(h.count(), h.percentileMs(0.50), h.percentileMs(0.95),
+                    h.percentileMs(0.99), h.maxMs());
+        }
+
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.US, "n=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                    count, p50, p95, p99, max);
+        }
+    }
+
+    /** Bir serinin anlık görüntüsü. requestsPerSecond son OUTCOME_WINDOW_MS'deki hızdır. */
+    public static final class Snapshot {
+        public final Tag tag;
+        public final long requests;
+        public final long errors;
+        public final long retries;
+        public final long bytesIn;
+        public final long bytesOut;
+        public final double requestsPerSecond;
+        public final Map<Stage, Percentiles> latencies;
+
+        Snapshot(Tag tag, long requests, long errors, long retries, long bytesIn, long bytesOut,
+                 double requestsPerSecond, Map<Stage, Percentiles> latencies) {
+            this.tag = tag;
+            this.requests = requests;
+            this.errors = errors;
+            this.retries = retries;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.requestsPerSecond = requestsPerSecond;
+            this.latencies = latencies;
+        }
+
+        /** Aşamanın dağılımı; hiç kayıt yoksa null. */
+        public Percentiles latency(Stage stage) {
+            return latencies.get(stage);
+        }
+
+        /** İstek başına ortalama retry. */
+        public double retriesPerRequest() {
+            return requests == 0 ? 0 : (double) retries / requests;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(256);
+            sb.append(tag).append(" requests=").append(requests).append(" errors=").append(errors)
+                    .append(" retries=").append(retries).append(" in=").append(bytesIn).append("B out=")
+                    .append(bytesOut).append('B')
+                    .append(String.format(java.util.Locale.US, " rate=%.2f/s", requestsPerSecond));
+            for (Map.Entry<Stage, Percentiles> e : latencies.entrySet()) {
+                sb.append("\n  ").append(e.getKey()).append(": ").append(e.getValue());
+            }
+            return sb.toString();
+        }
+    }
+}
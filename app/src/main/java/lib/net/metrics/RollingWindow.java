@@ -0,0 +1,108 @@
+package lib.net.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kilitsiz, zaman dilimli halka: son windowMs içindeki istek ve hata sayıları.
+ * - Pencere buckets adet dilime bölünür; her dilimde şeritli sayaçlar (LongAdder) vardır, yazma çekişmesizdir.
+ * - Dilim yeniden kullanılırken epoch'u CAS ile ilerletilir ve sayaçları sıfırlanır.
+ * - Okuma olay sayısından bağımsızdır (yalnızca dilimler toplanır); her yanıtta sorulabilir.
+ * Dilim sınırında sıfırlama ile eşzamanlı yazılan tek tük olay kaybolabilir; oran için önemsizdir.
+ * NetworkManager tüm isteklerin sonucunu tek bir pencereye yazar (bkz. NetworkManager.outcomes()).
+ */
+public final class RollingWindow {
+
+    private final long bucketMs;
+    private final int buckets;
+    private final AtomicLongArray epochs;
+    private final LongAdder[] requests;
+    private final LongAdder[] errors;
+
+    public RollingWindow(long windowMs, int buckets) {
+        this.buckets = Math.max(1, buckets);
+        this.bucketMs = Math.max(1, windowMs / this.buckets);
+        this.epochs = new AtomicLongArray(this.buckets);
+        this.requests = new LongAdder[this.buckets];
+        this.errors = new LongAdder[this.buckets];
+        for (int i = 0; i < this.buckets; i++) {
+            epochs.set(i, -1);
+            requests[i] = new LongAdder();
+            errors[i] = new LongAdder();
+        }
+    }
+
+    public void record(boolean error) {
+        int i = slot(System.currentTimeMillis() / bucketMs);
+        requests[i].increment();
+        if (error) errors[i].increment();
+    }
+
+    public void recordSuccess() {
+        record(false);
+    }
+
+    public void recordError() {
+        record(true);
+    }
+
+    /** Bu dilime yazılmış bir başarıyı geri alır (ör. harcanmayan izin); dilim değiştiyse yeni dilimden düşülür. */
+    public void undoSuccess() {
+        requests[slot(System.currentTimeMillis() / bucketMs)].decrement();
+    }
+
+    /** Penceredeki istek sayısı. */
+    public long requestCount() {
+        return sum(requests);
+    }
+
+    public long errorCount() {
+        return sum(errors);
+    }
+
+    /** Hata oranı (0..1); pencere boşsa 0. */
+    public double errorRate() {
+        long now = System.currentTimeMillis() / bucketMs;
+        long req = 0, err = 0;
+        for (int i = 0; i < buckets; i++) {
+            if (live(i, now)) {
+                req += requests[i].sum();
+                err += errors[i].sum();
+            }
+        }
+        return req == 0 ? 0 : (double) err / req;
+    }
+
+    /** Saniyedeki istek sayısı (pencere ortalaması). */
+    public double requestRate() {
+        return requestCount() * 1000.0 / windowMs();
+    }
+
+    public long windowMs() {
+        return bucketMs * buckets;
+    }
+
+    /* ===== dilimler ===== */
+
+    private int slot(long epoch) {
+        int i = (int) (epoch % buckets);
+        long seen = epochs.get(i);
+        if (seen < epoch && epochs.compareAndSet(i, seen, epoch)) {
+            requests[i].reset();
+            errors[i].reset();
+        }
+        return i;
+    }
+
+    private boolean live(int i, long nowEpoch) {
+        long e = epochs.get(i);
+        return e >= 0 && e > nowEpoch - buckets && e <= nowEpoch;
+    }
+
+    private long sum(LongAdder[] counters) {
+        long now = System.currentTimeMillis() / bucketMs;
+        long n = 0;
+        for (int i = 0; i < buckets; i++) if (live(i, now)) n += counters[i].sum();
+        return n;
+    }
+}
@@ -1,9 +1,19 @@
 package lib.net.parser;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 public class GsonResponseParser implements IResponseParser {
     private final Gson gson = new Gson();
@@ -16,4 +26,62 @@ public class GsonResponseParser implements IResponseParser {
             throw new IllegalArgumentException("JSON ayrıştırma hatası", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Socket akışı üzerinde JsonReader; gövde hiçbir zaman String olarak materyalize edilmez.
+     * Okuma sırasındaki I/O hataları IOException olarak geri verilir (retry politikası görebilsin).
+     * Değerden sonra gövde sonuna kadar okunur (Gson'un fromJson(Reader) kontrolü gibi): fazladan veri hatadır
+     * ve akışın sonu görülür (yanıt önbelleği kaydı akış sonunda tamamlar).
+     */
+    @Override
+    public <T> T parse(InputStream body, Type type) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            T value = gson.fromJson(reader, type);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new IllegalArgumentException("JSON ayrıştırma hatası: değerden sonra fazladan veri");
+            }
+            return value;
+        } catch (JsonSyntaxException | JsonIOException e) {
+            Throwable c = e.getCause();
+            if (c instanceof IOException && !(c instanceof MalformedJsonException)) {
+                throw (IOException) c;
+            }
+            throw new IllegalArgumentException("JSON ayrıştırma hatası", e);
+        } catch (MalformedJsonException e) {
+            throw new IllegalArgumentException("JSON ayrıştırma hatası", e);
+        }
+    }
+
+    /**
+     * Dizi elemanlarını indirme sürerken tek tek çözer; bellekte aynı anda tek eleman tutulur.
+     */
+    @Override
+    public <T> void parseArray(InputStream body, Type elementType, Consumer<T> onElement) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            JsonToken first;
+            try {
+                first = reader.peek();
+            } catch (EOFException empty) {
+                return; // boş gövde -> eleman yok
+            }
+            if (first == JsonToken.NULL) return;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                T item = gson.fromJson(reader, elementType);
+                onElement.accept(item);
+            }
+            reader.endArray();
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new IllegalArgumentException("JSON ayrıştırma hatası: diziden sonra fazladan veri");
+            }
+        } catch (JsonSyntaxException | JsonIOException | IllegalStateException e) {
+            Throwable c = e.getCause();
+            if (c instanceof IOException && !(c instanceof MalformedJsonException)) {
+                throw (IOException) c;
+            }
+            throw new IllegalArgumentException("JSON ayrıştırma hatası", e);
+        } catch (MalformedJsonException e) {
+            throw new IllegalArgumentException("JSON ayrıştırma hatası", e);
+        }
+    }
+}
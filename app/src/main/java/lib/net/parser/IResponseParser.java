@@ -1,7 +1,32 @@
 package lib.net.parser;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Consumer;
+
+import lib.net.util.BufferPool;
 
 public interface IResponseParser {
     <T> T parse(String json, Type type);
-}
\ No newline at end of file
+
+    /**
+     * Akıştan ayrıştırma. Varsayılan: gövdeyi String'e toplayıp parse(String, Type)'a devreder;
+     * akış destekleyen parser'lar (örn. Gson) bunu override ederek ara String'i atlar.
+     */
+    default <T> T parse(InputStream body, Type type) throws IOException {
+        String json = BufferPool.SHARED.readUtf8(body, -1);
+        return json.isEmpty() ? null : parse(json, type);
+    }
+
+    /**
+     * Üst seviye JSON dizisini eleman eleman çözüp onElement'e verir.
+     * Varsayılan: tüm diziyi List olarak ayrıştırıp sonra dolaşır (akış desteği olmayan parser'lar için).
+     */
+    default <T> void parseArray(InputStream body, Type elementType, Consumer<T> onElement) throws IOException {
+        List<T> all = parse(body, new ListType(elementType));
+        if (all == null) return;
+        for (T item : all) onElement.accept(item);
+    }
+}
@@ -0,0 +1,54 @@
+package lib.net.parser;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * List&lt;elementType&gt; tipi; parser'a bağımlı olmadan (TypeToken kullanmadan) kurulur.
+ * equals/hashCode JDK'nın ParameterizedType sözleşmesine uyar.
+ */
+final class ListType implements ParameterizedType {
+
+    private final Type elementType;
+
+    ListType(Type elementType) {
+        this.elementType = Objects.requireNonNull(elementType, "elementType");
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+        return new Type[]{elementType};
+    }
+
+    @Override
+    public Type getRawType() {
+        return List.class;
+    }
+
+    @Override
+    public Type getOwnerType() {
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ParameterizedType)) return false;
+        ParameterizedType p = (ParameterizedType) o;
+        return List.class.equals(p.getRawType())
+                && p.getOwnerType() == null
+                && Arrays.equals(getActualTypeArguments(), p.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(getActualTypeArguments()) ^ List.class.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return List.class.getName() + "<" + elementType.getTypeName() + ">";
+    }
+}
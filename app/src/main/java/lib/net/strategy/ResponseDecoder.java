@@ -0,0 +1,24 @@
+package lib.net.strategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import lib.net.connection.IHttpConnection;
+
+/**
+ * Başarılı yanıt gövdesini String'e çevirmeden doğrudan akıştan tipli sonuca dönüştürür.
+ * IOException -> ağ hatası (retry edilebilir), RuntimeException -> parse hatası.
+ * Çağırana kısmi veri teslim etmiş decoder'lar, tekrar denenmemesi gereken I/O hatalarını
+ * UncheckedIOException ile sarar (retry, aynı elemanları ikinci kez teslim ederdi).
+ */
+@FunctionalInterface
+public interface ResponseDecoder<T> {
+    T decode(InputStream body) throws IOException;
+
+    /**
+     * Yanıt başlıklarına (örn. ETag) ihtiyaç duyan decoder'lar bunu override eder; ACommand bu sürümü çağırır.
+     */
+    default T decode(IHttpConnection conn, InputStream body) throws IOException {
+        return decode(body);
+    }
+}
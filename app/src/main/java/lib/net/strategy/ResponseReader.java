@@ -1,9 +1,43 @@
 package lib.net.strategy;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
 
 import lib.net.connection.IHttpConnection;
+import lib.net.util.BufferPool;
 
 public interface ResponseReader {
     String readSuccess(IHttpConnection conn) throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * true ise tipli sonuçlar gövde String'e çevrilmeden openSuccess akışından ayrıştırılır.
+     * Yalnızca readSuccess'i değiştiren (zarf açma, şifre çözme, farklı charset) okuyucular için
+     * varsayılan false: sonuç readSuccess + ResponseHandler.handle yolundan geçer.
+     */
+    default boolean canStream() {
+        return false;
+    }
+
+    /**
+     * Başarılı yanıt gövdesini charset çözümü yapmadan baytlar olarak okur (görsel, protobuf, dosya).
+     * Content-Length biliniyorsa dizi tam boyda ayrılır.
+     */
+    default byte[] readSuccessBytes(IHttpConnection conn) throws IOException {
+        long hint = BufferPool.contentLength(conn.getHeaderField("Content-Length"));
+        try (InputStream in = openSuccess(conn)) {
+            return BufferPool.readAll(in, hint, -1);
+        }
+    }
+
+    /**
+     * Başarılı yanıtın gövdesini ham akış olarak açar (gzip ise yerinde açılır).
+     * Akış çağıran tarafından kapatılır.
+     */
+    default InputStream openSuccess(IHttpConnection conn) throws IOException {
+        InputStream stream = conn.getInputStream();
+        String ce = conn.getHeaderField("Content-Encoding");
+        boolean gzip = ce != null && "gzip".equalsIgnoreCase(ce);
+        return gzip ? new GZIPInputStream(stream) : stream;
+    }
+}
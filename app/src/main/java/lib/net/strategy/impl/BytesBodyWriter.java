@@ -1,7 +1,6 @@
 // lib/net/strategy/impl/BytesBodyWriter.java
 package lib.net.strategy.impl;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.function.Supplier;
 
@@ -24,9 +23,9 @@ public class BytesBodyWriter implements BodyWriter {
         if (bytes == null) return;
         conn.setDoOutput(true);
         if (contentType != null) conn.setRequestProperty("Content-Type", contentType);
-        try (DataOutputStream out = new DataOutputStream(conn.getOutputStream())) {
+        conn.streamingBody(bytes.length, out -> {
             out.write(bytes);
             out.flush();
-        }
+        });
     }
 }
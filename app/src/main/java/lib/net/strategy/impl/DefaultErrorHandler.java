@@ -1,14 +1,12 @@
 package lib.net.strategy.impl;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 
 import lib.net.NetResult;
 import lib.net.connection.IHttpConnection;
 import lib.net.strategy.ErrorHandler;
+import lib.net.util.BufferPool;
 
 public class DefaultErrorHandler implements ErrorHandler {
     @Override
@@ -23,13 +21,8 @@ public class DefaultErrorHandler implements ErrorHandler {
             }
         }
         if (s != null) {
-            try (InputStream in = s;
-                 InputStreamReader r = new InputStreamReader(in, StandardCharsets.UTF_8);
-                 BufferedReader br = new BufferedReader(r)) {
-                StringBuilder sb = new StringBuilder();
-                String line;
-                while ((line = br.readLine()) != null) sb.append(line);
-                body = sb.toString();
+            try (InputStream in = s) {
+                body = BufferPool.SHARED.readUtf8(in, BufferPool.contentLength(conn.getHeaderField("Content-Length")));
             } catch (IOException ignore) {
             }
         }
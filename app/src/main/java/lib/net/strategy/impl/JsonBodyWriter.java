@@ -1,6 +1,5 @@
 package lib.net.strategy.impl;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.function.Supplier;
@@ -22,9 +21,11 @@ public class JsonBodyWriter implements BodyWriter {
         if (json == null) return;
         conn.setDoOutput(true);
         conn.setRequestProperty("Content-Type", "application/json; charset=utf-8");
-        try (DataOutputStream out = new DataOutputStream(conn.getOutputStream())) {
-            out.write(json.getBytes(StandardCharsets.UTF_8));
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        // Boyu bilinen gövde: ara buffer'a kopyalanmadan sabit uzunlukla gönderilir
+        conn.streamingBody(bytes.length, out -> {
+            out.write(bytes);
             out.flush();
-        }
+        });
     }
 }
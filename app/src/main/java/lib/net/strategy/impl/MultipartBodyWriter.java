@@ -1,61 +1,138 @@
 package lib.net.strategy.impl;
 
-import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import lib.net.command.ACommand;
 import lib.net.connection.IHttpConnection;
 import lib.net.strategy.BodyWriter;
+import lib.net.util.BufferPool;
 
+/**
+ * multipart/form-data gövdesi. Part başlıkları (ve alan değerleri) kurulurken bir kez baytlara çevrilir;
+ * retry'da aynı baytlar tekrar yazılır, estimatedLength() de bunlardan hesaplanır.
+ * Dosya boyları da kurulumda alınır; yazımda her dosyadan tam o kadar bayt, havuzdaki büyük tamponla
+ * (UPLOAD_BUFFER_SIZE) gönderilir. Böylece gönderilen gövde bildirilen Content-Length'le hep aynıdır.
+ */
 public class MultipartBodyWriter implements BodyWriter {
 
-    private final String boundary;
-    private final Map<String, String> formFields;
-    private final Map<String, File> files;
+    private static final String CRLF = "\r\n";
+    private static final byte[] CRLF_BYTES = {'\r', '\n'};
+
+    private final byte[][] heads;   // alan: başlık + değer + CRLF; dosya: başlık
+    private final File[] bodies;    // dosya parçasının dosyası; alan parçasında null
+    private final long[] lengths;   // dosya parçasının kurulumdaki boyu (gönderilecek bayt sayısı)
+    private final byte[] closing;
+    private final long estimatedLength;
+    private final String invalid;   // değeri/dosyası null olan parça; yazım başarısız olur
 
     public MultipartBodyWriter(String boundary, Map<String, String> formFields, Map<String, File> files) {
-        this.boundary = boundary;
-        this.formFields = formFields;
-        this.files = files;
+        int n = (formFields != null ? formFields.size() : 0) + (files != null ? files.size() : 0);
+        this.heads = new byte[n][];
+        this.bodies = new File[n];
+        this.lengths = new long[n];
+        this.closing = closingBoundary(boundary);
+        long total = closing.length;
+        String bad = null;
+        int i = 0;
+        if (formFields != null) {
+            for (Map.Entry<String, String> e : formFields.entrySet()) {
+                byte[] h = fieldHeader(boundary, e.getKey());
+                byte[] v = (e.getValue() == null ? "" : e.getValue()).getBytes(StandardCharsets.UTF_8);
+                byte[] part = new byte[h.length + v.length + CRLF_BYTES.length];
+                System.arraycopy(h, 0, part, 0, h.length);
+                System.arraycopy(v, 0, part, h.length, v.length);
+                System.arraycopy(CRLF_BYTES, 0, part, h.length + v.length, CRLF_BYTES.length);
+                heads[i++] = part;
+                total += part.length;
+                if (e.getValue() == null && bad == null) bad = "Form alanının değeri yok: " + e.getKey();
+            }
+        }
+        if (files != null) {
+            for (Map.Entry<String, File> e : files.entrySet()) {
+                File f = e.getValue();
+                byte[] h = fileHeader(boundary, e.getKey(), f != null ? f.getName() : "blob");
+                heads[i] = h;
+                bodies[i] = f;
+                lengths[i] = (f != null && f.exists()) ? f.length() : 0L;
+                total += h.length + lengths[i++] + CRLF_BYTES.length;
+                if (f == null && bad == null) bad = "Dosya parçasının dosyası yok: " + e.getKey();
+            }
+        }
+        this.estimatedLength = total;
+        this.invalid = bad;
+    }
+
+    /** Gövdenin boyu; tüm değerler varsa yazılan bayt sayısıyla aynıdır (dosyalar kurulumdaki boylarıyla gider). */
+    public long estimatedLength() {
+        return estimatedLength;
     }
 
     @Override
     public void writeIfNeeded(IHttpConnection connection, ACommand cmd) throws IOException {
-        connection.setDoOutput(true);
-        try (DataOutputStream out = new DataOutputStream(connection.getOutputStream())) {
-            // fields
-            if (formFields != null) {
-                for (Map.Entry<String, String> e : formFields.entrySet()) {
-                    out.writeBytes("--" + boundary + "\r\n");
-                    out.writeBytes("Content-Disposition: form-data; name=\"" + e.getKey() + "\"\r\n");
-                    out.writeBytes("Content-Type: text/plain; charset=utf-8\r\n\r\n");
-                    out.write(e.getValue().getBytes(StandardCharsets.UTF_8));
-                    out.writeBytes("\r\n");
+        // Gövde belleğe alınmadan bağlantıya akıtılır; uzunluk biliniyorsa sabit, değilse chunked
+        connection.streamingBody(cmd.contentLengthHint(), this::writeTo);
+    }
+
+    private void writeTo(OutputStream sink) throws IOException {
+        if (invalid != null) throw new IllegalStateException(invalid);
+        byte[] buf = null;
+        try {
+            for (int i = 0; i < heads.length; i++) {
+                sink.write(heads[i]);
+                File f = bodies[i];
+                if (f == null) continue;
+                if (buf == null) buf = BufferPool.UPLOAD.acquireBytes();
+                try (InputStream in = new FileInputStream(f)) {
+                    copy(f, in, sink, buf, lengths[i]);
                 }
+                sink.write(CRLF_BYTES);
             }
-            // files
-            if (files != null) {
-                byte[] buf = new byte[4096];
-                for (Map.Entry<String, File> f : files.entrySet()) {
-                    out.writeBytes("--" + boundary + "\r\n");
-                    out.writeBytes("Content-Disposition: form-data; name=\"" + f.getKey() + "\"; filename=\"" + f.getValue().getName() + "\"\r\n");
-                    out.writeBytes("Content-Type: application/octet-stream\r\n");
-                    out.writeBytes("Content-Transfer-Encoding: binary\r\n\r\n");
-                    try (FileInputStream fis = new FileInputStream(f.getValue())) {
-                        int n;
-                        while ((n = fis.read(buf)) != -1) {
-                            out.write(buf, 0, n);
-                        }
-                    }
-                    out.writeBytes("\r\n");
-                }
+            sink.write(closing);
+            sink.flush();
+        } finally {
+            BufferPool.UPLOAD.release(buf);
+        }
+    }
+
+    /**
+     * Dosyadan tam length bayt yazar: sonradan büyüyen dosyanın fazlası gönderilmez,
+     * kısalan dosya bildirilen boyu dolduramayacağından hata olur.
+     */
+    private static void copy(File f, InputStream in, OutputStream out, byte[] buf, long length) throws IOException {
+        long left = length;
+        while (left > 0) {
+            int n = in.read(buf, 0, (int) Math.min(buf.length, left));
+            if (n == -1) {
+                throw new IOException("Dosya yükleme sırasında kısaldı: " + f.getName()
+                        + " (" + (length - left) + "/" + length + " bayt)");
             }
-            out.writeBytes("--" + boundary + "--\r\n");
-            out.flush();
+            out.write(buf, 0, n);
+            left -= n;
         }
     }
+
+    /* ---- part başlıkları (Content-Length bunlardan hesaplanır) ---- */
+
+    public static byte[] fieldHeader(String boundary, String name) {
+        return ("--" + boundary + CRLF
+                + "Content-Disposition: form-data; name=\"" + name + "\"" + CRLF
+                + "Content-Type: text/plain; charset=utf-8" + CRLF + CRLF).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] fileHeader(String boundary, String name, String fileName) {
+        return ("--" + boundary + CRLF
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"" + CRLF
+                + "Content-Type: application/octet-stream" + CRLF
+                + "Content-Transfer-Encoding: binary" + CRLF + CRLF).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] closingBoundary(String boundary) {
+        return ("--" + boundary + "--" + CRLF).getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -1,52 +1,50 @@
 package lib.net.strategy.retry;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
-import java.util.Deque;
 
+import lib.net.metrics.RollingWindow;
 import lib.net.strategy.RetryPolicy;
 
-// 10) AdaptiveErrorRateRetryPolicy (basit kayan pencere)
+// 10) AdaptiveErrorRateRetryPolicy (kilitsiz kayan pencere; hata oranı yüksekken retry yapılmaz)
 public class AdaptiveErrorRateRetryPolicy implements RetryPolicy {
-    private final Deque<Long> window = new ArrayDeque<>();
-    private final int maxEvents;
+    private final RollingWindow window;
     private final double maxErrorRate;
-    private final long windowMs;
+    private final boolean recordsOwnEvents;
 
+    /**
+     * Komuta özel pencere; yalnızca bu politikanın gördüğü hatalar sayılır.
+     * maxEvents artık kullanılmıyor (pencere zaman dilimli); imza uyumluluk için korunuyor.
+     */
     public AdaptiveErrorRateRetryPolicy(int maxEvents, double maxErrorRate, long windowMs) {
-        this.maxEvents = maxEvents;
-        this.maxErrorRate = maxErrorRate;
-        this.windowMs = windowMs;
+        this(new RollingWindow(windowMs, 10), maxErrorRate, true);
     }
 
-    private void record(boolean error) {
-        long now = System.currentTimeMillis();
-        window.addLast(error ? now : -now);
-        while (window.size() > maxEvents) window.removeFirst();
-        while (!window.isEmpty() && Math.abs(window.peekFirst()) < now - windowMs)
-            window.removeFirst();
+    /**
+     * Paylaşılan pencere (örn. NetworkManager.outcomes()): tüm isteklerin sonuçlarına göre karar verilir.
+     * Pencereyi besleyen taraf NetworkManager'dır; politika kendisi kayıt yapmaz.
+     */
+    public AdaptiveErrorRateRetryPolicy(RollingWindow shared, double maxErrorRate) {
+        this(shared, maxErrorRate, false);
     }
 
-    private double errorRate() {
-        int err = 0, tot = 0;
-        for (long v : window) {
-            tot++;
-            if (v > 0) err++;
-        }
-        return tot == 0 ? 0 : (err * 1.0 / tot);
+    private AdaptiveErrorRateRetryPolicy(RollingWindow window, double maxErrorRate, boolean recordsOwnEvents) {
+        if (window == null) throw new IllegalArgumentException("window == null");
+        this.window = window;
+        this.maxErrorRate = maxErrorRate;
+        this.recordsOwnEvents = recordsOwnEvents;
     }
 
     @Override
     public boolean shouldRetryOnStatus(int code, boolean idem) {
-        boolean retry = idem && (code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504) && (errorRate() < maxErrorRate);
-        record(!retry); // retry edilebilir görmediysek "başarısız girişim" say
+        boolean retry = idem && (code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504) && (window.errorRate() < maxErrorRate);
+        if (recordsOwnEvents) window.record(!retry); // retry edilebilir görmediysek "başarısız girişim" say
         return retry;
     }
 
     @Override
     public boolean shouldRetryOnException(Exception e, boolean idem) {
-        boolean retry = idem && (e instanceof IOException) && (errorRate() < maxErrorRate);
-        record(!retry);
+        boolean retry = idem && (e instanceof IOException) && (window.errorRate() < maxErrorRate);
+        if (recordsOwnEvents) window.record(!retry);
         return retry;
     }
-}
\ No newline at end of file
+}
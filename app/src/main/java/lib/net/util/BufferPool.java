@@ -0,0 +1,253 @@
+package lib.net.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Okuma/yazma için yeniden kullanılan byte[] / char[] tamponları.
+ * - Her thread'in küçük bir yerel dilimi (perThread adet) vardır; kilitsiz, çekişmesiz.
+ * - Dilim doluysa / boşsa paylaşılan, sınırlı bir taşma havuzu kullanılır; o da doluysa tampon bırakılır (GC).
+ * - Boyu farklı tamponlar havuza alınmaz; aynı tampon iki kez bırakılmamalı ve bırakıldıktan sonra kullanılmamalı.
+ * Worker havuzunda thread sayısı sabit olduğundan toplam bellek (threads * perThread + shared) * size ile sınırlıdır.
+ * Virtual thread'lerde (istek başına yeni thread) yerel dilim kullanılmaz, yalnızca paylaşılan havuz:
+ * aksi halde her thread'in dilimi thread ile birlikte çöpe gider ve havuz hiç isabet etmez.
+ */
+public final class BufferPool {
+
+    /** Kütüphane genelinde kullanılan havuz. */
+    public static final BufferPool SHARED = new BufferPool(NetworkConfig.BUFFER_SIZE,
+            NetworkConfig.BUFFER_POOL_PER_THREAD, NetworkConfig.BUFFER_POOL_SHARED);
+
+    /** Dosya yüklemelerinin büyük tamponları; seyrek kullanıldığından yalnızca paylaşılan havuz. */
+    public static final BufferPool UPLOAD = new BufferPool(NetworkConfig.UPLOAD_BUFFER_SIZE,
+            0, NetworkConfig.UPLOAD_BUFFER_POOL);
+
+    // Thread.isVirtual() (Java 21) — derleme hedefi 11 olduğu için reflection ile; yoksa null
+    private static final Method IS_VIRTUAL = isVirtualMethod();
+
+    // String'e ön boyutlamada güvenilecek en büyük Content-Length (sunucu yanlış/büyük değer yollarsa)
+    private static final int MAX_PRESIZE_CHARS = 1 << 20;
+    private static final long MAX_ARRAY = Integer.MAX_VALUE - 8;
+
+    private final int size;
+    private final int perThread;
+    private final ArrayBlockingQueue<byte[]> sharedBytes;
+    private final ArrayBlockingQueue<char[]> sharedChars;
+    private final ThreadLocal<Slab> local;
+    private final AtomicLong allocated = new AtomicLong();
+
+    public BufferPool(int size, int perThread, int shared) {
+        this.size = Math.max(512, size);
+        this.perThread = Math.max(0, perThread);
+        this.sharedBytes = new ArrayBlockingQueue<>(Math.max(1, shared));
+        this.sharedChars = new ArrayBlockingQueue<>(Math.max(1, shared));
+        this.local = ThreadLocal.withInitial(() -> new Slab(this.perThread));
+    }
+
+    public int bufferSize() {
+        return size;
+    }
+
+    /** Havuzdan karşılanamayıp yeni ayrılan tampon sayısı (havuz isabetini izlemek için). */
+    public long allocatedCount() {
+        return allocated.get();
+    }
+
+    public byte[] acquireBytes() {
+        Slab s = slab();
+        if (s != null && s.byteCount > 0) {
+            byte[] b = s.bytes[--s.byteCount];
+            s.bytes[s.byteCount] = null;
+            return b;
+        }
+        byte[] b = sharedBytes.poll();
+        if (b != null) return b;
+        allocated.incrementAndGet();
+        return new byte[size];
+    }
+
+    public void release(byte[] b) {
+        if (b == null || b.length != size) return;
+        Slab s = slab();
+        if (s != null && s.byteCount < perThread) {
+            s.bytes[s.byteCount++] = b;
+            return;
+        }
+        sharedBytes.offer(b);
+    }
+
+    public char[] acquireChars() {
+        Slab s = slab();
+        if (s != null && s.charCount > 0) {
+            char[] c = s.chars[--s.charCount];
+            s.chars[s.charCount] = null;
+            return c;
+        }
+        char[] c = sharedChars.poll();
+        if (c != null) return c;
+        allocated.incrementAndGet();
+        return new char[size];
+    }
+
+    public void release(char[] c) {
+        if (c == null || c.length != size) return;
+        Slab s = slab();
+        if (s != null && s.charCount < perThread) {
+            s.chars[s.charCount++] = c;
+            return;
+        }
+        sharedChars.offer(c);
+    }
+
+    /**
+     * Akışın tamamını UTF-8 olarak okur (InputStreamReader/BufferedReader ayırmadan, havuzdaki tamponlarla).
+     * sizeHint (ör. Content-Length, bilinmiyorsa -1) StringBuilder'ı baştan boyutlar. Hatalı baytlar U+FFFD olur.
+     * Thread kesilirse (interrupt) okuma erken biter. Akışı kapatmaz.
+     */
+    public String readUtf8(InputStream in, long sizeHint) throws IOException {
+        int cap = (sizeHint > 0) ? (int) Math.min(sizeHint, MAX_PRESIZE_CHARS) : 16;
+        StringBuilder sb = new StringBuilder(cap);
+        Slab s = slab();
+        CharsetDecoder dec = (s != null) ? s.decoder() : newDecoder();
+        byte[] b = acquireBytes();
+        char[] c = acquireChars();
+        try {
+            ByteBuffer bb = ByteBuffer.wrap(b);
+            CharBuffer cb = CharBuffer.wrap(c);
+            int n;
+            int ticks = 0;
+            while ((n = in.read(b, bb.position(), b.length - bb.position())) != -1) {
+                bb.position(bb.position() + n);
+                bb.flip();
+                decode(dec, bb, cb, sb, false);
+                bb.compact(); // yarım kalan çok baytlı karakter bir sonraki okumaya taşınır
+                if ((++ticks & 0x0F) == 0 && Thread.currentThread().isInterrupted()) break;
+            }
+            bb.flip();
+            decode(dec, bb, cb, sb, true);
+            while (dec.flush(cb).isOverflow()) spill(cb, sb);
+            spill(cb, sb);
+            return sb.toString();
+        } finally {
+            release(b);
+            release(c);
+        }
+    }
+
+    /** bb'deki baytları çözer; char tamponu dolunca StringBuilder'a boşaltılır. */
+    private static void decode(CharsetDecoder dec, ByteBuffer bb, CharBuffer cb, StringBuilder sb, boolean eof) {
+        while (dec.decode(bb, cb, eof).isOverflow()) spill(cb, sb);
+        spill(cb, sb);
+    }
+
+    private static void spill(CharBuffer cb, StringBuilder sb) {
+        cb.flip();
+        sb.append(cb.array(), cb.arrayOffset(), cb.remaining());
+        cb.clear();
+    }
+
+    /**
+     * Akışı charset çözümü yapmadan byte[]'e okur; en fazla maxBytes bayt (&lt;= 0: dizi sınırı).
+     * sizeHint (Content-Length) biliniyorsa dizi tam boyda ayrılıp doğrudan içine okunur (ara kopya yok);
+     * ipucu yanlışsa (ör. gzip açılmış gövde) havuzdaki tamponla büyüyerek devam edilir. Akışı kapatmaz.
+     */
+    public static byte[] readAll(InputStream in, long sizeHint, long maxBytes) throws IOException {
+        long max = (maxBytes > 0) ? Math.min(maxBytes, MAX_ARRAY) : MAX_ARRAY;
+        byte[] acc;
+        int size = 0;
+        if (sizeHint >= 0 && sizeHint <= max) {
+            acc = new byte[(int) sizeHint];
+            while (size < acc.length) {
+                int n = in.read(acc, size, acc.length - size);
+                if (n < 0) return Arrays.copyOf(acc, size);
+                size += n;
+            }
+            if (size >= max) return acc;
+            int next = in.read();
+            if (next < 0) return acc;
+            acc = Arrays.copyOf(acc, (int) Math.max(size + 1, Math.min(max, (long) size * 2 + 16)));
+            acc[size++] = (byte) next;
+        } else {
+            acc = new byte[(int) Math.min(max, 8192)];
+        }
+        byte[] buf = SHARED.acquireBytes();
+        try {
+            int n;
+            while (size < max && (n = in.read(buf, 0, (int) Math.min(buf.length, max - size))) != -1) {
+                if (size + n > acc.length) acc = Arrays.copyOf(acc, (int) Math.min(max, Math.max(size + n, (long) acc.length * 2)));
+                System.arraycopy(buf, 0, acc, size, n);
+                size += n;
+            }
+        } finally {
+            SHARED.release(buf);
+        }
+        return (size == acc.length) ? acc : Arrays.copyOf(acc, size);
+    }
+
+    /** Content-Length başlığı (yoksa/geçersizse -1). */
+    public static long contentLength(String header) {
+        if (header == null) return -1;
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Bu thread'in yerel dilimi; dilim kapalıysa ya da virtual thread'deyse null. */
+    private Slab slab() {
+        if (perThread == 0 || onVirtualThread()) return null;
+        return local.get();
+    }
+
+    private static boolean onVirtualThread() {
+        Method m = IS_VIRTUAL;
+        if (m == null) return false;
+        try {
+            return (Boolean) m.invoke(Thread.currentThread());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Method isVirtualMethod() {
+        try {
+            return Thread.class.getMethod("isVirtual");
+        } catch (Exception | LinkageError unsupported) {
+            return null;
+        }
+    }
+
+    private static CharsetDecoder newDecoder() {
+        return StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static final class Slab {
+        final byte[][] bytes;
+        final char[][] chars;
+        int byteCount;
+        int charCount;
+        private CharsetDecoder decoder;
+
+        Slab(int n) {
+            this.bytes = new byte[n][];
+            this.chars = new char[n][];
+        }
+
+        CharsetDecoder decoder() {
+            if (decoder == null) decoder = newDecoder();
+            return decoder.reset();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package lib.net.util;
+
+import java.io.IOException;
+
+/** Hedefin devre kesicisi açık; istek worker almadan ve bağlantı açmadan reddedildi. */
+public class CircuitOpenException extends IOException {
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package lib.net.util;
+
+import java.io.IOException;
+
+/** İsteğin süresi (ACommand.withDeadline / kuyruk bekleme sınırı) bağlantı açılmadan doldu. */
+public class DeadlineExceededException extends IOException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
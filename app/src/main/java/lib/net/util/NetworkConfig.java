@@ -10,6 +10,53 @@ public class NetworkConfig {
     // Kuyruk ayarları
     public static final int QUEUE_CAPACITY = 256;
 
+    // Öncelik şeritleri: bu süreden uzun bekleyen istek, şeridinden bağımsız olarak öne geçer
+    public static final long PRIORITY_AGING_MS = 2000;
+
+    // Etkileşimli şeritte bu kadar istek birikince en yeni istek önce alınır (aşırı yükte LIFO)
+    public static final int LIFO_OVERLOAD_DEPTH = 16;
+
+    // Host sınırlaması açılacaksa önerilen host başına eşzamanlı istek (yavaş bir host tüm worker'ları tutmasın);
+    // Builder varsayılanı 0 (kapalı)
+    public static final int MAX_REQUESTS_PER_HOST = 2;
+
+    // Sonuç penceresi (hata oranı / istek hızı): süre ve dilim sayısı
+    public static final long OUTCOME_WINDOW_MS = 10_000;
+    public static final int OUTCOME_WINDOW_BUCKETS = 10;
+
+    // Retry bütçesi: retry'lar son pencerede başarılı isteklerin %20'si + saniyede 5 ile sınırlı
+    public static final double RETRY_BUDGET_RATIO = 0.2;
+    public static final double RETRY_BUDGET_MIN_PER_SEC = 5;
+
+    // Hedge: uç noktanın p95'i bu kadar örnekle hesaplanmadan hedge yapılmaz; gecikmeler bu pencerede tutulur
+    public static final int HEDGE_MIN_SAMPLES = 20;
+    public static final long HEDGE_LATENCY_WINDOW_MS = 60_000;
+
+    // Okuma/yazma tamponları: boy, thread başına yerel adet, paylaşılan taşma havuzu adedi
+    public static final int BUFFER_SIZE = 8192;
+    public static final int BUFFER_POOL_PER_THREAD = 2;
+    public static final int BUFFER_POOL_SHARED = 32;
+
+    // Multipart dosya parçaları bu boyda parçalarla yazılır
+    public static final int UPLOAD_BUFFER_SIZE = 64 * 1024;
+    // Bu tamponlardan havuzda tutulan en fazla adet (BufferPool.UPLOAD)
+    public static final int UPLOAD_BUFFER_POOL = 4;
+
+    // BinaryBody yanıtları bu boyu aşınca belleğe değil geçici dosyaya yazılır
+    public static final long BINARY_SPILL_THRESHOLD = 4L * 1024 * 1024;
+
+    // İndirme ilerlemesi en az bu kadar baytta bir bildirilir
+    public static final long DOWNLOAD_PROGRESS_BYTES = 64 * 1024;
+
+    // Ölçümler: en fazla bu kadar seri tutulur (yöntem, host, rota; taşma serisi dahil)
+    public static final int METRICS_MAX_SERIES = 64;
+
+    // Ayrıştırılmış nesne önbelleği: ETag/Last-Modified yoksa gövde en fazla bu boydaysa özetlenip önbelleğe alınır
+    public static final int PARSED_CACHE_MAX_HASHED_BYTES = 16 * 1024;
+
+    // Dizi akışı: main thread'e kaç elemanda bir teslim edilir
+    public static final int STREAM_BATCH_SIZE = 20;
+
     // Retry ayarları
     public static final int RETRY_LIMIT = 3;
     public static final long INITIAL_RETRY_DELAY_MS = 1000;
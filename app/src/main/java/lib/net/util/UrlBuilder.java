@@ -36,6 +36,22 @@ public class UrlBuilder {
         return urlBuilder.toString();
     }
 
+    /** URL'nin scheme + authority kısmı ("https://api.example.com:8443"); host bazlı gruplama için. */
+    public static String origin(String url) {
+        if (url == null) return null;
+        int scheme = url.indexOf("://");
+        int from = scheme >= 0 ? scheme + 3 : 0;
+        int end = url.length();
+        for (int i = from; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        return url.substring(0, end).toLowerCase(java.util.Locale.ROOT);
+    }
+
 //    public static String build(String basePath, ACommand cmd){
 //        StringBuilder sb = new StringBuilder(basePath);
 //        String rel = cmd.getRelativeUrl(); if (rel!=null && !rel.isEmpty()) sb.append(rel);
@@ -0,0 +1,111 @@
+package lib.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import lib.net.connection.IHttpConnection;
+import lib.net.connection.StreamingBody;
+
+/** Testler için bellekten yanıt veren bağlantı; gönderilen başlık ve gövdeyi saklar. */
+public class FakeConnection implements IHttpConnection {
+    public final int code;
+    public final Map<String, String> responseHeaders = new HashMap<>();
+    public final Map<String, String> requestHeaders = new HashMap<>();
+    public final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+    public String method;
+    public long declaredLength = -2; // streamingBody'e verilen Content-Length; çağrılmadıysa -2
+    private final InputStream body;
+
+    public FakeConnection(int code, String body) {
+        this(code, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public FakeConnection(int code, InputStream body) {
+        this.code = code;
+        this.body = body;
+    }
+
+    public FakeConnection header(String name, String value) {
+        responseHeaders.put(name, value);
+        return this;
+    }
+
+    @Override
+    public void setConnectTimeout(int timeout) {
+    }
+
+    @Override
+    public void setReadTimeout(int timeout) {
+    }
+
+    @Override
+    public void setRequestMethod(String method) {
+        this.method = method;
+    }
+
+    @Override
+    public void setRequestProperty(String key, String value) {
+        requestHeaders.put(key, value);
+    }
+
+    @Override
+    public void setDoOutput(boolean doOutput) {
+    }
+
+    @Override
+    public void setDoInput(boolean doInput) {
+    }
+
+    @Override
+    public void setInstanceFollowRedirects(boolean followRedirects) {
+    }
+
+    @Override
+    public void setAllowUserInteraction(boolean allowInteraction) {
+    }
+
+    @Override
+    public void setUseCaches(boolean useCaches) {
+    }
+
+    @Override
+    public int getResponseCode() {
+        return code;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return body;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        return code >= 400 ? body : null;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return sent;
+    }
+
+    @Override
+    public void streamingBody(long contentLength, StreamingBody body) throws IOException {
+        declaredLength = contentLength;
+        body.writeTo(sent);
+    }
+
+    @Override
+    public String getHeaderField(String key) {
+        return responseHeaders.get(key);
+    }
+
+    @Override
+    public void disconnect() {
+    }
+}
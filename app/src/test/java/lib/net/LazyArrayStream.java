@@ -0,0 +1,50 @@
+package lib.net;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/** {"id":0},{"id":1},... elemanlarını okundukça üreten JSON dizisi akışı; okunan bayt sayısını sayar. */
+public class LazyArrayStream extends InputStream {
+    private final int count;
+    private int next;
+    private byte[] chunk = {'['};
+    private int pos;
+    public volatile long bytesRead;
+    public volatile boolean closed;
+
+    public LazyArrayStream(int count) {
+        this.count = count;
+    }
+
+    @Override
+    public int read() {
+        if (pos == chunk.length && !refill()) return -1;
+        bytesRead++;
+        return chunk[pos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) return 0;
+        if (pos == chunk.length && !refill()) return -1;
+        int n = Math.min(len, chunk.length - pos);
+        System.arraycopy(chunk, pos, b, off, n);
+        pos += n;
+        bytesRead += n;
+        return n;
+    }
+
+    private boolean refill() {
+        if (next > count) return false;
+        String s = next == count ? "]" : (next > 0 ? "," : "") + "{\"id\":" + next + "}";
+        next++;
+        chunk = s.getBytes(StandardCharsets.UTF_8);
+        pos = 0;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,71 @@
+package lib.net;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lib.concurrent.CancellableFuture;
+import lib.net.command.ACommand;
+import lib.net.command.GetCommand;
+import lib.net.event.CallEventListener.Phase;
+
+import static org.junit.Assert.*;
+
+public class NetworkManagerAdmissionTest {
+
+    private NetworkManager nm;
+
+    @After
+    public void tearDown() {
+        if (nm != null) nm.shutdown();
+    }
+
+    @Test
+    public void awaitingRequest_firesEnqueuedOnce() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Map<ACommand, AtomicInteger> enqueued = new ConcurrentHashMap<>();
+        nm = new NetworkManager.Builder()
+                .completeOnWorker()
+                .threadPoolSize(1)
+                .queueCapacity(1)
+                .eventListener((command, phase, attempt, nanoTime) -> {
+                    if (phase == Phase.ENQUEUED) {
+                        enqueued.computeIfAbsent(command, c -> new AtomicInteger()).incrementAndGet();
+                    }
+                })
+                .factory(url -> {
+                    if (url.endsWith("/slow")) {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return new FakeConnection(200, "{}");
+                })
+                .build();
+
+        ACommand slow = new GetCommand("/slow");
+        CancellableFuture<NetResult<Map>> running = nm.enqueueFutureResult("http://h", slow, Map.class);
+        while (nm.inFlightCount() == 0) Thread.sleep(1);
+        // Kuyruk (1) dolar, sonraki iki istek yer bekler; yer açıldıkça tekrar tekrar kabul denenir
+        ACommand[] waiting = {new GetCommand("/a"), new GetCommand("/b"), new GetCommand("/c")};
+        @SuppressWarnings("unchecked")
+        CancellableFuture<NetResult<Map>>[] futures = new CancellableFuture[waiting.length];
+        for (int i = 0; i < waiting.length; i++) {
+            futures[i] = nm.enqueueFutureResult("http://h", waiting[i], Map.class, 5_000);
+        }
+        assertEquals(2, nm.awaitingAdmissionCount());
+        release.countDown();
+
+        assertTrue(running.get(5, TimeUnit.SECONDS).isSuccess());
+        for (CancellableFuture<NetResult<Map>> f : futures) assertTrue(f.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, enqueued.get(slow).get());
+        for (ACommand c : waiting) assertEquals(1, enqueued.get(c).get());
+    }
+}
@@ -0,0 +1,115 @@
+package lib.net;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lib.concurrent.CancellableFuture;
+import lib.net.command.GetCommand;
+
+import static org.junit.Assert.*;
+
+public class NetworkManagerCoalescingTest {
+
+    private static final Type LIST = new TypeToken<List<Map<String, Object>>>() {}.getType();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger connections = new AtomicInteger();
+    private NetworkManager nm;
+
+    /** İlk bağlantı release'e kadar bekler: aboneler uçuş sürerken katılır. */
+    private NetworkManager manager() {
+        nm = new NetworkManager.Builder()
+                .completeOnWorker()
+                .threadPoolSize(2)
+                .coalesceRequests(true)
+                .factory(url -> {
+                    connections.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new FakeConnection(200, "[{\"id\":1},{\"id\":2}]");
+                })
+                .build();
+        return nm;
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (nm != null) nm.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CancellableFuture<NetResult<List<Map<String, Object>>>>[] enqueueThree() {
+        CancellableFuture<NetResult<List<Map<String, Object>>>>[] f = new CancellableFuture[3];
+        for (int i = 0; i < f.length; i++) f[i] = nm.enqueueFutureResult("http://h", new GetCommand("/todos"), LIST);
+        return f;
+    }
+
+    @Test
+    public void identicalGets_shareOneRequest_withSeparateResults() throws Exception {
+        manager();
+        CancellableFuture<NetResult<List<Map<String, Object>>>>[] f = enqueueThree();
+        assertEquals(2, nm.deduplicatedCount());
+        release.countDown();
+
+        List<Map<String, Object>> a = f[0].get(5, TimeUnit.SECONDS).Data();
+        List<Map<String, Object>> b = f[1].get(5, TimeUnit.SECONDS).Data();
+        List<Map<String, Object>> c = f[2].get(5, TimeUnit.SECONDS).Data();
+
+        assertEquals(1, connections.get());
+        assertEquals(a, b);
+        assertEquals(a, c);
+        assertNotSame(a, b);
+        assertNotSame(b, c);
+        a.remove(0);
+        assertEquals(2, b.size());
+        assertEquals(2, c.size());
+    }
+
+    @Test
+    public void cancellingOneSubscriber_leavesRequestRunningForOthers() throws Exception {
+        manager();
+        CancellableFuture<NetResult<List<Map<String, Object>>>>[] f = enqueueThree();
+        f[0].cancel(true);
+        f[1].cancel(true);
+        release.countDown();
+
+        NetResult<List<Map<String, Object>>> r = f[2].get(5, TimeUnit.SECONDS);
+
+        assertTrue(r.isSuccess());
+        assertEquals(2, r.Data().size());
+        assertTrue(f[0].isCancelled());
+    }
+
+    @Test
+    public void cancellingEverySubscriber_cancelsRequest_andNewCallsStartFresh() throws Exception {
+        manager();
+        GetCommand leader = new GetCommand("/todos");
+        CancellableFuture<NetResult<List<Map<String, Object>>>> first = nm.enqueueFutureResult("http://h", leader, LIST);
+        CancellableFuture<NetResult<List<Map<String, Object>>>> second =
+                nm.enqueueFutureResult("http://h", new GetCommand("/todos"), LIST);
+        first.cancel(true);
+        assertFalse(leader.isCancelled());
+        second.cancel(true);
+        assertTrue(leader.isCancelled());
+
+        // İptal edilmiş uçuşa katılınmaz: yeni istek kendi bağlantısını açar
+        CancellableFuture<NetResult<List<Map<String, Object>>>> third =
+                nm.enqueueFutureResult("http://h", new GetCommand("/todos"), LIST);
+        release.countDown();
+        assertTrue(third.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, nm.deduplicatedCount());
+    }
+}
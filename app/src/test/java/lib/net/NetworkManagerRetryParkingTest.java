@@ -0,0 +1,58 @@
+package lib.net;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lib.concurrent.CancellableFuture;
+import lib.net.command.GetCommand;
+import lib.net.strategy.backoff.FixedBackoff;
+
+import static org.junit.Assert.*;
+
+public class NetworkManagerRetryParkingTest {
+
+    private NetworkManager nm;
+
+    @After
+    public void tearDown() {
+        if (nm != null) nm.shutdown();
+    }
+
+    @Test
+    public void requestInBackoff_doesNotHoldTheOnlyWorker() throws Exception {
+        final AtomicInteger flakyAttempts = new AtomicInteger();
+        nm = new NetworkManager.Builder()
+                .completeOnWorker()
+                .threadPoolSize(1)
+                .factory(url -> {
+                    if (url.endsWith("/flaky") && flakyAttempts.incrementAndGet() == 1) {
+                        return new FakeConnection(503, "busy");
+                    }
+                    return new FakeConnection(200, "{}");
+                })
+                .build();
+
+        CancellableFuture<NetResult<Map>> flaky = nm.enqueueFutureResult("http://h",
+                new GetCommand("/flaky").withBackoff(new FixedBackoff(2_000)), Map.class);
+        long deadline = System.currentTimeMillis() + 5_000;
+        // Park edilen deneme worker'ı bırakır: motorda çalışan iş kalmaz
+        while ((nm.parkedInBackoffCount() == 0 || nm.inFlightCount() > 0)
+                && System.currentTimeMillis() < deadline) Thread.sleep(1);
+        assertEquals(1, nm.parkedInBackoffCount());
+        assertEquals(0, nm.inFlightCount());
+
+        // Tek worker boşta: beklemedeki retry'ın backoff'u bitmeden başka istek tamamlanır
+        NetResult<Map> other = nm.<Map>enqueueFutureResult("http://h", new GetCommand("/other"), Map.class)
+                .get(1, TimeUnit.SECONDS);
+        assertTrue(other.isSuccess());
+        assertFalse(flaky.isDone());
+
+        assertTrue(flaky.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(2, flakyAttempts.get());
+        assertEquals(0, nm.parkedInBackoffCount());
+    }
+}
@@ -0,0 +1,160 @@
+package lib.net;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lib.concurrent.CancellableFuture;
+import lib.net.command.GetCommand;
+import lib.net.connection.IHttpConnection;
+import lib.net.connection.IHttpConnectionFactory;
+import lib.net.strategy.ResponseReader;
+import lib.net.strategy.impl.DefaultResponseReader;
+
+import static org.junit.Assert.*;
+
+public class NetworkManagerStreamingTest {
+
+    public static final class Item {
+        int id;
+        String title;
+    }
+
+    private NetworkManager nm;
+
+    private NetworkManager manager(final String body) {
+        return manager(url -> new FakeConnection(200, body));
+    }
+
+    private NetworkManager manager(final LazyArrayStream body) {
+        return manager(url -> new FakeConnection(200, body));
+    }
+
+    private NetworkManager manager(IHttpConnectionFactory factory) {
+        nm = new NetworkManager.Builder()
+                .completeOnWorker()
+                .threadPoolSize(1)
+                .factory(factory)
+                .build();
+        return nm;
+    }
+
+    @After
+    public void tearDown() {
+        if (nm != null) nm.shutdown();
+    }
+
+    @Test
+    public void typedResult_isDecodedFromStream_withoutReadSuccess() throws Exception {
+        final AtomicInteger readSuccessCalls = new AtomicInteger();
+        GetCommand cmd = new GetCommand("/items/1");
+        cmd.withResponseReader(new DefaultResponseReader() {
+            @Override
+            public String readSuccess(IHttpConnection conn) throws IOException {
+                readSuccessCalls.incrementAndGet();
+                return super.readSuccess(conn);
+            }
+        });
+
+        NetResult<Item> r = manager("{\"id\":7,\"title\":\"a\"}")
+                .<Item>enqueueFutureResult("http://h", cmd, Item.class).get(5, TimeUnit.SECONDS);
+
+        assertTrue(r.isSuccess());
+        assertEquals(7, r.Data().id);
+        assertEquals(0, readSuccessCalls.get());
+    }
+
+    @Test
+    public void customReader_readSuccessIsUsedForTypedResults() throws Exception {
+        // Yalnızca readSuccess'i değiştiren okuyucu: {"data": ...} zarfını açar
+        GetCommand cmd = new GetCommand("/items/1");
+        cmd.withResponseReader(new ResponseReader() {
+            @Override
+            public String readSuccess(IHttpConnection conn) throws IOException {
+                String s = new DefaultResponseReader().readSuccess(conn);
+                return s.substring("{\"data\":".length(), s.length() - 1);
+            }
+        });
+
+        NetResult<Item> r = manager("{\"data\":{\"id\":3,\"title\":\"b\"}}")
+                .<Item>enqueueFutureResult("http://h", cmd, Item.class).get(5, TimeUnit.SECONDS);
+
+        assertTrue(r.isSuccess());
+        assertEquals(3, r.Data().id);
+        assertEquals("b", r.Data().title);
+    }
+
+    @Test
+    public void customReader_binaryTypesStillReadFromStream() throws Exception {
+        GetCommand cmd = new GetCommand("/raw");
+        cmd.withResponseReader(conn -> {
+            throw new AssertionError("readSuccess ikili tipte çağrılmamalı");
+        });
+
+        NetResult<byte[]> r = manager("abc")
+                .<byte[]>enqueueFutureResult("http://h", cmd, byte[].class).get(5, TimeUnit.SECONDS);
+
+        assertTrue(r.isSuccess());
+        assertArrayEquals(new byte[]{'a', 'b', 'c'}, r.Data());
+    }
+
+    @Test
+    public void malformedBody_isParseError() throws Exception {
+        NetResult<Map> r = manager("{\"id\":")
+                .<Map>enqueueFutureResult("http://h", new GetCommand("/x"), Map.class).get(5, TimeUnit.SECONDS);
+
+        assertTrue(r.isError());
+    }
+
+    @Test
+    public void stream_deliversElementsInBatches() throws Exception {
+        final List<Integer> sizes = new ArrayList<>();
+        final List<Object> items = new ArrayList<>();
+        Integer total = manager(new LazyArrayStream(10)).<Item>enqueueStream("http://h", new GetCommand("/items"),
+                Item.class, 3, batch -> {
+                    sizes.add(batch.size());
+                    items.addAll(batch);
+                }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(10, total.intValue());
+        assertEquals(Arrays.asList(3, 3, 3, 1), sizes);
+        assertEquals(9, ((Item) items.get(9)).id);
+    }
+
+    @Test
+    public void stream_cancelPartWay_stopsReadingAndDelivering() throws Exception {
+        final int count = 1_000_000;
+        final LazyArrayStream body = new LazyArrayStream(count);
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicReference<CancellableFuture<Integer>> ref = new AtomicReference<>();
+        CancellableFuture<Integer> f = manager(body).<Item>enqueueStream("http://h", new GetCommand("/items"),
+                Item.class, 10, batch -> {
+                    batches.incrementAndGet();
+                    while (ref.get() == null) Thread.yield();
+                    ref.get().cancel(true);
+                });
+        ref.set(f);
+
+        try {
+            f.get(5, TimeUnit.SECONDS);
+            fail("iptal edilen akış tamamlanmamalı");
+        } catch (CancellationException expected) {
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!body.closed && System.currentTimeMillis() < deadline) Thread.sleep(5);
+
+        assertTrue(body.closed);
+        assertEquals(1, batches.get());
+        // Gövdenin tamamı ~12 MB; okuma ilk batch'ten kısa süre sonra kesilmeli
+        assertTrue("read " + body.bytesRead, body.bytesRead < 1_000_000);
+    }
+}
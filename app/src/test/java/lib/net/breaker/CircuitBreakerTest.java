@@ -0,0 +1,113 @@
+package lib.net.breaker;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+
+    /** %50 eşik, 4'lük pencere, en az 2 sonuç, 20 ms açık, 2 deneme. */
+    private static CircuitBreaker breaker() {
+        return new CircuitBreaker(0.5f, 4, 2, 20, 2);
+    }
+
+    private static void trip(CircuitBreaker b) {
+        b.tryAcquire();
+        b.onFailure();
+        b.tryAcquire();
+        b.onFailure();
+    }
+
+    @Test
+    public void failuresOverThreshold_open() {
+        CircuitBreaker b = breaker();
+        b.tryAcquire();
+        b.onSuccess();
+        b.tryAcquire();
+        b.onSuccess();
+        b.tryAcquire();
+        b.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, b.state());
+        b.tryAcquire();
+        b.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, b.state());
+        assertFalse(b.tryAcquire());
+    }
+
+    @Test
+    public void belowMinCalls_staysClosed() {
+        CircuitBreaker b = new CircuitBreaker(0.5f, 10, 5, 20, 1);
+        for (int i = 0; i < 4; i++) {
+            b.tryAcquire();
+            b.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, b.state());
+    }
+
+    @Test
+    public void halfOpen_allowsOnlyProbes_thenClosesOnSuccess() throws InterruptedException {
+        CircuitBreaker b = breaker();
+        trip(b);
+        Thread.sleep(30);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, b.state());
+        assertTrue(b.tryAcquire());
+        assertTrue(b.tryAcquire());
+        assertFalse(b.tryAcquire());
+        b.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, b.state());
+        b.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, b.state());
+        assertEquals(0f, b.failureRate(), 0f);
+    }
+
+    @Test
+    public void halfOpen_failure_reopens() throws InterruptedException {
+        CircuitBreaker b = breaker();
+        trip(b);
+        Thread.sleep(30);
+        assertTrue(b.tryAcquire());
+        b.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, b.state());
+        assertFalse(b.tryAcquire());
+    }
+
+    @Test
+    public void halfOpen_ignoredResult_returnsPermit() throws InterruptedException {
+        CircuitBreaker b = breaker();
+        trip(b);
+        Thread.sleep(30);
+        assertTrue(b.tryAcquire());
+        assertTrue(b.tryAcquire());
+        assertFalse(b.tryAcquire());
+        b.onIgnored();
+        assertTrue(b.tryAcquire());
+    }
+
+    @Test
+    public void halfOpen_racingThreads_getExactlyProbePermits() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            final CircuitBreaker b = new CircuitBreaker(0.5f, 4, 2, 1, 3);
+            trip(b);
+            Thread.sleep(3);
+            final AtomicInteger granted = new AtomicInteger();
+            final CountDownLatch go = new CountDownLatch(1);
+            Thread[] threads = new Thread[8];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException ignore) {
+                    }
+                    if (b.tryAcquire()) granted.incrementAndGet();
+                });
+                threads[i].start();
+            }
+            go.countDown();
+            for (Thread t : threads) t.join();
+            assertEquals("round " + round, 3, granted.get());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package lib.net.breaker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void withoutSuccesses_onlyMinimumIsAllowed() {
+        // 1/sn * 10 sn pencere = 10 retry
+        RetryBudget b = new RetryBudget(0.2, 1, 10_000);
+        for (int i = 0; i < 10; i++) assertTrue(b.tryAcquire());
+        assertFalse(b.tryAcquire());
+        assertEquals(1, b.exhaustedCount());
+        assertEquals(10, b.retryCount());
+    }
+
+    @Test
+    public void successes_earnRatio() {
+        RetryBudget b = new RetryBudget(0.5, 0, 10_000);
+        assertFalse(b.tryAcquire());
+        for (int i = 0; i < 4; i++) b.onRequestFinished(true);
+        b.onRequestFinished(false);
+        assertEquals(4, b.successCount());
+        assertTrue(b.tryAcquire());
+        assertTrue(b.tryAcquire());
+        assertFalse(b.tryAcquire());
+    }
+
+    @Test
+    public void refund_returnsUnusedPermit() {
+        RetryBudget b = new RetryBudget(0, 0.1, 10_000);
+        assertTrue(b.tryAcquire());
+        assertFalse(b.tryAcquire());
+        b.refund();
+        assertTrue(b.tryAcquire());
+    }
+
+    @Test
+    public void copy_startsEmpty() {
+        RetryBudget b = new RetryBudget(0, 0.1, 10_000);
+        assertTrue(b.tryAcquire());
+        RetryBudget c = b.copy();
+        assertEquals(0, c.retryCount());
+        assertTrue(c.tryAcquire());
+    }
+}
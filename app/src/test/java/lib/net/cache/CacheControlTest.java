@@ -0,0 +1,67 @@
+package lib.net.cache;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CacheControlTest {
+
+    private static CacheEntry entry(String... headers) {
+        Map<String, String> h = new HashMap<>();
+        for (int i = 0; i < headers.length; i += 2) h.put(headers[i], headers[i + 1]);
+        return new CacheEntry("http://h/x", new byte[0], h, new HashMap<>(), 1_000_000L);
+    }
+
+    @Test
+    public void has_matchesDirectiveNamesOnly() {
+        assertTrue(CacheControl.has("public, No-Store", "no-store"));
+        assertTrue(CacheControl.has("max-age=60", "max-age"));
+        assertFalse(CacheControl.has("no-store-ish", "no-store"));
+        assertFalse(CacheControl.has(null, "no-cache"));
+    }
+
+    @Test
+    public void maxAge_parsing() {
+        assertEquals(60, CacheControl.maxAgeSeconds("public, max-age=60"));
+        assertEquals(5, CacheControl.maxAgeSeconds("max-age=\"5\""));
+        assertEquals(-1, CacheControl.maxAgeSeconds("max-age=abc"));
+        assertEquals(-1, CacheControl.maxAgeSeconds("no-cache"));
+        assertEquals(-1, CacheControl.maxAgeSeconds(null));
+    }
+
+    @Test
+    public void freshness_prefersMaxAgeOverExpires() {
+        assertEquals(60_000, CacheControl.freshnessLifetimeMs(entry(
+                "Cache-Control", "max-age=60",
+                "Expires", "Thu, 01 Jan 2099 00:00:00 GMT")));
+        assertEquals(0, CacheControl.freshnessLifetimeMs(entry("Cache-Control", "no-cache, max-age=60")));
+        assertEquals(0, CacheControl.freshnessLifetimeMs(entry()));
+    }
+
+    @Test
+    public void freshness_fromExpiresMinusDate() {
+        assertEquals(3_600_000, CacheControl.freshnessLifetimeMs(entry(
+                "Date", "Mon, 01 Jan 2024 00:00:00 GMT",
+                "Expires", "Mon, 01 Jan 2024 01:00:00 GMT")));
+    }
+
+    @Test
+    public void storable_needsLifetimeOrValidator() {
+        assertTrue(CacheControl.isStorable(entry("Cache-Control", "max-age=10"), null));
+        assertTrue(CacheControl.isStorable(entry("ETag", "\"v1\""), null));
+        assertFalse(CacheControl.isStorable(entry(), null));
+        assertFalse(CacheControl.isStorable(entry("Cache-Control", "no-store, max-age=10"), null));
+        assertFalse(CacheControl.isStorable(entry("ETag", "\"v1\"", "Vary", "*"), null));
+        assertFalse(CacheControl.isStorable(entry("ETag", "\"v1\""), "no-store"));
+    }
+
+    @Test
+    public void parseDate_rfc1123() {
+        assertEquals(0, CacheControl.parseDate("Thu, 01 Jan 1970 00:00:00 GMT"));
+        assertEquals(-1, CacheControl.parseDate("yesterday"));
+        assertEquals(-1, CacheControl.parseDate(null));
+    }
+}
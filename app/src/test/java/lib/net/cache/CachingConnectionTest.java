@@ -0,0 +1,68 @@
+package lib.net.cache;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import lib.net.FakeConnection;
+import lib.net.LazyArrayStream;
+import lib.net.connection.IHttpConnection;
+import lib.net.parser.GsonResponseParser;
+
+import static org.junit.Assert.*;
+
+public class CachingConnectionTest {
+
+    private final MemoryResponseCache cache = new MemoryResponseCache(16 * 1024 * 1024, 16 * 1024 * 1024);
+
+    private IHttpConnection open(FakeConnection response) throws IOException {
+        IHttpConnection c = new CachingConnectionFactory(url -> response, cache).createConnection("http://h/todos");
+        c.setRequestMethod("GET");
+        assertEquals(200, c.getResponseCode());
+        return c;
+    }
+
+    @Test
+    public void bodyReadToEnd_isStored() throws IOException {
+        IHttpConnection c = open(new FakeConnection(200, "[1,2]").header("ETag", "\"v1\""));
+        try (InputStream in = c.getInputStream()) {
+            while (in.read() != -1) {
+                // sonuna kadar oku
+            }
+        }
+        assertNotNull(cache.get("http://h/todos"));
+    }
+
+    @Test
+    public void closeAfterDeclaredLength_isStored() throws IOException {
+        IHttpConnection c = open(new FakeConnection(200, "abc")
+                .header("ETag", "\"v1\"").header("Content-Length", "3"));
+        try (InputStream in = c.getInputStream()) {
+            assertEquals(3, in.read(new byte[3], 0, 3));
+        }
+        assertArrayEquals("abc".getBytes(), cache.get("http://h/todos").body());
+    }
+
+    @Test
+    public void earlyClose_dropsRecordingWithoutDraining() throws IOException {
+        LazyArrayStream body = new LazyArrayStream(1_000_000);
+        IHttpConnection c = open(new FakeConnection(200, body).header("ETag", "\"v1\""));
+        InputStream in = c.getInputStream();
+        for (int i = 0; i < 100; i++) in.read();
+        in.close();
+
+        assertTrue(body.closed);
+        assertTrue("read " + body.bytesRead, body.bytesRead <= 100);
+        assertNull(cache.get("http://h/todos"));
+    }
+
+    @Test
+    public void typedParse_readsToEndSoBodyIsStored() throws IOException {
+        IHttpConnection c = open(new FakeConnection(200, "{\"id\":1}  \n").header("ETag", "\"v1\""));
+        try (InputStream in = c.getInputStream()) {
+            new GsonResponseParser().parse(in, Object.class);
+        }
+        assertNotNull(cache.get("http://h/todos"));
+    }
+}
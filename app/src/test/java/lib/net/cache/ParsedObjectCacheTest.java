@@ -0,0 +1,138 @@
+package lib.net.cache;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lib.net.FakeConnection;
+import lib.net.strategy.ResponseDecoder;
+
+import static org.junit.Assert.*;
+
+public class ParsedObjectCacheTest {
+
+    private static final Type LIST = new TypeToken<List<String>>() {}.getType();
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    /** Gövdeyi virgülle bölen sayaçlı parser. */
+    private final ResponseDecoder<List<String>> parse = body -> {
+        parses.incrementAndGet();
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = body.read()) != -1) sb.append((char) c);
+        return new ArrayList<>(Arrays.asList(sb.toString().split(",")));
+    };
+
+    private static List<String> decode(ResponseDecoder<List<String>> d, FakeConnection conn) throws IOException {
+        return d.decode(conn, conn.getInputStream());
+    }
+
+    private static ParsedObjectCache cache() {
+        return new ParsedObjectCache(1024 * 1024, 60_000, 64).cacheTypes(LIST);
+    }
+
+    @Test
+    public void sameEtag_isHit_withoutReparse() throws IOException {
+        ParsedObjectCache cache = cache();
+        ResponseDecoder<List<String>> d = cache.decoder("http://h/todos", LIST, parse);
+
+        List<String> first = decode(d, new FakeConnection(200, "a,b").header("ETag", "\"v1\""));
+        List<String> second = decode(d, new FakeConnection(200, "a,b").header("ETag", "\"v1\""));
+
+        assertEquals(Arrays.asList("a", "b"), second);
+        assertSame(first, second);
+        assertEquals(1, parses.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void changedEtag_isMiss() throws IOException {
+        ParsedObjectCache cache = cache();
+        ResponseDecoder<List<String>> d = cache.decoder("http://h/todos", LIST, parse);
+
+        decode(d, new FakeConnection(200, "a").header("ETag", "\"v1\""));
+        List<String> r = decode(d, new FakeConnection(200, "b").header("ETag", "\"v2\""));
+
+        assertEquals(Arrays.asList("b"), r);
+        assertEquals(2, parses.get());
+        assertEquals(0, cache.hitCount());
+    }
+
+    @Test
+    public void smallBodyWithoutValidator_isHashed() throws IOException {
+        ParsedObjectCache cache = cache();
+        ResponseDecoder<List<String>> d = cache.decoder("http://h/todos", LIST, parse);
+
+        decode(d, new FakeConnection(200, "a,b"));
+        decode(d, new FakeConnection(200, "a,b"));
+        List<String> changed = decode(d, new FakeConnection(200, "a,c"));
+
+        assertEquals(Arrays.asList("a", "c"), changed);
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    public void largeBodyWithoutValidator_isParsedButNotCached() throws IOException {
+        ParsedObjectCache cache = cache();
+        ResponseDecoder<List<String>> d = cache.decoder("http://h/todos", LIST, parse);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) sb.append(i).append(',');
+        String body = sb.toString();
+
+        List<String> r = decode(d, new FakeConnection(200, body));
+
+        assertEquals(100, r.size());
+        assertEquals("99", r.get(99));
+        assertEquals(0, cache.entryCount());
+        assertTrue(body.getBytes(StandardCharsets.UTF_8).length > 64);
+    }
+
+    @Test
+    public void unregisteredType_isNotCached() throws IOException {
+        ParsedObjectCache cache = new ParsedObjectCache(1024 * 1024, 60_000);
+        ResponseDecoder<List<String>> d = cache.decoder("http://h/todos", LIST, parse);
+
+        assertSame(parse, d);
+        decode(d, new FakeConnection(200, "a").header("ETag", "\"v1\""));
+        assertEquals(0, cache.entryCount());
+    }
+
+    @Test
+    public void cachedList_isReadOnly() throws IOException {
+        ResponseDecoder<List<String>> d = cache().decoder("http://h/todos", LIST, parse);
+        List<String> r = decode(d, new FakeConnection(200, "a").header("ETag", "\"v1\""));
+        try {
+            r.add("x");
+            fail("önbellekteki liste değiştirilememeli");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void invalidate_removesPathAndParents_only() throws IOException {
+        ParsedObjectCache cache = cache();
+        String[] urls = {"http://h/todos", "http://h/todos?userId=1", "http://h/todos/5", "http://h/posts",
+                "http://other/todos"};
+        for (String u : urls) {
+            decode(cache.decoder(u, LIST, parse), new FakeConnection(200, "a").header("ETag", "\"v1\""));
+        }
+        assertEquals(5, cache.entryCount());
+
+        cache.invalidate("http://h/todos/5");
+
+        assertEquals(2, cache.entryCount());
+        decode(cache.decoder("http://h/posts", LIST, parse), new FakeConnection(200, "a").header("ETag", "\"v1\""));
+        assertEquals(1, cache.hitCount());
+    }
+}
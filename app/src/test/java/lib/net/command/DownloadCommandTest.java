@@ -0,0 +1,30 @@
+package lib.net.command;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DownloadCommandTest {
+
+    @Test
+    public void contentRange_parsesStartAndTotal() {
+        assertArrayEquals(new long[]{300, 1000}, DownloadCommand.contentRange("bytes 300-999/1000"));
+        assertArrayEquals(new long[]{0, 1}, DownloadCommand.contentRange(" Bytes 0-0/1 "));
+    }
+
+    @Test
+    public void contentRange_unknownTotal() {
+        assertArrayEquals(new long[]{10, -1}, DownloadCommand.contentRange("bytes 10-19/*"));
+    }
+
+    @Test
+    public void contentRange_rejectsInvalid() {
+        assertNull(DownloadCommand.contentRange(null));
+        assertNull(DownloadCommand.contentRange("items 0-1/2"));
+        assertNull(DownloadCommand.contentRange("bytes */1000"));
+        assertNull(DownloadCommand.contentRange("bytes 5-4/10"));
+        assertNull(DownloadCommand.contentRange("bytes 0-10/10"));
+        assertNull(DownloadCommand.contentRange("bytes a-b/c"));
+        assertNull(DownloadCommand.contentRange("bytes 0-9"));
+    }
+}
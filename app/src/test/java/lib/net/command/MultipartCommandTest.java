@@ -0,0 +1,102 @@
+package lib.net.command;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import lib.net.FakeConnection;
+
+import static org.junit.Assert.*;
+
+public class MultipartCommandTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private File file(String name, int size) throws IOException {
+        File f = tmp.newFile(name);
+        try (OutputStream out = new FileOutputStream(f)) {
+            for (int i = 0; i < size; i++) out.write('a' + i % 26);
+        }
+        return f;
+    }
+
+    private static void append(File f, int size) throws IOException {
+        try (OutputStream out = new FileOutputStream(f, true)) {
+            out.write(new byte[size]);
+        }
+    }
+
+    private static MultipartCommand command(File... files) {
+        HashMap<String, String> fields = new HashMap<>();
+        fields.put("title", "başlık");
+        HashMap<String, File> parts = new HashMap<>();
+        for (File f : files) parts.put(f.getName(), f);
+        return new MultipartCommand("/upload", null, fields, parts);
+    }
+
+    private static FakeConnection send(MultipartCommand cmd) throws IOException {
+        FakeConnection conn = new FakeConnection(200, "");
+        cmd.initDefaultsIfNull();
+        cmd.bodyWriter.writeIfNeeded(conn, cmd);
+        return conn;
+    }
+
+    @Test
+    public void declaredLength_equalsBytesWritten() throws IOException {
+        // 64 KB'lık yükleme tamponundan büyük dosya da dahil
+        MultipartCommand cmd = command(file("a.bin", 10), file("b.bin", 200_000), file("empty.bin", 0));
+
+        FakeConnection conn = send(cmd);
+
+        assertEquals(cmd.contentLengthHint(), conn.declaredLength);
+        assertEquals(conn.declaredLength, conn.sent.size());
+        String body = new String(conn.sent.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("başlık"));
+        assertTrue(body.endsWith("--\r\n"));
+    }
+
+    @Test
+    public void fileGrownAfterBuild_sendsOnlyCountedBytes() throws IOException {
+        File f = file("grow.bin", 1000);
+        MultipartCommand cmd = command(f);
+        append(f, 5000);
+
+        FakeConnection conn = send(cmd);
+
+        assertEquals(conn.declaredLength, conn.sent.size());
+    }
+
+    @Test
+    public void retry_rewritesSameBytes() throws IOException {
+        MultipartCommand cmd = command(file("a.bin", 3000));
+
+        byte[] first = send(cmd).sent.toByteArray();
+        byte[] second = send(cmd).sent.toByteArray();
+
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    public void fileShrunkAfterBuild_fails() throws IOException {
+        File f = file("shrink.bin", 1000);
+        MultipartCommand cmd = command(f);
+        try (OutputStream out = new FileOutputStream(f)) {
+            out.write(new byte[10]);
+        }
+
+        try {
+            send(cmd);
+            fail("bildirilen boy doldurulamamalı");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("shrink.bin"));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package lib.net.connection;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lib.net.NetResult;
+import lib.net.command.ACommand;
+import lib.net.command.PostCommand;
+import lib.net.event.CallEventListener.Phase;
+
+import static org.junit.Assert.*;
+
+/** Akışla gönderilen gövdelerde bildirilen Content-Length ile sunucuya ulaşan bayt sayısı aynı olmalı. */
+public class StreamingBodyTest {
+
+    private HttpServer server;
+    private String url;
+    private volatile String contentLength;
+    private volatile String transferEncoding;
+    private volatile byte[] received;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+            transferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buf = new byte[8192];
+                int n;
+                while ((n = in.read(buf)) != -1) body.write(buf, 0, n);
+            }
+            received = body.toByteArray();
+            byte[] resp = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, resp.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(resp);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/todos";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void post(IHttpConnectionFactory factory) {
+        // Çok baytlı karakterler: String boyu ile bayt boyu farklı
+        post(factory, new PostCommand("/todos", "{\"title\":\"çğüşöı €\"}"));
+    }
+
+    private void post(IHttpConnectionFactory factory, ACommand cmd) {
+        NetResult<String> r = cmd.execute(() -> {
+            try {
+                return factory.createConnection(url);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(r.isSuccess());
+    }
+
+    private void assertDeclaredLengthMatches() {
+        assertNull(transferEncoding);
+        assertNotNull(contentLength);
+        assertEquals(Long.parseLong(contentLength), received.length);
+        assertEquals("{\"title\":\"çğüşöı €\"}", new String(received, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void okHttp_jsonBody_hasExactContentLength() {
+        post(new OkHttpConnectionFactory());
+        assertDeclaredLengthMatches();
+    }
+
+    @Test
+    public void httpUrlConnection_jsonBody_hasExactContentLength() {
+        post(new HttpUrlConnectionFactory());
+        assertDeclaredLengthMatches();
+    }
+
+    @Test
+    public void httpUrlConnection_firesConnectAndBodyEvents() {
+        final List<Phase> phases = new CopyOnWriteArrayList<>();
+        ACommand cmd = new PostCommand("/todos", "{}")
+                .withEventListener((command, phase, attempt, nanoTime) -> phases.add(phase));
+
+        post(new HttpUrlConnectionFactory(), cmd);
+
+        assertTrue(phases.toString(), phases.indexOf(Phase.CONNECT_START) >= 0);
+        assertTrue(phases.toString(), phases.indexOf(Phase.CONNECT_START) < phases.indexOf(Phase.CONNECT_END));
+        assertTrue(phases.toString(), phases.indexOf(Phase.CONNECT_END) < phases.indexOf(Phase.REQUEST_BODY_END));
+    }
+}
@@ -0,0 +1,233 @@
+package lib.net.dispatch;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HostLimitingDispatchEngineTest {
+
+    /** Kabul ettiği işleri elle çalıştırılana kadar tutan motor; refuse > 0 iken işleri reddeder. */
+    private static final class ManualEngine implements DispatchEngine {
+        final List<DispatchJob> running = new ArrayList<>();
+        int refuse;
+
+        @Override
+        public boolean submit(DispatchJob job) {
+            if (refuse > 0) {
+                refuse--;
+                return false;
+            }
+            running.add(job);
+            return true;
+        }
+
+        void finishFirst() {
+            running.remove(0).run();
+        }
+
+        @Override
+        public int queued() {
+            return 0;
+        }
+
+        @Override
+        public int queued(Priority lane) {
+            return 0;
+        }
+
+        @Override
+        public int inFlight() {
+            return running.size();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    private static class Job implements DispatchJob {
+        final String name;
+        final String host;
+        final Priority priority;
+        final List<String> log;
+
+        Job(String name, String host, Priority priority, List<String> log) {
+            this.name = name;
+            this.host = host;
+            this.priority = priority;
+            this.log = log;
+        }
+
+        @Override
+        public void run() {
+            log.add("run " + name);
+        }
+
+        @Override
+        public void runAsync(Runnable onDone) {
+            run();
+            onDone.run();
+        }
+
+        @Override
+        public void reject() {
+            log.add("reject " + name);
+        }
+
+        @Override
+        public Priority priority() {
+            return priority;
+        }
+
+        @Override
+        public String host() {
+            return host;
+        }
+    }
+
+    private final List<String> log = new ArrayList<>();
+
+    private Job job(String name, String host) {
+        return new Job(name, host, Priority.USER_VISIBLE, log);
+    }
+
+    @Test
+    public void perHostLimit_holdsExtraJobsInHostQueue() {
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, 10, 2, 10);
+        for (int i = 0; i < 4; i++) assertTrue(e.submit(job("a" + i, "http://a")));
+
+        assertEquals(2, d.running.size());
+        assertEquals(2, e.queued("http://a"));
+        assertEquals(2, e.inFlight("http://a"));
+
+        d.finishFirst();
+        assertEquals(2, d.running.size());
+        assertEquals(1, e.queued("http://a"));
+    }
+
+    @Test
+    public void totalLimit_sharedRoundRobinAcrossHosts() {
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, 1, 10, 10);
+        e.submit(job("a0", "http://a"));
+        e.submit(job("a1", "http://a"));
+        e.submit(job("a2", "http://a"));
+        e.submit(job("b0", "http://b"));
+        e.submit(job("b1", "http://b"));
+
+        for (int i = 0; i < 5; i++) d.finishFirst();
+        // a'nın kuyruğu b'yi bekletmez: host'lar sırayla yer alır
+        assertEquals(Arrays.asList("run a0", "run a1", "run b0", "run a2", "run b1"), log);
+    }
+
+    @Test
+    public void immediateJob_skipsHostRotation() {
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, 1, 10, 10);
+        e.submit(job("a0", "http://a"));
+        e.submit(job("a1", "http://a"));
+        e.submit(new Job("b0", "http://b", Priority.IMMEDIATE, log));
+
+        d.finishFirst();
+        d.finishFirst();
+        assertEquals("run b0", log.get(1));
+    }
+
+    @Test
+    public void fullQueue_rejectsSubmit() {
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, 1, 1, 2);
+        assertTrue(e.submit(job("a0", "http://a")));
+        assertTrue(e.submit(job("a1", "http://a")));
+        assertTrue(e.submit(job("a2", "http://a")));
+        assertFalse(e.submit(job("a3", "http://a")));
+        assertEquals(2, e.queued());
+    }
+
+    @Test
+    public void refusedJob_keepsItsPlaceAndRunsOnNextRelease() {
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, 2, 2, 4);
+        e.submit(job("x", "http://a"));
+        e.submit(job("y", "http://a"));
+        e.submit(job("z", "http://a"));
+        e.submit(job("w", "http://a"));
+
+        d.refuse = 1;
+        d.finishFirst(); // z'nin terfisi reddedilir
+        assertEquals(2, e.queued());
+        assertEquals(1, d.running.size());
+
+        while (!d.running.isEmpty()) d.finishFirst();
+        assertEquals(Arrays.asList("run x", "run y", "run z", "run w"), log);
+        assertEquals(0, e.queued());
+    }
+
+    @Test
+    public void refusedJob_withNothingInFlight_isRejectedNotDropped() {
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, 1, 1, 2);
+        e.submit(job("a", "http://a"));
+        e.submit(job("b", "http://a"));
+
+        d.refuse = 1;
+        d.finishFirst();
+        assertEquals(Arrays.asList("run a", "reject b"), log);
+        assertEquals(0, e.queued());
+    }
+
+    @Test
+    public void shutdown_rejectsQueuedJobs() {
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, 1, 1, 4);
+        e.submit(job("a", "http://a"));
+        e.submit(job("b", "http://a"));
+        e.submit(job("c", "http://b"));
+
+        e.shutdown();
+        assertTrue(log.contains("reject b"));
+        assertTrue(log.contains("reject c"));
+        assertEquals(0, e.queued());
+        assertFalse(e.submit(job("d", "http://a")));
+    }
+
+    @Test
+    public void limit_receivesAttemptSampleAndOutcome() {
+        final List<ConcurrencyLimit.Outcome> outcomes = new ArrayList<>();
+        final List<Long> rtts = new ArrayList<>();
+        ConcurrencyLimit limit = new ConcurrencyLimit() {
+            @Override
+            public int limit() {
+                return 4;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inFlight, Outcome outcome) {
+                rtts.add(rttNanos);
+                outcomes.add(outcome);
+            }
+        };
+        ManualEngine d = new ManualEngine();
+        HostLimitingDispatchEngine e = new HostLimitingDispatchEngine(d, limit, 4, 4);
+        e.submit(new Job("a", "http://a", Priority.USER_VISIBLE, log) {
+            @Override
+            public long attemptNanos() {
+                return 42;
+            }
+
+            @Override
+            public ConcurrencyLimit.Outcome outcome() {
+                return ConcurrencyLimit.Outcome.FAILED;
+            }
+        });
+        d.finishFirst();
+
+        assertEquals(Arrays.asList(42L), rtts);
+        assertEquals(Arrays.asList(ConcurrencyLimit.Outcome.FAILED), outcomes);
+    }
+}
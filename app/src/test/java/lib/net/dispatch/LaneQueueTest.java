@@ -0,0 +1,97 @@
+package lib.net.dispatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LaneQueueTest {
+
+    private static DispatchJob job(final Priority p) {
+        return new DispatchJob() {
+            @Override
+            public void run() {
+            }
+
+            @Override
+            public void runAsync(Runnable onDone) {
+                onDone.run();
+            }
+
+            @Override
+            public Priority priority() {
+                return p;
+            }
+        };
+    }
+
+    @Test
+    public void capacity_isSharedByAllLanes() {
+        LaneQueue q = new LaneQueue(2, 60_000);
+        assertTrue(q.offer(job(Priority.BACKGROUND)));
+        assertTrue(q.offer(job(Priority.IMMEDIATE)));
+        assertFalse(q.offer(job(Priority.USER_VISIBLE)));
+        assertEquals(2, q.size());
+        assertEquals(1, q.size(Priority.BACKGROUND));
+    }
+
+    @Test
+    public void immediate_isTakenFirst() {
+        LaneQueue q = new LaneQueue(10, 60_000);
+        DispatchJob bg = job(Priority.BACKGROUND);
+        DispatchJob uv = job(Priority.USER_VISIBLE);
+        DispatchJob im = job(Priority.IMMEDIATE);
+        q.offer(bg);
+        q.offer(uv);
+        q.offer(im);
+        assertSame(im, q.poll());
+    }
+
+    @Test
+    public void weightedLanes_shareByWeight() {
+        LaneQueue q = new LaneQueue(100, 60_000);
+        for (int i = 0; i < 40; i++) {
+            q.offer(job(Priority.USER_VISIBLE));
+            q.offer(job(Priority.BACKGROUND));
+        }
+        int background = 0;
+        for (int i = 0; i < 18; i++) {
+            if (q.poll().priority() == Priority.BACKGROUND) background++;
+        }
+        // USER_VISIBLE:BACKGROUND = 8:1 -> 18 seçimde 2 arka plan işi (açlık yok)
+        assertEquals(2, background);
+    }
+
+    @Test
+    public void agedHead_isTakenBeforeHigherLanes() throws InterruptedException {
+        LaneQueue q = new LaneQueue(10, 1);
+        DispatchJob old = job(Priority.BACKGROUND);
+        q.offer(old);
+        Thread.sleep(5);
+        q.offer(job(Priority.USER_VISIBLE));
+        assertSame(old, q.poll());
+    }
+
+    @Test
+    public void overloadedInteractiveLane_turnsLifo() {
+        LaneQueue q = new LaneQueue(10, 60_000, 3);
+        DispatchJob first = job(Priority.USER_VISIBLE);
+        q.offer(first);
+        q.offer(job(Priority.USER_VISIBLE));
+        DispatchJob newest = job(Priority.USER_VISIBLE);
+        q.offer(newest);
+        assertSame(newest, q.poll());
+        // derinlik eşiğin altına inince yeniden FIFO
+        assertSame(first, q.poll());
+    }
+
+    @Test
+    public void remove_freesCapacity() {
+        LaneQueue q = new LaneQueue(1, 60_000);
+        DispatchJob j = job(Priority.PREFETCH);
+        q.offer(j);
+        assertTrue(q.remove(j));
+        assertFalse(q.remove(j));
+        assertNull(q.poll());
+        assertTrue(q.offer(job(Priority.PREFETCH)));
+    }
+}
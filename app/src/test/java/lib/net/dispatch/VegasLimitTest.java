@@ -0,0 +1,54 @@
+package lib.net.dispatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VegasLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void steadyRtt_underFullUse_growsLimit() {
+        VegasLimit v = new VegasLimit(1, 4, 20);
+        for (int i = 0; i < 200; i++) v.onSample(10 * MS, v.limit(), ConcurrencyLimit.Outcome.SUCCESS);
+        assertEquals(20, v.limit());
+    }
+
+    @Test
+    public void steadyRtt_withIdleCapacity_keepsLimit() {
+        VegasLimit v = new VegasLimit(1, 8, 20);
+        for (int i = 0; i < 200; i++) v.onSample(10 * MS, 1, ConcurrencyLimit.Outcome.SUCCESS);
+        assertEquals(8, v.limit());
+    }
+
+    @Test
+    public void risingRtt_shrinksLimit() {
+        VegasLimit v = new VegasLimit(2, 16, 32);
+        for (int i = 0; i < 16; i++) v.onSample(10 * MS, 16, ConcurrencyLimit.Outcome.SUCCESS);
+        for (int i = 0; i < 200; i++) v.onSample(40 * MS, v.limit(), ConcurrencyLimit.Outcome.SUCCESS);
+        assertTrue("limit=" + v.limit(), v.limit() < 16);
+        assertTrue(v.limit() >= 2);
+    }
+
+    @Test
+    public void failedAndAbandonedSamples_areIgnored() {
+        VegasLimit v = new VegasLimit(1, 4, 20);
+        v.onSample(10 * MS, 4, ConcurrencyLimit.Outcome.SUCCESS);
+        for (int i = 0; i < 100; i++) {
+            v.onSample(MS, 4, ConcurrencyLimit.Outcome.FAILED);
+            v.onSample(500 * MS, 4, ConcurrencyLimit.Outcome.ABANDONED);
+        }
+        assertEquals(1, v.sampleCount());
+        assertEquals(10.0, v.rttNoLoadMs(), 0.001);
+        assertEquals(4, v.limit());
+    }
+
+    @Test
+    public void fixedLimit_ignoresSamples() {
+        ConcurrencyLimit l = ConcurrencyLimit.fixed(3);
+        l.onSample(MS, 3, ConcurrencyLimit.Outcome.SUCCESS);
+        assertEquals(3, l.limit());
+        assertEquals(1, ConcurrencyLimit.fixed(0).limit());
+    }
+}
@@ -0,0 +1,63 @@
+package lib.net.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValues_haveExactBuckets() {
+        for (long v = 0; v < 32; v++) {
+            assertEquals(v, LatencyHistogram.index(v));
+            assertEquals(v, LatencyHistogram.lowerBound((int) v));
+        }
+    }
+
+    @Test
+    public void bucketBounds_coverValueWithinRelativeError() {
+        long[] values = {32, 33, 63, 64, 100, 1_000, 12_345, 999_999, 1L << 30, (1L << 36) - 1};
+        for (long v : values) {
+            int i = LatencyHistogram.index(v);
+            long lo = LatencyHistogram.lowerBound(i);
+            long next = LatencyHistogram.lowerBound(i + 1);
+            assertTrue(v + " >= " + lo, v >= lo);
+            assertTrue(v + " < " + next, v < next);
+            // Alt kova genişliği değerin en fazla 1/16'sı
+            assertTrue(v + " width " + (next - lo), (next - lo) * 16 <= lo);
+        }
+    }
+
+    @Test
+    public void indexes_areMonotonic() {
+        int prev = -1;
+        for (long v = 0; v < 100_000; v += 7) {
+            int i = LatencyHistogram.index(v);
+            assertTrue(i >= prev);
+            prev = i;
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(-1, h.percentileMs(0.5), 0);
+        for (int ms = 1; ms <= 100; ms++) h.recordMicros(ms * 1000L);
+        assertEquals(100, h.count());
+        assertEquals(50, h.percentileMs(0.50), 50 * 0.0625);
+        assertEquals(95, h.percentileMs(0.95), 95 * 0.0625);
+        assertEquals(99, h.percentileMs(0.99), 99 * 0.0625);
+        assertTrue(h.maxMs() >= 100);
+        h.reset();
+        assertEquals(0, h.count());
+    }
+
+    @Test
+    public void negativeAndHugeValues_areClamped() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.recordNanos(-5);
+        h.recordMicros(Long.MAX_VALUE);
+        assertEquals(2, h.count());
+        assertEquals(0, h.percentileMs(0.01), 0);
+    }
+}
@@ -0,0 +1,50 @@
+package lib.net.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RollingWindowTest {
+
+    @Test
+    public void countsAndErrorRate() {
+        RollingWindow w = new RollingWindow(10_000, 10);
+        w.recordSuccess();
+        w.recordSuccess();
+        w.recordSuccess();
+        w.recordError();
+        assertEquals(4, w.requestCount());
+        assertEquals(1, w.errorCount());
+        assertEquals(0.25, w.errorRate(), 1e-9);
+        assertEquals(10_000, w.windowMs());
+        assertEquals(0.4, w.requestRate(), 1e-9);
+    }
+
+    @Test
+    public void emptyWindow_hasZeroRate() {
+        RollingWindow w = new RollingWindow(1_000, 4);
+        assertEquals(0, w.requestCount());
+        assertEquals(0.0, w.errorRate(), 0.0);
+    }
+
+    @Test
+    public void oldBuckets_expire() throws InterruptedException {
+        RollingWindow w = new RollingWindow(40, 4);
+        w.recordError();
+        assertEquals(1, w.requestCount());
+        Thread.sleep(80);
+        assertEquals(0, w.requestCount());
+        assertEquals(0, w.errorCount());
+        w.recordSuccess();
+        assertEquals(1, w.requestCount());
+    }
+
+    @Test
+    public void undoSuccess_removesOne() {
+        RollingWindow w = new RollingWindow(10_000, 10);
+        w.recordSuccess();
+        w.recordSuccess();
+        w.undoSuccess();
+        assertEquals(1, w.requestCount());
+    }
+}
@@ -0,0 +1,42 @@
+// JVM-only JMH modülü: lib.net'in Android'e bağımlı olmayan kaynaklarını app'ten doğrudan derler.
+// Çalıştırma: ./gradlew :benchmark:jmh   (sonuç: benchmark/build/results/jmh/results.json)
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            include("lib/**")
+            include("com/example/cleannetkit/data/remote/dto/TodoDto.java")
+            // android.* kullanan sınıflar JVM'de derlenemez
+            exclude("lib/net/NetworkManager.java")
+            exclude("lib/net/ABaseApi.java")
+            exclude("lib/net/interceptor/LoggingInterceptor.java")
+            exclude("lib/concurrent/AndroidFutures.java")
+            exclude("lib/concurrent/MainThreadBatchingExecutor.java")
+        }
+    }
+}
+
+dependencies {
+    implementation("com.google.code.gson:gson:2.10.1")
+    implementation("com.squareup.okhttp3:okhttp:4.9.0")
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    // ops/s yanında allocation rate (gc.alloc.rate.norm) raporlansın
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
@@ -0,0 +1,68 @@
+package lib.net.bench;
+
+import com.example.cleannetkit.data.remote.dto.TodoDto;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import lib.net.NetResult;
+import lib.net.ResponseHandler;
+import lib.net.command.GetCommand;
+import lib.net.parser.GsonResponseParser;
+
+/**
+ * Uçtan uca ACommand.execute (ağsız): strateji zinciri + gövde okuma + ayrıştırma.
+ * - stringThenParse: gövde önce String'e okunur, sonra ResponseHandler.handle ile parse edilir
+ * - streamDecode    : gövde akıştan doğrudan decoder'a verilir (NetworkManager'ın tipli yolu)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CommandExecuteBenchmark {
+
+    private static final Type TODO_LIST = new TypeToken<List<TodoDto>>() {
+    }.getType();
+
+    @Param({"10", "200"})
+    public int todos;
+
+    @Param({"plain", "gzip"})
+    public String encoding;
+
+    private final ResponseHandler handler = new ResponseHandler(new GsonResponseParser());
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        byte[] plain = Fixtures.utf8(Fixtures.todosJson(todos));
+        body = "gzip".equals(encoding) ? Fixtures.gzip(plain) : plain;
+    }
+
+    private FakeHttpConnection connection() {
+        FakeHttpConnection conn = new FakeHttpConnection(200, body);
+        if ("gzip".equals(encoding)) conn.header("Content-Encoding", "gzip");
+        return conn;
+    }
+
+    @Benchmark
+    public NetResult<List<TodoDto>> stringThenParse() {
+        NetResult<String> raw = new GetCommand("/todos").execute(this::connection);
+        return handler.handle(raw, TODO_LIST);
+    }
+
+    @Benchmark
+    public NetResult<List<TodoDto>> streamDecode() {
+        return new GetCommand("/todos").execute(this::connection, handler.<List<TodoDto>>decoder(TODO_LIST));
+    }
+}
@@ -0,0 +1,110 @@
+package lib.net.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import lib.net.connection.IHttpConnection;
+
+/**
+ * Ağsız IHttpConnection: sabit gövde döner, yazılan istek gövdesini sayıp atar.
+ */
+final class FakeHttpConnection implements IHttpConnection {
+
+    private final int code;
+    private final byte[] body;
+    private final Map<String, String> responseHeaders = new HashMap<>();
+    final CountingOutputStream out = new CountingOutputStream();
+
+    FakeHttpConnection(int code, byte[] body) {
+        this.code = code;
+        this.body = body;
+    }
+
+    FakeHttpConnection header(String name, String value) {
+        responseHeaders.put(name, value);
+        return this;
+    }
+
+    @Override
+    public void setConnectTimeout(int timeout) {
+    }
+
+    @Override
+    public void setReadTimeout(int timeout) {
+    }
+
+    @Override
+    public void setRequestMethod(String method) {
+    }
+
+    @Override
+    public void setRequestProperty(String key, String value) {
+    }
+
+    @Override
+    public void setDoOutput(boolean doOutput) {
+    }
+
+    @Override
+    public void setDoInput(boolean doInput) {
+    }
+
+    @Override
+    public void setInstanceFollowRedirects(boolean followRedirects) {
+    }
+
+    @Override
+    public void setAllowUserInteraction(boolean allowInteraction) {
+    }
+
+    @Override
+    public void setUseCaches(boolean useCaches) {
+    }
+
+    @Override
+    public int getResponseCode() {
+        return code;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        return code >= 400 ? new ByteArrayInputStream(body) : null;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return out;
+    }
+
+    @Override
+    public String getHeaderField(String key) {
+        return responseHeaders.get(key);
+    }
+
+    @Override
+    public void disconnect() {
+    }
+
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
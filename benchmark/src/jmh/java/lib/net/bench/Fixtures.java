@@ -0,0 +1,43 @@
+package lib.net.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark girdileri: jsonplaceholder /todos biçiminde JSON dizileri.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static String todosJson(int count) {
+        StringBuilder sb = new StringBuilder(count * 96);
+        sb.append('[');
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) sb.append(',');
+            sb.append("{\"userId\":").append(1 + i / 20)
+                    .append(",\"id\":").append(i)
+                    .append(",\"title\":\"delectus aut autem quis ut nam facilis et officia qui ").append(i)
+                    .append("\",\"completed\":").append(i % 3 == 0)
+                    .append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bos.toByteArray();
+    }
+}
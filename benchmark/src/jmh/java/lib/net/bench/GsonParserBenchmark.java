@@ -0,0 +1,62 @@
+package lib.net.bench;
+
+import com.example.cleannetkit.data.remote.dto.TodoDto;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import lib.net.parser.GsonResponseParser;
+
+/**
+ * List<TodoDto> ayrıştırma: String'den, akıştan ve eleman eleman (parseArray).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GsonParserBenchmark {
+
+    private static final Type TODO_LIST = new TypeToken<List<TodoDto>>() {
+    }.getType();
+
+    @Param({"10", "200", "2000"})
+    public int todos;
+
+    private final GsonResponseParser parser = new GsonResponseParser();
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        json = Fixtures.todosJson(todos);
+        bytes = Fixtures.utf8(json);
+    }
+
+    @Benchmark
+    public List<TodoDto> parseString() {
+        return parser.parse(json, TODO_LIST);
+    }
+
+    @Benchmark
+    public List<TodoDto> parseStream() throws IOException {
+        return parser.parse(new ByteArrayInputStream(bytes), TODO_LIST);
+    }
+
+    @Benchmark
+    public void parseArrayStreaming(final Blackhole bh) throws IOException {
+        parser.<TodoDto>parseArray(new ByteArrayInputStream(bytes), TodoDto.class, bh::consume);
+    }
+}
@@ -0,0 +1,67 @@
+package lib.net.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import lib.net.command.MultipartCommand;
+import lib.net.strategy.impl.MultipartBodyWriter;
+
+/**
+ * MultipartBodyWriter'ın bağlantıya yazma hızı (saniyedeki gövde sayısı; bayt/s = ops/s * fileKb * 1024).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultipartBenchmark {
+
+    @Param({"64", "1024", "8192"})
+    public int fileKb;
+
+    private File file;
+    private MultipartCommand command;
+    private MultipartBodyWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = File.createTempFile("bench", ".bin");
+        byte[] chunk = new byte[1024];
+        new Random(42).nextBytes(chunk);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            for (int i = 0; i < fileKb; i++) out.write(chunk);
+        }
+        HashMap<String, String> fields = new HashMap<>();
+        fields.put("title", "benchmark");
+        fields.put("userId", "1");
+        HashMap<String, File> files = new HashMap<>();
+        files.put("file", file);
+        command = new MultipartCommand("/upload", null, fields, files);
+        writer = new MultipartBodyWriter("----bench", fields, files);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (file != null) file.delete();
+    }
+
+    @Benchmark
+    public long writeBody() throws IOException {
+        FakeHttpConnection conn = new FakeHttpConnection(200, new byte[0]);
+        writer.writeIfNeeded(conn, command);
+        return conn.out.count;
+    }
+}
@@ -0,0 +1,43 @@
+package lib.net.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import lib.net.strategy.impl.DefaultResponseReader;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseReaderBenchmark {
+
+    @Param({"10", "200", "2000"})
+    public int todos;
+
+    @Param({"plain", "gzip"})
+    public String encoding;
+
+    private final DefaultResponseReader reader = new DefaultResponseReader();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        byte[] plain = Fixtures.utf8(Fixtures.todosJson(todos));
+        body = "gzip".equals(encoding) ? Fixtures.gzip(plain) : plain;
+    }
+
+    @Benchmark
+    public String readSuccess() throws IOException {
+        FakeHttpConnection conn = new FakeHttpConnection(200, body);
+        if ("gzip".equals(encoding)) conn.header("Content-Encoding", "gzip");
+        return reader.readSuccess(conn);
+    }
+}
@@ -0,0 +1,52 @@
+package lib.net.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import lib.net.command.GetCommand;
+import lib.net.util.MyURLEncoder;
+import lib.net.util.UrlBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UrlBuilderBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int queryParams;
+
+    private GetCommand command;
+    private final String ascii = "userId";
+    private final String unicode = "çalışma günü & saat=09:30/İstanbul";
+
+    @Setup
+    public void setUp() {
+        HashMap<String, String> params = new HashMap<>();
+        for (int i = 0; i < queryParams; i++) params.put("param" + i, "değer " + i);
+        command = new GetCommand("/todos", params);
+    }
+
+    @Benchmark
+    public String build() {
+        return UrlBuilder.build("https://jsonplaceholder.typicode.com", command);
+    }
+
+    @Benchmark
+    public String encodeAscii() {
+        return MyURLEncoder.encode(ascii);
+    }
+
+    @Benchmark
+    public String encodeUnicode() {
+        return MyURLEncoder.encode(unicode);
+    }
+}